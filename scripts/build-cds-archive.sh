@@ -0,0 +1,37 @@
+#!/bin/bash
+# Explode the application jar and record an AppCDS archive from a training start.
+# Called by the fast-start Maven profile; can also be run by hand.
+# Usage: ./scripts/build-cds-archive.sh target/inklink-1.0.0.jar target/fast-start
+#
+# The training start runs the AOT-processed application with the fast-start profile against
+# the configured database and exits as soon as it is ready, so the archive holds every class
+# a real start loads. CDS only covers classes loaded from the plain class path, which is why
+# the jar is exploded instead of being started with java -jar.
+set -euo pipefail
+
+JAR="$1"
+OUT_DIR="$2"
+MAIN_CLASS="com.project.inklink.InkLinkApplication"
+
+rm -rf "$OUT_DIR"
+mkdir -p "$OUT_DIR/app"
+(cd "$OUT_DIR/app" && jar -xf "$(cd "$(dirname "$JAR")" && pwd)/$(basename "$JAR")")
+
+# The class path must be identical between training and later runs for the archive to be used
+cat > "$OUT_DIR/run.sh" <<RUN
+#!/bin/bash
+# Start InkLink with AOT bean definitions and the AppCDS archive.
+# Extra arguments are passed to the application, e.g. --spring.profiles.active=prod,fast-start
+cd "\$(dirname "\$0")"
+exec java -XX:SharedArchiveFile=app.jsa -Xshare:auto -Dspring.aot.enabled=true \\
+    -cp "app/BOOT-INF/classes:app/BOOT-INF/lib/*" $MAIN_CLASS \\
+    --spring.profiles.active=fast-start "\$@"
+RUN
+chmod +x "$OUT_DIR/run.sh"
+
+echo "Recording AppCDS archive (training start)..."
+(cd "$OUT_DIR" && java -XX:ArchiveClassesAtExit=app.jsa -Dspring.aot.enabled=true \
+    -cp "app/BOOT-INF/classes:app/BOOT-INF/lib/*" "$MAIN_CLASS" \
+    --spring.profiles.active=fast-start --app.startup.exit-when-ready=true)
+
+echo "Fast-start build ready: $OUT_DIR/run.sh ($(du -h "$OUT_DIR/app.jsa" | cut -f1) archive)"
@@ -0,0 +1,19 @@
+#!/bin/bash
+# Apply the Flyway migrations in src/main/resources/db/migration without starting the application.
+# A database created before the migrations (by ddl-auto) is baselined at V1 first and then
+# receives V2 onwards. V3 changes the story content column type, which copies the table; on a
+# large database apply that step with an online schema change tool first.
+# Usage: DB_HOST=localhost DB_USER=root DB_PASSWORD=... ./scripts/database-migration.sh [info|validate]
+set -euo pipefail
+
+DB_HOST="${DB_HOST:-localhost}"
+DB_PORT="${DB_PORT:-3306}"
+DB_NAME="${DB_NAME:-inklink_db}"
+DB_USER="${DB_USER:-root}"
+GOAL="${1:-migrate}"
+
+cd "$(dirname "$0")/.."
+./mvnw -q "flyway:$GOAL" \
+    -Dflyway.url="jdbc:mysql://$DB_HOST:$DB_PORT/$DB_NAME?createDatabaseIfNotExist=true&useSSL=false&allowPublicKeyRetrieval=true" \
+    -Dflyway.user="$DB_USER" \
+    -Dflyway.password="${DB_PASSWORD:-}"
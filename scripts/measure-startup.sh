@@ -0,0 +1,52 @@
+#!/bin/bash
+# Compare startup time of the regular jar with the fast-start build (AOT + AppCDS + schema
+# validation, no seeding). Each variant is started RUNS times with exit-when-ready, which stops
+# the application once it is ready to serve; the wall-clock time of every start is recorded
+# and the median reported.
+#
+# Usage: RUNS=5 ./scripts/measure-startup.sh
+# Needs the database from application.properties to be reachable and already migrated
+# (fast-start validates the schema instead of updating it). SKIP_BUILD=1 reuses target/.
+set -euo pipefail
+
+RUNS="${RUNS:-5}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+WORK="$ROOT/target/startup-measure"
+cd "$ROOT"
+
+if [ -z "${SKIP_BUILD:-}" ]; then
+    ./mvnw -q -B -DskipTests clean package
+    mkdir -p "$WORK"
+    cp target/inklink-*.jar "$WORK/baseline.jar"
+    # No clean here, it would remove the baseline copy
+    ./mvnw -q -B -DskipTests -Pfast-start package
+fi
+
+# Milliseconds from launch until the JVM exits after the application reported ready
+time_start() {
+    local started ended
+    started=$(date +%s%N)
+    "$@" --app.startup.exit-when-ready=true > "$WORK/last-run.log" 2>&1
+    ended=$(date +%s%N)
+    echo $(( (ended - started) / 1000000 ))
+}
+
+median() {
+    sort -n | awk '{ values[NR] = $1 } END { print (NR % 2 ? values[(NR + 1) / 2] : (values[NR / 2] + values[NR / 2 + 1]) / 2) }'
+}
+
+measure() {
+    local name="$1"
+    shift
+    local samples=()
+    # One untimed start to warm the file system cache
+    "$@" --app.startup.exit-when-ready=true > /dev/null 2>&1 || true
+    for ((i = 1; i <= RUNS; i++)); do
+        samples+=("$(time_start "$@")")
+    done
+    printf "%-12s median %6d ms   runs: %s\n" "$name" "$(printf "%s\n" "${samples[@]}" | median)" "${samples[*]}"
+}
+
+echo "Startup to ready, $RUNS runs each"
+measure "baseline" java -jar "$WORK/baseline.jar"
+measure "fast-start" "$ROOT/target/fast-start/run.sh"
@@ -0,0 +1,43 @@
+package com.project.inklink.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.project.inklink.profiling.TimedCborHttpMessageConverter;
+import com.project.inklink.profiling.TimedSmileHttpMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Smile (application/x-jackson-smile) and CBOR (application/cbor) for clients that ask for them
+ * in Accept, with the same ApiResponse/DTO shapes as JSON. These replace Spring's default binary
+ * converters, which would use a bare ObjectMapper without the spring.jackson.* settings, and
+ * keep their place after the JSON converter so requests accepting anything still get JSON.
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+    @Value("${app.profiling.enabled:true}")
+    private boolean profilingEnabled;
+
+    // Jackson2ObjectMapperBuilder is a prototype bean, so each converter gets its own builder
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper objectMapper = builder.factory(new SmileFactory()).build();
+        return profilingEnabled
+                ? new TimedSmileHttpMessageConverter(objectMapper)
+                : new MappingJackson2SmileHttpMessageConverter(objectMapper);
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper objectMapper = builder.factory(new CBORFactory()).build();
+        return profilingEnabled
+                ? new TimedCborHttpMessageConverter(objectMapper)
+                : new MappingJackson2CborHttpMessageConverter(objectMapper);
+    }
+}
@@ -0,0 +1,61 @@
+package com.project.inklink.config;
+
+import com.project.inklink.logging.LogSampling;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Gives every request a correlation id, taken from X-Request-Id when the caller sent a sane one,
+ * and puts it in the MDC (so every log line of the request carries it) and on the response.
+ * Also draws the request's log sampling decision. Runs before every other filter.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Request-Id";
+    public static final String MDC_KEY = "requestId";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String requestId = request.getHeader(HEADER);
+        if (!isValid(requestId)) {
+            requestId = Long.toHexString(ThreadLocalRandom.current().nextLong() | Long.MIN_VALUE);
+        }
+        MDC.put(MDC_KEY, requestId);
+        LogSampling.begin();
+        response.setHeader(HEADER, requestId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            LogSampling.end();
+            MDC.remove(MDC_KEY);
+        }
+    }
+
+    // Accept short ids made of letters, digits and dashes; anything else is replaced
+    private static boolean isValid(String requestId) {
+        if (requestId == null || requestId.isEmpty() || requestId.length() > 64) {
+            return false;
+        }
+        for (int i = 0; i < requestId.length(); i++) {
+            char c = requestId.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '-' && c != '_') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
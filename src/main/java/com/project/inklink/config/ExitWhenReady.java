@@ -0,0 +1,35 @@
+package com.project.inklink.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shuts the application down as soon as it is ready when app.startup.exit-when-ready is set.
+ * Used for the AppCDS training start and by scripts/measure-startup.sh. The flag is read at
+ * run time, so the bean also exists in AOT-processed builds.
+ */
+@Component
+public class ExitWhenReady {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Value("${app.startup.exit-when-ready:false}")
+    private boolean exitWhenReady;
+
+    // Runs after the other ready listeners, so their warm-up counts as startup
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void exitIfRequested() {
+        if (exitWhenReady) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+}
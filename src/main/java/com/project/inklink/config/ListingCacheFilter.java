@@ -0,0 +1,134 @@
+package com.project.inklink.config;
+
+import com.project.inklink.service.ListingResponseCache;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Serves anonymous GET /api/stories requests from ListingResponseCache. On a miss the response
+ * is rendered as usual and its bytes are stored; signed-in users always bypass the cache since
+ * their listings carry per-user liked flags. Entries are kept per negotiated format (JSON, Smile
+ * or CBOR), not per raw Accept header, so clients cannot grow the cache by varying the header.
+ */
+@Component
+public class ListingCacheFilter extends OncePerRequestFilter {
+
+    private static final String LISTING_PATH = "/api/stories";
+
+    // In converter order, so an Accept that allows several formats resolves to the first, as in Spring
+    private static final List<MediaType> FORMATS = List.of(
+            MediaType.APPLICATION_JSON,
+            new MediaType("application", "x-jackson-smile"),
+            MediaType.APPLICATION_CBOR);
+
+    @Autowired
+    private ListingResponseCache cache;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod()) || !LISTING_PATH.equals(request.getRequestURI())) {
+            return true;
+        }
+        HttpSession session = request.getSession(false);
+        return session != null && session.getAttribute("userId") != null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        MediaType format = negotiatedFormat(request);
+        if (format == null) {
+            // Unparseable or unsupported Accept: let Spring answer it, uncached
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String key = cacheKey(request, format);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        ListingResponseCache.CachedResponse cached = cache.get(key);
+        if (cached != null) {
+            response.setHeader("X-Cache", "HIT");
+            response.setContentType(cached.contentType());
+            response.setContentLength(cached.body().length);
+            response.getOutputStream().write(cached.body());
+            return;
+        }
+
+        long generation = cache.currentGeneration();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        wrapper.setHeader("X-Cache", "MISS");
+        filterChain.doFilter(request, wrapper);
+
+        if (wrapper.getStatus() == HttpServletResponse.SC_OK && wrapper.getContentType() != null
+                && format.isCompatibleWith(MediaType.parseMediaType(wrapper.getContentType()))) {
+            cache.put(key, wrapper.getContentAsByteArray(), wrapper.getContentType(), generation);
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    // The format the listing will be written in, or null when the Accept header allows none of them
+    static MediaType negotiatedFormat(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(accept == null || accept.isBlank()
+                    ? List.of(MediaType.ALL)
+                    : MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        MediaType.sortByQualityValue(accepted);
+        for (MediaType acceptedType : accepted) {
+            if (acceptedType.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType format : FORMATS) {
+                if (acceptedType.isCompatibleWith(format)) {
+                    return format;
+                }
+            }
+        }
+        return null;
+    }
+
+    // Path plus query parameters sorted by name, blank values dropped, multi-values sorted,
+    // then the negotiated format
+    static String cacheKey(HttpServletRequest request, MediaType format) {
+        Map<String, String> normalized = new TreeMap<>();
+        for (Map.Entry<String, String[]> parameter : request.getParameterMap().entrySet()) {
+            String[] values = parameter.getValue().clone();
+            for (int i = 0; i < values.length; i++) {
+                values[i] = values[i].trim();
+            }
+            Arrays.sort(values);
+            String joined = String.join(",", values);
+            if (!joined.isEmpty()) {
+                normalized.put(parameter.getKey(), joined);
+            }
+        }
+        StringBuilder key = new StringBuilder(request.getRequestURI());
+        for (Map.Entry<String, String> parameter : normalized.entrySet()) {
+            key.append(key.length() == request.getRequestURI().length() ? '?' : '&')
+                    .append(parameter.getKey()).append('=').append(parameter.getValue());
+        }
+        key.append('#').append(format);
+        return key.toString();
+    }
+}
@@ -0,0 +1,55 @@
+package com.project.inklink.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.inklink.profiling.ProfilingDataSource;
+import com.project.inklink.profiling.ProfilingMetricsTrackerFactory;
+import com.project.inklink.profiling.TimedJackson2HttpMessageConverter;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import javax.sql.DataSource;
+
+/**
+ * Hooks for the per-request latency breakdown: statement timing on the application's
+ * DataSource, connection-acquire time from the Hikari pools and timed JSON serialization.
+ * Disabled with app.profiling.enabled=false.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.profiling", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ProfilingConfig {
+
+    // Static so it is registered before the DataSource beans are created
+    @Bean
+    public static BeanPostProcessor profilingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                // Must be set before the pool starts
+                if (bean instanceof HikariDataSource hikari && hikari.getMetricsTrackerFactory() == null) {
+                    hikari.setMetricsTrackerFactory(new ProfilingMetricsTrackerFactory());
+                }
+                return bean;
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Only the DataSource that JPA and JdbcTemplate use, not the pools behind routing
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof ProfilingDataSource)) {
+                    return new ProfilingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Replaces Spring Boot's default JSON converter (same ObjectMapper)
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimedJackson2HttpMessageConverter(objectMapper);
+    }
+}
@@ -0,0 +1,185 @@
+package com.project.inklink.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a healthy replica and everything else to the primary.
+ *
+ * Must be wrapped in a LazyConnectionDataSourceProxy so the physical connection is only fetched
+ * once the transaction's read-only flag is known. A replica is skipped while its lag is above the
+ * configured limit, and a user who just committed a write reads from the primary for a short
+ * window so they always see their own changes.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<Long> CURRENT_USER = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final ReplicaRoutingProperties properties;
+
+    private final Map<String, Boolean> replicaHealthy = new ConcurrentHashMap<>();
+    private final Map<String, Long> replicaLagSeconds = new ConcurrentHashMap<>();
+    private final Map<Long, Long> lastWriteAt = new ConcurrentHashMap<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final List<String> replicaKeys;
+
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    Map<String, DataSource> replicas,
+                                    ReplicaRoutingProperties properties) {
+        this.primary = primary;
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.properties = properties;
+        this.replicaKeys = new ArrayList<>(replicas.keySet());
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        for (String key : replicaKeys) {
+            replicaHealthy.put(key, true);
+        }
+    }
+
+    // Request binding of the current user, used for the read-your-writes window
+
+    public static void bindUser(Long userId) {
+        CURRENT_USER.set(userId);
+    }
+
+    public static void clearUser() {
+        CURRENT_USER.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Long userId = CURRENT_USER.get();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            pinUserAfterCommit(userId);
+            return PRIMARY;
+        }
+
+        if (userId != null && isPinnedToPrimary(userId)) {
+            return PRIMARY;
+        }
+
+        String replica = nextHealthyReplica();
+        return replica != null ? replica : PRIMARY;
+    }
+
+    private String nextHealthyReplica() {
+        int count = replicaKeys.size();
+        if (count == 0) {
+            return null;
+        }
+        int start = Math.floorMod(nextReplica.getAndIncrement(), count);
+        for (int i = 0; i < count; i++) {
+            String key = replicaKeys.get((start + i) % count);
+            if (replicaHealthy.getOrDefault(key, false)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    private boolean isPinnedToPrimary(Long userId) {
+        Long writtenAt = lastWriteAt.get(userId);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - writtenAt > properties.getReadYourWritesSeconds() * 1000) {
+            lastWriteAt.remove(userId, writtenAt);
+            return false;
+        }
+        return true;
+    }
+
+    // Start the read-your-writes window when the write transaction actually commits
+    private void pinUserAfterCommit(Long userId) {
+        if (userId == null || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, userId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ReplicaRoutingDataSource.this);
+                if (status == STATUS_COMMITTED) {
+                    lastWriteAt.put(userId, System.currentTimeMillis());
+                }
+            }
+        });
+    }
+
+    /**
+     * Probe each replica and mark it unhealthy if it is unreachable or lagging too far behind
+     */
+    public void checkReplicas() {
+        for (Map.Entry<String, DataSource> entry : replicas.entrySet()) {
+            long lag = measureLagSeconds(entry.getValue());
+            replicaLagSeconds.put(entry.getKey(), lag);
+            replicaHealthy.put(entry.getKey(), lag >= 0 && lag <= properties.getMaxLagSeconds());
+        }
+
+        // Forget expired read-your-writes entries
+        long cutoff = System.currentTimeMillis() - properties.getReadYourWritesSeconds() * 1000;
+        lastWriteAt.values().removeIf(writtenAt -> writtenAt < cutoff);
+    }
+
+    // Lag in seconds, or -1 if the replica cannot be reached or is not replicating
+    private long measureLagSeconds(DataSource replica) {
+        try (Connection connection = replica.getConnection()) {
+            String lagQuery = properties.getLagQuery();
+            if (lagQuery == null || lagQuery.isBlank()) {
+                return connection.isValid(2) ? 0 : -1;
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                if (!resultSet.next()) {
+                    return 0; // Not configured as a replica, nothing to lag behind
+                }
+                long lag = resultSet.getLong(properties.getLagColumn());
+                return resultSet.wasNull() ? -1 : lag;
+            }
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    public Map<String, Long> getReplicaLagSeconds() {
+        return Map.copyOf(replicaLagSeconds);
+    }
+
+    public boolean isReplicaHealthy(String key) {
+        return replicaHealthy.getOrDefault(key, false);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
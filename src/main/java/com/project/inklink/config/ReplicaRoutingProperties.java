@@ -0,0 +1,69 @@
+package com.project.inklink.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class ReplicaRoutingProperties {
+
+    // Route read-only transactions to replicas when true
+    private boolean enabled = false;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    // Replicas further behind than this are skipped until they catch up
+    private long maxLagSeconds = 5;
+
+    // How long a user's reads stay on the primary after they commit a write
+    private long readYourWritesSeconds = 10;
+
+    private long lagCheckIntervalMs = 5000;
+
+    // Query returning replication lag in seconds; empty means only check connectivity
+    private String lagQuery = "SHOW REPLICA STATUS";
+
+    private String lagColumn = "Seconds_Behind_Source";
+
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 20;
+
+        public String getUrl() { return url; }
+        public void setUrl(String url) { this.url = url; }
+
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+
+        public int getMaximumPoolSize() { return maximumPoolSize; }
+        public void setMaximumPoolSize(int maximumPoolSize) { this.maximumPoolSize = maximumPoolSize; }
+    }
+
+    // Getters and Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public List<Replica> getReplicas() { return replicas; }
+    public void setReplicas(List<Replica> replicas) { this.replicas = replicas; }
+
+    public long getMaxLagSeconds() { return maxLagSeconds; }
+    public void setMaxLagSeconds(long maxLagSeconds) { this.maxLagSeconds = maxLagSeconds; }
+
+    public long getReadYourWritesSeconds() { return readYourWritesSeconds; }
+    public void setReadYourWritesSeconds(long readYourWritesSeconds) { this.readYourWritesSeconds = readYourWritesSeconds; }
+
+    public long getLagCheckIntervalMs() { return lagCheckIntervalMs; }
+    public void setLagCheckIntervalMs(long lagCheckIntervalMs) { this.lagCheckIntervalMs = lagCheckIntervalMs; }
+
+    public String getLagQuery() { return lagQuery; }
+    public void setLagQuery(String lagQuery) { this.lagQuery = lagQuery; }
+
+    public String getLagColumn() { return lagColumn; }
+    public void setLagColumn(String lagColumn) { this.lagColumn = lagColumn; }
+}
@@ -0,0 +1,50 @@
+package com.project.inklink.config;
+
+import com.project.inklink.profiling.RequestProfile;
+import com.project.inklink.profiling.RequestProfiler;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Profiles every request: binds a RequestProfile to the thread for the duration of the chain,
+ * then hands it to RequestProfiler under the endpoint's method and mapped path pattern.
+ * Runs right after CorrelationIdFilter so the slow-request log carries the request id.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RequestProfilingFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private RequestProfiler requestProfiler;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestProfile profile = RequestProfile.begin();
+        int status = 500;
+        try {
+            filterChain.doFilter(request, response);
+            status = response.getStatus();
+        } finally {
+            RequestProfile.end();
+            requestProfiler.record(endpoint(request), profile, status);
+        }
+    }
+
+    // Mapped pattern keeps the key space small: GET /api/stories/{id}, not one key per id
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "[unmapped]");
+    }
+}
@@ -1,6 +1,7 @@
 package com.project.inklink.config;
 
 import com.project.inklink.security.SessionAuthFilter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
@@ -81,8 +82,9 @@ public class SecurityConfig {
         return source;
     }
 
+    // Raising the strength takes effect for existing users at their next sign-in (rehash)
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.auth.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.project.inklink.controller;
+
+import com.project.inklink.dto.ApiResponse;
+import com.project.inklink.event.DomainEventBus;
+import com.project.inklink.profiling.RequestProfiler;
+import com.project.inklink.security.CurrentUser;
+import com.project.inklink.security.SessionUser;
+import com.project.inklink.service.AccountNameFilter;
+import com.project.inklink.service.OutboxService;
+import com.project.inklink.service.PasswordHashingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    @Autowired
+    private DomainEventBus eventBus;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private AccountNameFilter accountNameFilter;
+
+    @Autowired
+    private RequestProfiler requestProfiler;
+
+    // Queue depth, lag and delivery counters per event consumer
+    @GetMapping("/events")
+    public ResponseEntity<ApiResponse> getEventStats(@CurrentUser SessionUser currentUser) {
+        ResponseEntity<ApiResponse> denied = requireAdmin(currentUser);
+        if (denied != null) {
+            return denied;
+        }
+        return ResponseEntity.ok(new ApiResponse(true, "Event bus stats retrieved successfully", eventBus.stats()));
+    }
+
+    // Pending, oldest pending and given-up outbox entries
+    @GetMapping("/outbox")
+    public ResponseEntity<ApiResponse> getOutboxStats(@CurrentUser SessionUser currentUser) {
+        ResponseEntity<ApiResponse> denied = requireAdmin(currentUser);
+        if (denied != null) {
+            return denied;
+        }
+        return ResponseEntity.ok(new ApiResponse(true, "Outbox stats retrieved successfully", outboxService.stats()));
+    }
+
+    // Password hashing pool load and shed sign-ins
+    @GetMapping("/auth")
+    public ResponseEntity<ApiResponse> getAuthStats(@CurrentUser SessionUser currentUser) {
+        ResponseEntity<ApiResponse> denied = requireAdmin(currentUser);
+        if (denied != null) {
+            return denied;
+        }
+        return ResponseEntity.ok(new ApiResponse(true, "Password hashing stats retrieved successfully", passwordHashingService.stats()));
+    }
+
+    // Account name Bloom filter fill level and how many availability checks skipped the database
+    @GetMapping("/account-filter")
+    public ResponseEntity<ApiResponse> getAccountFilterStats(@CurrentUser SessionUser currentUser) {
+        ResponseEntity<ApiResponse> denied = requireAdmin(currentUser);
+        if (denied != null) {
+            return denied;
+        }
+        return ResponseEntity.ok(new ApiResponse(true, "Account filter stats retrieved successfully", accountNameFilter.stats()));
+    }
+
+    // Slowest endpoints over the current and previous profiling windows; sort by avg, p95, max or total
+    @GetMapping("/slow-endpoints")
+    public ResponseEntity<ApiResponse> getSlowEndpoints(@RequestParam(defaultValue = "10") int limit,
+                                                        @RequestParam(defaultValue = "avg") String sort,
+                                                        @CurrentUser SessionUser currentUser) {
+        ResponseEntity<ApiResponse> denied = requireAdmin(currentUser);
+        if (denied != null) {
+            return denied;
+        }
+        try {
+            return ResponseEntity.ok(new ApiResponse(true, "Slow endpoints retrieved successfully",
+                    requestProfiler.topEndpoints(limit, sort)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    // 401/403 response for anyone but a signed-in admin, null otherwise
+    private ResponseEntity<ApiResponse> requireAdmin(SessionUser currentUser) {
+        if (currentUser == null) {
+            return ResponseEntity.status(401)
+                    .body(new ApiResponse(false, "Authentication required"));
+        }
+        if (!currentUser.isAdmin()) {
+            return ResponseEntity.status(403)
+                    .body(new ApiResponse(false, "Admin access required"));
+        }
+        return null;
+    }
+}
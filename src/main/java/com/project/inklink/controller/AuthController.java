@@ -4,11 +4,18 @@ import com.project.inklink.dto.ApiResponse;
 import com.project.inklink.dto.AuthRequest;
 import com.project.inklink.dto.SignupRequest;
 import com.project.inklink.entity.User;
+import com.project.inklink.security.CurrentUser;
+import com.project.inklink.security.LoginThrottle;
+import com.project.inklink.security.SessionUser;
+import com.project.inklink.service.PasswordHashingService;
 import com.project.inklink.service.UserService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -20,30 +27,46 @@ import java.util.Optional;
 @RequestMapping("/api/auth")
 public class AuthController {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthController.class);
+
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
     @PostMapping("/signin")
     public ResponseEntity<ApiResponse> login(@Valid @RequestBody AuthRequest authRequest,
                                              HttpServletRequest request) {
+        String login = authRequest.getUsername();
+        long retryAfter = loginThrottle.tryAcquire(request.getRemoteAddr(), login);
+        if (retryAfter > 0) {
+            return ResponseEntity.status(429)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                    .body(new ApiResponse(false, "Too many sign-in attempts, try again later"));
+        }
+
         try {
-            // Find user
-            Optional<User> user = userService.findByUsername(authRequest.getUsername());
-            if (user.isEmpty()) {
-                user = userService.findByEmail(authRequest.getUsername());
+            if (passwordHashingService.isSaturated()) {
+                throw new PasswordHashingService.HashingSaturatedException("Too many sign-in attempts in progress, try again shortly");
             }
-
-            if (user.isEmpty() || !userService.validatePassword(authRequest.getPassword(), user.get().getPassword())) {
+            Optional<User> user = userService.authenticate(login, authRequest.getPassword());
+            if (user.isEmpty()) {
+                loginThrottle.onFailure(login);
                 return ResponseEntity.badRequest()
                         .body(new ApiResponse(false, "Invalid username or password"));
             }
+            loginThrottle.onSuccess(login);
 
             // Create session and store user ID
             HttpSession session = request.getSession();
             session.setAttribute("userId", user.get().getId());
             session.setMaxInactiveInterval(30 * 60); // 30 minutes
 
-            System.out.println("DEBUG: Created session for user: " + user.get().getUsername() + ", sessionId: " + session.getId());
+            log.debug("Signed in user {}", user.get().getId());
 
             // Return user info (without password)
             Map<String, Object> userInfo = new HashMap<>();
@@ -54,6 +77,11 @@ public class AuthController {
 
             return ResponseEntity.ok(new ApiResponse(true, "Login successful", userInfo));
 
+        } catch (PasswordHashingService.HashingSaturatedException e) {
+            // Shed rather than queue: the hashing pool is full
+            return ResponseEntity.status(503)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new ApiResponse(false, e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse(false, "Login failed: " + e.getMessage()));
@@ -78,49 +106,60 @@ public class AuthController {
 
             return ResponseEntity.ok(new ApiResponse(true, "User registered successfully", userInfo));
 
+        } catch (PasswordHashingService.HashingSaturatedException e) {
+            return ResponseEntity.status(503)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new ApiResponse(false, e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse(false, "Registration failed: " + e.getMessage()));
         }
     }
 
+    // Signup form checks while the user types; free names are answered from memory
+    @GetMapping("/availability")
+    public ResponseEntity<ApiResponse> checkAvailability(@RequestParam(required = false) String username,
+                                                         @RequestParam(required = false) String email) {
+        try {
+            Map<String, Object> availability = new HashMap<>();
+            if (username != null && !username.isBlank()) {
+                availability.put("username", userService.isUsernameAvailable(username.trim()));
+            }
+            if (email != null && !email.isBlank()) {
+                availability.put("email", userService.isEmailAvailable(email.trim()));
+            }
+            return ResponseEntity.ok(new ApiResponse(true, "Availability checked", availability));
+
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Failed to check availability: " + e.getMessage()));
+        }
+    }
+
     @PostMapping("/signout")
     public ResponseEntity<ApiResponse> logout(HttpServletRequest request) {
         HttpSession session = request.getSession(false);
         if (session != null) {
-            System.out.println("DEBUG: Invalidating session: " + session.getId());
+            log.debug("Signing out session");
             session.invalidate();
         }
         return ResponseEntity.ok(new ApiResponse(true, "Logged out successfully"));
     }
 
     @GetMapping("/me")  // REMOVED 'private' modifier - it should be public!
-    public ResponseEntity<ApiResponse> getCurrentUser(HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
-        if (session == null) {
+    public ResponseEntity<ApiResponse> getCurrentUser(@CurrentUser SessionUser currentUser) {
+        if (currentUser == null) {
             return ResponseEntity.status(401)
                     .body(new ApiResponse(false, "Not authenticated"));
         }
 
-        Long userId = (Long) session.getAttribute("userId");
-        if (userId == null) {
-            return ResponseEntity.status(401)
-                    .body(new ApiResponse(false, "Not authenticated"));
-        }
-
-        Optional<User> user = userService.getUserById(userId);
-        if (user.isEmpty()) {
-            return ResponseEntity.status(401)
-                    .body(new ApiResponse(false, "User not found"));
-        }
-
         // Return user info (without password)
         Map<String, Object> userInfo = new HashMap<>();
-        userInfo.put("id", user.get().getId());
-        userInfo.put("username", user.get().getUsername());
-        userInfo.put("email", user.get().getEmail());
-        userInfo.put("role", user.get().getRole());
+        userInfo.put("id", currentUser.id());
+        userInfo.put("username", currentUser.username());
+        userInfo.put("email", currentUser.email());
+        userInfo.put("role", currentUser.role());
 
         return ResponseEntity.ok(new ApiResponse(true, "User retrieved", userInfo));
     }
-}
\ No newline at end of file
+}
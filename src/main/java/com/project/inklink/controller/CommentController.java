@@ -2,9 +2,9 @@ package com.project.inklink.controller;
 
 import com.project.inklink.dto.ApiResponse;
 import com.project.inklink.entity.Comment;
-import com.project.inklink.entity.User;
+import com.project.inklink.security.CurrentUser;
+import com.project.inklink.security.SessionUser;
 import com.project.inklink.service.CommentService;
-import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -32,16 +32,15 @@ public class CommentController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<ApiResponse> deleteComment(@PathVariable Long id, HttpServletRequest request) {
+    public ResponseEntity<ApiResponse> deleteComment(@PathVariable Long id, @CurrentUser SessionUser currentUser) {
         try {
-            User user = getCurrentUser(request);
-            if (user == null) {
+            if (currentUser == null) {
                 return ResponseEntity.status(401)
                         .body(new ApiResponse(false, "Authentication required"));
             }
 
             // Check if user is comment author
-            if (!commentService.isCommentAuthor(id, user.getId())) {
+            if (!commentService.isCommentAuthor(id, currentUser.id())) {
                 return ResponseEntity.status(403)
                         .body(new ApiResponse(false, "Not authorized to delete this comment"));
             }
@@ -54,8 +53,4 @@ public class CommentController {
                     .body(new ApiResponse(false, "Failed to delete comment: " + e.getMessage()));
         }
     }
-
-    private User getCurrentUser(HttpServletRequest request) {
-        return (User) request.getSession().getAttribute("user");
-    }
 }
\ No newline at end of file
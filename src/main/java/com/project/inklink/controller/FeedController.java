@@ -0,0 +1,39 @@
+package com.project.inklink.controller;
+
+import com.project.inklink.dto.ApiResponse;
+import com.project.inklink.security.CurrentUser;
+import com.project.inklink.security.SessionUser;
+import com.project.inklink.service.FeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/feed")
+public class FeedController {
+
+    @Autowired
+    private FeedService feedService;
+
+    // Personalized home feed, paged with the nextCursor returned by the previous page
+    @GetMapping
+    public ResponseEntity<ApiResponse> getFeed(@RequestParam(required = false) String cursor,
+                                               @RequestParam(defaultValue = "20") int size,
+                                               @CurrentUser SessionUser currentUser) {
+        try {
+            if (currentUser == null) {
+                return ResponseEntity.status(401)
+                        .body(new ApiResponse(false, "Authentication required"));
+            }
+
+            Map<String, Object> feed = feedService.getFeed(currentUser.id(), cursor, size);
+            return ResponseEntity.ok(new ApiResponse(true, "Feed retrieved successfully", feed));
+
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Failed to retrieve feed: " + e.getMessage()));
+        }
+    }
+}
@@ -2,8 +2,9 @@ package com.project.inklink.controller;
 
 import com.project.inklink.dto.ApiResponse;
 import com.project.inklink.entity.User;
+import com.project.inklink.security.CurrentUser;
+import com.project.inklink.security.SessionUser;
 import com.project.inklink.service.UserService;
-import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -28,11 +29,10 @@ public class FileUploadController {
     @PostMapping("/upload")
     public ResponseEntity<ApiResponse> uploadProfilePicture(
             @RequestParam("file") MultipartFile file,
-            HttpServletRequest request) {
+            @CurrentUser SessionUser currentUser) {
 
         try {
-            User user = getCurrentUser(request);
-            if (user == null) {
+            if (currentUser == null) {
                 return ResponseEntity.status(401)
                         .body(new ApiResponse(false, "Authentication required"));
             }
@@ -73,6 +73,8 @@ public class FileUploadController {
             Files.copy(file.getInputStream(), filePath);
 
             // Update user profile picture
+            User user = userService.getUserById(currentUser.id())
+                    .orElseThrow(() -> new RuntimeException("User not found"));
             String previousPicture = user.getProfilePicture();
             user.setProfilePicture(filename);
             User updatedUser = userService.updateUser(user);
@@ -85,9 +87,6 @@ public class FileUploadController {
                 }
             }
 
-            // Update session
-            request.getSession().setAttribute("user", updatedUser);
-
             return ResponseEntity.ok(new ApiResponse(true, "Profile picture uploaded successfully", updatedUser));
 
         } catch (IOException e) {
@@ -98,8 +97,4 @@ public class FileUploadController {
                     .body(new ApiResponse(false, "Upload failed: " + e.getMessage()));
         }
     }
-
-    private User getCurrentUser(HttpServletRequest request) {
-        return (User) request.getSession().getAttribute("user");
-    }
-}
+}
\ No newline at end of file
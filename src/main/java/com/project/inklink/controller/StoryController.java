@@ -5,17 +5,24 @@ import com.project.inklink.dto.CommentRequest;
 import com.project.inklink.dto.StoryRequest;
 import com.project.inklink.entity.Comment;
 import com.project.inklink.entity.Story;
-import com.project.inklink.entity.User;
+import com.project.inklink.entity.StorySummary;
 import com.project.inklink.entity.enums.StoryGenre;
+import com.project.inklink.entity.enums.StoryStatus;
+import com.project.inklink.security.CurrentUser;
+import com.project.inklink.security.SessionUser;
+import com.project.inklink.service.BatchLookupService;
+import com.project.inklink.service.BatchLookupService.BatchResult;
 import com.project.inklink.service.CommentService;
+import com.project.inklink.service.LikeStatusService;
+import com.project.inklink.service.SparseFieldsService;
+import com.project.inklink.service.StoryCountService;
+import com.project.inklink.service.StoryRevisionService;
 import com.project.inklink.service.StoryService;
 import com.project.inklink.service.UserService;
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -25,6 +32,7 @@ import java.util.Map;
 import java.util.Optional;
 
 import static com.project.inklink.util.PaginationUtil.createPageable;
+import static com.project.inklink.util.PaginationUtil.createPaginationMetadata;
 
 @RestController
 @RequestMapping("/api/stories")
@@ -39,27 +47,92 @@ public class StoryController {
     @Autowired
     private UserService userService;
 
-    // Get all published stories with pagination and filtering
+    @Autowired
+    private StoryRevisionService storyRevisionService;
+
+    @Autowired
+    private LikeStatusService likeStatusService;
+
+    @Autowired
+    private StoryCountService storyCountService;
+
+    @Autowired
+    private SparseFieldsService sparseFieldsService;
+
+    @Autowired
+    private BatchLookupService batchLookupService;
+
+    // Get published stories with pagination and filtering. Pages are count-free; pass
+    // withTotal=true for approximate totals from the maintained counters. fields=title,genre,...
+    // selects only those columns, see SparseFieldsService.
     @GetMapping
     public ResponseEntity<ApiResponse> getStories(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) StoryGenre genre,
-            @RequestParam(defaultValue = "createdAt,desc") String sort) {
+            @RequestParam(required = false) String tag,
+            @RequestParam(defaultValue = "createdAt,desc") String sort,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            @RequestParam(required = false) String fields,
+            @CurrentUser SessionUser currentUser) {
 
         try {
             Pageable pageable = createPageable(page, size, sort);
-            Page<Story> stories;
+            Long userId = currentUser != null ? currentUser.id() : null;
+            String searchTerm = search != null && !search.trim().isEmpty() ? search.trim() : null;
+            String tagName = tag != null && !tag.trim().isEmpty() ? tag.trim() : null;
+            Slice<?> stories;
 
-            if (search != null && !search.trim().isEmpty()) {
-                stories = storyService.searchStories(search.trim(), pageable);
-            } else if (genre != null) {
-                stories = storyService.getStoriesByGenre(genre, pageable);
+            if (fields != null) {
+                stories = sparseFieldsService.getPublishedStories(fields, searchTerm, tagName, genre, pageable, userId);
             } else {
-                stories = storyService.getPublishedStories(pageable);
+                Slice<StorySummary> summaries;
+                if (searchTerm != null) {
+                    summaries = storyService.searchStories(searchTerm, pageable);
+                } else if (tagName != null) {
+                    summaries = storyService.getStoriesByTag(tagName, pageable);
+                } else if (genre != null) {
+                    summaries = storyService.getStoriesByGenre(genre, pageable);
+                } else {
+                    summaries = storyService.getPublishedStories(pageable);
+                }
+                likeStatusService.markLiked(summaries.getContent(), userId);
+                stories = summaries;
             }
 
+            Long total = withTotal ? getPublishedTotal(searchTerm, tagName, genre) : null;
+            Map<String, Object> data = createPaginationMetadata(stories, total);
+            data.put("content", stories.getContent());
+
+            return ResponseEntity.ok(new ApiResponse(true, "Stories retrieved successfully", data));
+
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Failed to retrieve stories: " + e.getMessage()));
+        }
+    }
+
+    // Approximate total for a listing filter from the maintained counters
+    private Long getPublishedTotal(String search, String tag, StoryGenre genre) {
+        if (search != null) {
+            return null; // no counter for free-text search
+        } else if (tag != null) {
+            return storyCountService.getPublishedCountByTag(tag);
+        } else if (genre != null) {
+            return storyCountService.getPublishedCountByGenre(genre);
+        }
+        return storyCountService.getCountByStatus(StoryStatus.PUBLISHED);
+    }
+
+    // Get several stories by id in one request, in the order given. Ids that do not exist, or
+    // are someone else's drafts, come back under missing.
+    @GetMapping("/batch")
+    public ResponseEntity<ApiResponse> getStoriesBatch(@RequestParam List<Long> ids,
+                                                       @CurrentUser SessionUser currentUser) {
+        try {
+            BatchResult<StorySummary> stories = batchLookupService.getStories(ids,
+                    currentUser != null ? currentUser.id() : null);
             return ResponseEntity.ok(new ApiResponse(true, "Stories retrieved successfully", stories));
 
         } catch (Exception e) {
@@ -70,22 +143,25 @@ public class StoryController {
 
     // Get single story
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse> getStory(@PathVariable Long id, HttpServletRequest request) {
+    public ResponseEntity<ApiResponse> getStory(@PathVariable Long id,
+                                                @RequestParam(required = false) String fields,
+                                                @CurrentUser SessionUser currentUser) {
         try {
+            if (fields != null) {
+                return getStoryFields(id, fields, currentUser);
+            }
+
+            // Count the read first (published stories only), so the story loaded below includes it
+            storyService.recordRead(id);
+
             Optional<Story> story = storyService.getStoryById(id);
             if (story.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
 
-            // Increment read count if story is published
-            if (story.get().getStatus().name().equals("PUBLISHED")) {
-                storyService.incrementReadCount(id);
-            }
-
             // Check if current user has liked this story
-            User currentUser = getCurrentUser(request);
             if (currentUser != null) {
-                boolean hasLiked = storyService.hasUserLikedStory(id, currentUser.getId());
+                boolean hasLiked = storyService.hasUserLikedStory(id, currentUser.id());
                 story.get().setLiked(hasLiked);
             } else {
                 story.get().setLiked(false);
@@ -99,6 +175,38 @@ public class StoryController {
         }
     }
 
+    // Single story with only the requested fields; the read is counted without loading the entity
+    private ResponseEntity<ApiResponse> getStoryFields(Long id, String fields, SessionUser currentUser) {
+        Optional<Map<String, Object>> story = sparseFieldsService.getStory(id, fields,
+                currentUser != null ? currentUser.id() : null);
+        if (story.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Integer readCount = storyService.recordRead(id);
+        if (readCount != null && story.get().containsKey("readCount")) {
+            story.get().put("readCount", readCount);
+        }
+
+        return ResponseEntity.ok(new ApiResponse(true, "Story retrieved successfully", story.get()));
+    }
+
+    // Get related stories (shared tags and genre)
+    @GetMapping("/{id}/related")
+    public ResponseEntity<ApiResponse> getRelatedStories(@PathVariable Long id,
+                                                         @RequestParam(defaultValue = "5") int limit,
+                                                         @CurrentUser SessionUser currentUser) {
+        try {
+            List<StorySummary> related = storyService.getRelatedStories(id, limit);
+            likeStatusService.markLiked(related, currentUser != null ? currentUser.id() : null);
+            return ResponseEntity.ok(new ApiResponse(true, "Related stories retrieved successfully", related));
+
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Failed to retrieve related stories: " + e.getMessage()));
+        }
+    }
+
     // Get stories by user ID
     @GetMapping("/user/{userId}")
     public ResponseEntity<ApiResponse> getStoriesByUser(@PathVariable Long userId) {
@@ -116,10 +224,9 @@ public class StoryController {
     // Create new story
     @PostMapping
     public ResponseEntity<ApiResponse> createStory(@Valid @RequestBody StoryRequest storyRequest,
-                                                   HttpServletRequest request) {
+                                                   @CurrentUser SessionUser currentUser) {
         try {
-            User author = getCurrentUser(request);
-            if (author == null) {
+            if (currentUser == null) {
                 return ResponseEntity.status(401)
                         .body(new ApiResponse(false, "Authentication required"));
             }
@@ -129,7 +236,9 @@ public class StoryController {
             story.setContent(storyRequest.getContent());
             story.setGenre(storyRequest.getGenre());
             story.setStatus(storyRequest.getStatus());
-            story.setAuthor(author);
+            // The author is serialized with the created story, so load it in full
+            story.setAuthor(userService.getUserById(currentUser.id())
+                    .orElseThrow(() -> new RuntimeException("User not found")));
 
             Story savedStory = storyService.createStory(story);
             return ResponseEntity.ok(new ApiResponse(true, "Story created successfully", savedStory));
@@ -144,10 +253,9 @@ public class StoryController {
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse> updateStory(@PathVariable Long id,
                                                    @Valid @RequestBody StoryRequest storyRequest,
-                                                   HttpServletRequest request) {
+                                                   @CurrentUser SessionUser currentUser) {
         try {
-            User author = getCurrentUser(request);
-            if (author == null) {
+            if (currentUser == null) {
                 return ResponseEntity.status(401)
                         .body(new ApiResponse(false, "Authentication required"));
             }
@@ -158,18 +266,17 @@ public class StoryController {
             }
 
             // Check if user is the author
-            if (!storyService.isStoryAuthor(id, author.getId())) {
+            if (!storyService.isStoryAuthor(id, currentUser.id())) {
                 return ResponseEntity.status(403)
                         .body(new ApiResponse(false, "Not authorized to update this story"));
             }
 
             Story story = existingStory.get();
             story.setTitle(storyRequest.getTitle());
-            story.setContent(storyRequest.getContent());
             story.setGenre(storyRequest.getGenre());
             story.setStatus(storyRequest.getStatus());
 
-            Story updatedStory = storyService.updateStory(story);
+            Story updatedStory = storyService.updateStory(story, storyRequest.getContent(), userService.getUserReference(currentUser.id()));
             return ResponseEntity.ok(new ApiResponse(true, "Story updated successfully", updatedStory));
 
         } catch (Exception e) {
@@ -180,9 +287,8 @@ public class StoryController {
 
     // Delete story
     @DeleteMapping("/{id}")
-    public ResponseEntity<ApiResponse> deleteStory(@PathVariable Long id, HttpServletRequest request) {
+    public ResponseEntity<ApiResponse> deleteStory(@PathVariable Long id, @CurrentUser SessionUser currentUser) {
         try {
-            User currentUser = getCurrentUser(request);
             if (currentUser == null) {
                 return ResponseEntity.status(401)
                         .body(new ApiResponse(false, "Authentication required"));
@@ -194,9 +300,9 @@ public class StoryController {
             }
 
             // Check if user is the author OR an admin
-            boolean isAuthor = storyService.isStoryAuthor(id, currentUser.getId());
-            boolean isAdmin = currentUser.getRole().name().equals("ADMIN");
-            
+            boolean isAuthor = storyService.isStoryAuthor(id, currentUser.id());
+            boolean isAdmin = currentUser.isAdmin();
+
             if (!isAuthor && !isAdmin) {
                 return ResponseEntity.status(403)
                         .body(new ApiResponse(false, "Not authorized to delete this story"));
@@ -211,17 +317,97 @@ public class StoryController {
         }
     }
 
+    // Revision endpoints (author only)
+    @GetMapping("/{id}/revisions")
+    public ResponseEntity<ApiResponse> getRevisions(@PathVariable Long id, @CurrentUser SessionUser currentUser) {
+        try {
+            if (currentUser == null) {
+                return ResponseEntity.status(401)
+                        .body(new ApiResponse(false, "Authentication required"));
+            }
+
+            if (!storyService.isStoryAuthor(id, currentUser.id())) {
+                return ResponseEntity.status(403)
+                        .body(new ApiResponse(false, "Not authorized to view this story's revisions"));
+            }
+
+            List<Map<String, Object>> revisions = storyRevisionService.listRevisions(id);
+            return ResponseEntity.ok(new ApiResponse(true, "Revisions retrieved successfully", revisions));
+
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Failed to retrieve revisions: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{id}/revisions/{revisionNumber}")
+    public ResponseEntity<ApiResponse> getRevision(@PathVariable Long id,
+                                                   @PathVariable Integer revisionNumber,
+                                                   @CurrentUser SessionUser currentUser) {
+        try {
+            if (currentUser == null) {
+                return ResponseEntity.status(401)
+                        .body(new ApiResponse(false, "Authentication required"));
+            }
+
+            if (!storyService.isStoryAuthor(id, currentUser.id())) {
+                return ResponseEntity.status(403)
+                        .body(new ApiResponse(false, "Not authorized to view this story's revisions"));
+            }
+
+            Map<String, Object> revision = new HashMap<>();
+            revision.put("storyId", id);
+            revision.put("revisionNumber", revisionNumber);
+            revision.put("content", storyRevisionService.getRevisionContent(id, revisionNumber));
+
+            return ResponseEntity.ok(new ApiResponse(true, "Revision retrieved successfully", revision));
+
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Failed to retrieve revision: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/{id}/revisions/{revisionNumber}/restore")
+    public ResponseEntity<ApiResponse> restoreRevision(@PathVariable Long id,
+                                                       @PathVariable Integer revisionNumber,
+                                                       @CurrentUser SessionUser currentUser) {
+        try {
+            if (currentUser == null) {
+                return ResponseEntity.status(401)
+                        .body(new ApiResponse(false, "Authentication required"));
+            }
+
+            Optional<Story> story = storyService.getStoryById(id);
+            if (story.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+
+            if (!storyService.isStoryAuthor(id, currentUser.id())) {
+                return ResponseEntity.status(403)
+                        .body(new ApiResponse(false, "Not authorized to update this story"));
+            }
+
+            Story restored = storyService.restoreRevision(story.get(), revisionNumber, userService.getUserReference(currentUser.id()));
+            return ResponseEntity.ok(new ApiResponse(true, "Revision restored successfully", restored));
+
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Failed to restore revision: " + e.getMessage()));
+        }
+    }
+
     // Get user's stories
     @GetMapping("/my")
-    public ResponseEntity<ApiResponse> getMyStories(HttpServletRequest request) {
+    public ResponseEntity<ApiResponse> getMyStories(@CurrentUser SessionUser currentUser) {
         try {
-            User author = getCurrentUser(request);
-            if (author == null) {
+            if (currentUser == null) {
                 return ResponseEntity.status(401)
                         .body(new ApiResponse(false, "Authentication required"));
             }
 
-            List<Story> stories = storyService.getUserStories(author);
+            List<StorySummary> stories = storyService.getUserStories(currentUser.id());
+            likeStatusService.markLiked(stories, currentUser.id());
             return ResponseEntity.ok(new ApiResponse(true, "User stories retrieved successfully", stories));
 
         } catch (Exception e) {
@@ -232,8 +418,17 @@ public class StoryController {
 
     // Comment endpoints
     @GetMapping("/{id}/comments")
-    public ResponseEntity<ApiResponse> getStoryComments(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse> getStoryComments(@PathVariable Long id,
+                                                        @RequestParam(required = false) String fields) {
         try {
+            if (fields != null) {
+                if (!storyService.storyExists(id)) {
+                    return ResponseEntity.notFound().build();
+                }
+                List<Map<String, Object>> comments = sparseFieldsService.getStoryComments(id, fields);
+                return ResponseEntity.ok(new ApiResponse(true, "Comments retrieved successfully", comments));
+            }
+
             Optional<Story> story = storyService.getStoryById(id);
             if (story.isEmpty()) {
                 return ResponseEntity.notFound().build();
@@ -251,10 +446,9 @@ public class StoryController {
     @PostMapping("/{id}/comments")
     public ResponseEntity<ApiResponse> addComment(@PathVariable Long id,
                                                   @Valid @RequestBody CommentRequest commentRequest,
-                                                  HttpServletRequest request) {
+                                                  @CurrentUser SessionUser currentUser) {
         try {
-            User user = getCurrentUser(request);
-            if (user == null) {
+            if (currentUser == null) {
                 return ResponseEntity.status(401)
                         .body(new ApiResponse(false, "Authentication required"));
             }
@@ -266,7 +460,7 @@ public class StoryController {
 
             Comment comment = new Comment();
             comment.setContent(commentRequest.getContent());
-            comment.setUser(user);
+            comment.setUser(userService.getUserReference(currentUser.id()));
             comment.setStory(story.get());
 
             Comment savedComment = commentService.createComment(comment);
@@ -280,15 +474,14 @@ public class StoryController {
 
     // Like endpoints
     @PostMapping("/{id}/like")
-    public ResponseEntity<ApiResponse> toggleLike(@PathVariable Long id, HttpServletRequest request) {
+    public ResponseEntity<ApiResponse> toggleLike(@PathVariable Long id, @CurrentUser SessionUser currentUser) {
         try {
-            User user = getCurrentUser(request);
-            if (user == null) {
+            if (currentUser == null) {
                 return ResponseEntity.status(401)
                         .body(new ApiResponse(false, "Authentication required"));
             }
 
-            boolean liked = storyService.toggleLike(id, user.getId());
+            boolean liked = storyService.toggleLike(id, currentUser.id());
 
             Map<String, Object> responseData = new HashMap<>();
             responseData.put("liked", liked);
@@ -305,15 +498,14 @@ public class StoryController {
     }
 
     @GetMapping("/{id}/like")
-    public ResponseEntity<ApiResponse> checkLike(@PathVariable Long id, HttpServletRequest request) {
+    public ResponseEntity<ApiResponse> checkLike(@PathVariable Long id, @CurrentUser SessionUser currentUser) {
         try {
-            User user = getCurrentUser(request);
-            if (user == null) {
+            if (currentUser == null) {
                 return ResponseEntity.status(401)
                         .body(new ApiResponse(false, "Authentication required"));
             }
 
-            boolean hasLiked = storyService.hasUserLikedStory(id, user.getId());
+            boolean hasLiked = storyService.hasUserLikedStory(id, currentUser.id());
 
             Map<String, Object> responseData = new HashMap<>();
             responseData.put("liked", hasLiked);
@@ -340,19 +532,4 @@ public class StoryController {
                     .body(new ApiResponse(false, "Failed to update view count: " + e.getMessage()));
         }
     }
-
-    // Utility methods
-    private User getCurrentUser(HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
-        if (session == null) {
-            return null;
-        }
-
-        Long userId = (Long) session.getAttribute("userId");
-        if (userId == null) {
-            return null;
-        }
-
-        return userService.getUserById(userId).orElse(null);
-    }
 }
\ No newline at end of file
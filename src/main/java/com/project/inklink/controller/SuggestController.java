@@ -0,0 +1,34 @@
+package com.project.inklink.controller;
+
+import com.project.inklink.service.SuggestService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/suggest")
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+public class SuggestController {
+
+    @Autowired
+    private SuggestService suggestService;
+
+    // Autocomplete for the search box, served from memory
+    @GetMapping
+    public ResponseEntity<?> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "5") int limit) {
+        try {
+            return ResponseEntity.ok(suggestService.suggest(prefix, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                    Map.of(
+                            "success", false,
+                            "error", "Failed to fetch suggestions: " + e.getMessage()
+                    )
+            );
+        }
+    }
+}
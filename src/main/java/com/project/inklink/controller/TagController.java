@@ -1,5 +1,9 @@
 package com.project.inklink.controller;
 
+import com.project.inklink.dto.ApiResponse;
+import com.project.inklink.entity.Tag;
+import com.project.inklink.security.CurrentUser;
+import com.project.inklink.security.SessionUser;
 import com.project.inklink.service.TagService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -32,4 +36,91 @@ public class TagController {
             );
         }
     }
-}
\ No newline at end of file
+
+    @GetMapping("/{name}/related")
+    public ResponseEntity<?> getRelatedTags(
+            @PathVariable String name,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<Map<String, Object>> relatedTags = tagService.getRelatedTags(name, limit);
+            return ResponseEntity.ok(relatedTags);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                    Map.of(
+                            "success", false,
+                            "error", "Failed to fetch related tags: " + e.getMessage()
+                    )
+            );
+        }
+    }
+
+    // Create a tag (admin only)
+    @PostMapping
+    public ResponseEntity<ApiResponse> createTag(@RequestBody Map<String, String> request,
+                                                 @CurrentUser SessionUser currentUser) {
+        ResponseEntity<ApiResponse> denied = requireAdmin(currentUser);
+        if (denied != null) {
+            return denied;
+        }
+        try {
+            String name = request.get("name");
+            if (name == null || name.isBlank()) {
+                return ResponseEntity.badRequest().body(new ApiResponse(false, "Tag name is required"));
+            }
+            Tag tag = tagService.createTag(name);
+            return ResponseEntity.ok(new ApiResponse(true, "Tag created successfully", tag));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    // Rename a tag (admin only)
+    @PutMapping("/{id}")
+    public ResponseEntity<ApiResponse> renameTag(@PathVariable Long id,
+                                                 @RequestBody Map<String, String> request,
+                                                 @CurrentUser SessionUser currentUser) {
+        ResponseEntity<ApiResponse> denied = requireAdmin(currentUser);
+        if (denied != null) {
+            return denied;
+        }
+        try {
+            String name = request.get("name");
+            if (name == null || name.isBlank()) {
+                return ResponseEntity.badRequest().body(new ApiResponse(false, "Tag name is required"));
+            }
+            Tag tag = tagService.renameTag(id, name);
+            return ResponseEntity.ok(new ApiResponse(true, "Tag renamed successfully", tag));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    // Delete a tag and remove it from its stories (admin only)
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse> deleteTag(@PathVariable Long id,
+                                                 @CurrentUser SessionUser currentUser) {
+        ResponseEntity<ApiResponse> denied = requireAdmin(currentUser);
+        if (denied != null) {
+            return denied;
+        }
+        try {
+            tagService.deleteTag(id);
+            return ResponseEntity.ok(new ApiResponse(true, "Tag deleted successfully"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    // 401/403 response for anyone but a signed-in admin, null otherwise
+    private ResponseEntity<ApiResponse> requireAdmin(SessionUser currentUser) {
+        if (currentUser == null) {
+            return ResponseEntity.status(401)
+                    .body(new ApiResponse(false, "Authentication required"));
+        }
+        if (!currentUser.isAdmin()) {
+            return ResponseEntity.status(403)
+                    .body(new ApiResponse(false, "Admin access required"));
+        }
+        return null;
+    }
+}
@@ -2,15 +2,33 @@ package com.project.inklink.controller;
 
 import com.project.inklink.dto.ApiResponse;
 import com.project.inklink.entity.User;
+import com.project.inklink.security.CurrentUser;
+import com.project.inklink.security.SessionUser;
+import com.project.inklink.service.BatchLookupService;
+import com.project.inklink.service.BatchLookupService.BatchResult;
+import com.project.inklink.service.ExportService;
+import com.project.inklink.service.FeedService;
+import com.project.inklink.service.FollowService;
+import com.project.inklink.service.SparseFieldsService;
 import com.project.inklink.service.UserService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 @RestController
 @RequestMapping("/api/users")
@@ -19,9 +37,49 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private FollowService followService;
+
+    @Autowired
+    private FeedService feedService;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private SparseFieldsService sparseFieldsService;
+
+    @Autowired
+    private BatchLookupService batchLookupService;
+
+    // Async timeout for the account export only; other async requests keep the global default
+    @Value("${app.export.timeout-ms:600000}")
+    private long exportTimeoutMs;
+
+    // Get several user profiles by id in one request, in the order given; unknown ids come back under missing
+    @GetMapping("/batch")
+    public ResponseEntity<ApiResponse> getUsersBatch(@RequestParam List<Long> ids) {
+        try {
+            BatchResult<Map<String, Object>> users = batchLookupService.getUsers(ids);
+            return ResponseEntity.ok(new ApiResponse(true, "User profiles retrieved", users));
+
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Failed to get user profiles: " + e.getMessage()));
+        }
+    }
+
     @GetMapping("/{userId}")
-    public ResponseEntity<ApiResponse> getUserProfile(@PathVariable Long userId) {
+    public ResponseEntity<ApiResponse> getUserProfile(@PathVariable Long userId,
+                                                      @RequestParam(required = false) String fields) {
         try {
+            // Only the requested columns, see SparseFieldsService
+            if (fields != null) {
+                Map<String, Object> userInfo = sparseFieldsService.getUser(userId, fields)
+                        .orElseThrow(() -> new RuntimeException("User not found"));
+                return ResponseEntity.ok(new ApiResponse(true, "User profile retrieved", userInfo));
+            }
+
             User user = userService.getUserById(userId)
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
@@ -50,7 +108,8 @@ public class UserController {
             stats.put("totalViews", 1250);
             stats.put("totalLikes", 342);
             stats.put("storyCount", 2);
-            stats.put("followerCount", 87);
+            stats.put("followerCount", followService.getFollowerCount(userId));
+            stats.put("followingCount", followService.getFollowingCount(userId));
             stats.put("commentCount", 23);
             stats.put("viewsToday", 45);
             stats.put("likesToday", 12);
@@ -75,37 +134,100 @@ public class UserController {
         }
     }
 
+    // Follow endpoints
+    @PostMapping("/{userId}/follow")
+    public ResponseEntity<ApiResponse> follow(@PathVariable Long userId, @CurrentUser SessionUser currentUser) {
+        try {
+            if (currentUser == null) {
+                return ResponseEntity.status(401)
+                        .body(new ApiResponse(false, "Authentication required"));
+            }
+
+            followService.follow(currentUser.id(), userId);
+            feedService.invalidateTimeline(currentUser.id());
+
+            return ResponseEntity.ok(new ApiResponse(true, "User followed", followStatus(currentUser.id(), userId)));
+
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Failed to follow user: " + e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/{userId}/follow")
+    public ResponseEntity<ApiResponse> unfollow(@PathVariable Long userId, @CurrentUser SessionUser currentUser) {
+        try {
+            if (currentUser == null) {
+                return ResponseEntity.status(401)
+                        .body(new ApiResponse(false, "Authentication required"));
+            }
+
+            followService.unfollow(currentUser.id(), userId);
+            feedService.invalidateTimeline(currentUser.id());
+
+            return ResponseEntity.ok(new ApiResponse(true, "User unfollowed", followStatus(currentUser.id(), userId)));
+
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Failed to unfollow user: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{userId}/follow")
+    public ResponseEntity<ApiResponse> getFollowStatus(@PathVariable Long userId, @CurrentUser SessionUser currentUser) {
+        try {
+            if (currentUser == null) {
+                return ResponseEntity.status(401)
+                        .body(new ApiResponse(false, "Authentication required"));
+            }
+
+            return ResponseEntity.ok(new ApiResponse(true, "Follow status retrieved", followStatus(currentUser.id(), userId)));
+
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Failed to get follow status: " + e.getMessage()));
+        }
+    }
+
+    private Map<String, Object> followStatus(Long followerId, Long followeeId) {
+        Map<String, Object> status = new HashMap<>();
+        status.put("following", followService.isFollowing(followerId, followeeId));
+        status.put("followerCount", followService.getFollowerCount(followeeId));
+        status.put("followingCount", followService.getFollowingCount(followeeId));
+        return status;
+    }
+
     @PutMapping("/{userId}")
     public ResponseEntity<ApiResponse> updateUserProfile(@PathVariable Long userId,
                                                          @RequestBody Map<String, String> updates,
-                                                         HttpServletRequest request) {
+                                                         @CurrentUser SessionUser currentUser) {
         try {
-            User currentUser = getCurrentUser(request);
-            if (currentUser == null || !currentUser.getId().equals(userId)) {
+            if (currentUser == null || !currentUser.id().equals(userId)) {
                 return ResponseEntity.status(403)
                         .body(new ApiResponse(false, "Not authorized to update this profile"));
             }
+            User user = loadUser(currentUser);
 
             // Update allowed fields
             if (updates.containsKey("email")) {
                 String newEmail = updates.get("email");
-                if (!newEmail.equals(currentUser.getEmail()) && userService.findByEmail(newEmail).isPresent()) {
+                if (!newEmail.equals(user.getEmail()) && !userService.isEmailAvailable(newEmail)) {
                     return ResponseEntity.badRequest()
                             .body(new ApiResponse(false, "Email already exists"));
                 }
-                currentUser.setEmail(newEmail);
+                user.setEmail(newEmail);
             }
 
             if (updates.containsKey("username")) {
                 String newUsername = updates.get("username");
-                if (!newUsername.equals(currentUser.getUsername()) && userService.findByUsername(newUsername).isPresent()) {
+                if (!newUsername.equals(user.getUsername()) && !userService.isUsernameAvailable(newUsername)) {
                     return ResponseEntity.badRequest()
                             .body(new ApiResponse(false, "Username already exists"));
                 }
-                currentUser.setUsername(newUsername);
+                user.setUsername(newUsername);
             }
 
-            User updatedUser = userService.updateUser(currentUser);
+            User updatedUser = userService.updateUser(user);
 
             // Return updated user info
             Map<String, Object> userInfo = new HashMap<>();
@@ -122,16 +244,50 @@ public class UserController {
         }
     }
 
+    // Delete an account with its stories, comments, likes and follows; the user themself or an admin
+    @DeleteMapping("/{userId}")
+    public ResponseEntity<ApiResponse> deleteUser(@PathVariable Long userId,
+                                                  @CurrentUser SessionUser currentUser,
+                                                  HttpServletRequest request) {
+        try {
+            if (currentUser == null) {
+                return ResponseEntity.status(401)
+                        .body(new ApiResponse(false, "Authentication required"));
+            }
+            if (!currentUser.id().equals(userId) && !currentUser.isAdmin()) {
+                return ResponseEntity.status(403)
+                        .body(new ApiResponse(false, "Not authorized to delete this account"));
+            }
+            if (userService.getUserById(userId).isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+
+            userService.deleteUser(userId);
+
+            // Deleting your own account signs you out
+            if (currentUser.id().equals(userId)) {
+                HttpSession session = request.getSession(false);
+                if (session != null) {
+                    session.invalidate();
+                }
+            }
+            return ResponseEntity.ok(new ApiResponse(true, "Account deleted successfully"));
+
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Failed to delete account: " + e.getMessage()));
+        }
+    }
+
     @GetMapping("/profile")
-    public ResponseEntity<ApiResponse> getProfile(HttpServletRequest request) {
+    public ResponseEntity<ApiResponse> getProfile(@CurrentUser SessionUser currentUser) {
         try {
-            User user = getCurrentUser(request);
-            if (user == null) {
+            if (currentUser == null) {
                 return ResponseEntity.status(401)
                         .body(new ApiResponse(false, "Authentication required"));
             }
 
-            return ResponseEntity.ok(new ApiResponse(true, "Profile retrieved successfully", user));
+            return ResponseEntity.ok(new ApiResponse(true, "Profile retrieved successfully", loadUser(currentUser)));
 
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -141,18 +297,18 @@ public class UserController {
 
     @PutMapping("/profile")
     public ResponseEntity<ApiResponse> updateProfile(@RequestBody Map<String, String> updates,
-                                                     HttpServletRequest request) {
+                                                     @CurrentUser SessionUser currentUser) {
         try {
-            User user = getCurrentUser(request);
-            if (user == null) {
+            if (currentUser == null) {
                 return ResponseEntity.status(401)
                         .body(new ApiResponse(false, "Authentication required"));
             }
+            User user = loadUser(currentUser);
 
             // Update allowed fields
             if (updates.containsKey("email")) {
                 String newEmail = updates.get("email");
-                if (!newEmail.equals(user.getEmail()) && userService.findByEmail(newEmail).isPresent()) {
+                if (!newEmail.equals(user.getEmail()) && !userService.isEmailAvailable(newEmail)) {
                     return ResponseEntity.badRequest()
                             .body(new ApiResponse(false, "Email already exists"));
                 }
@@ -168,20 +324,59 @@ public class UserController {
         }
     }
 
-    // FIXED: Consistent session handling
-    private User getCurrentUser(HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
-        if (session == null) {
-            return null;
-        }
+    // Download everything the user has written, streamed as NDJSON or a ZIP of Markdown files
+    @GetMapping("/me/export")
+    public ResponseEntity<?> exportAccount(@RequestParam(defaultValue = "ndjson") String format,
+                                           @CurrentUser SessionUser currentUser,
+                                           HttpServletRequest request) {
+        try {
+            if (currentUser == null) {
+                return ResponseEntity.status(401)
+                        .body(new ApiResponse(false, "Authentication required"));
+            }
+
+            ExportService.Format exportFormat = ExportService.Format.valueOf(format.toUpperCase());
+            Long userId = currentUser.id();
+            StreamingResponseBody body = out -> exportService.export(userId, exportFormat, out);
+            extendAsyncTimeout(request, exportTimeoutMs);
 
-        // Get user ID from session (set by AuthController)
-        Long userId = (Long) session.getAttribute("userId");
-        if (userId == null) {
-            return null;
+            String fileName = "inklink-export-" + currentUser.username() +
+                    (exportFormat == ExportService.Format.ZIP ? ".zip" : ".ndjson");
+            MediaType contentType = exportFormat == ExportService.Format.ZIP
+                    ? MediaType.parseMediaType("application/zip")
+                    : MediaType.parseMediaType("application/x-ndjson");
+
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                    .contentType(contentType)
+                    .body(body);
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Unsupported export format: " + format));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Failed to export account: " + e.getMessage()));
         }
+    }
+
+    // Full entity for the endpoints that return or modify it
+    private User loadUser(SessionUser currentUser) {
+        return userService.getUserById(currentUser.id())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
 
-        // Load user from database
-        return userService.getUserById(userId).orElse(null);
+    // Set the async timeout of this request alone. The interceptor runs just before the streaming
+    // body starts async processing, which is the last point the timeout can still be changed.
+    private static void extendAsyncTimeout(HttpServletRequest request, long timeoutMs) {
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor("asyncTimeout",
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest webRequest, Callable<T> task) {
+                        if (webRequest instanceof AsyncWebRequest asyncRequest) {
+                            asyncRequest.setTimeout(timeoutMs);
+                        }
+                    }
+                });
     }
-}
\ No newline at end of file
+}
@@ -3,6 +3,7 @@ package com.project.inklink.entity;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.project.inklink.entity.converter.CompressedTextConverter;
 import com.project.inklink.entity.enums.StoryGenre;
 import com.project.inklink.entity.enums.StoryStatus;
 import jakarta.persistence.*;
@@ -12,6 +13,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import com.fasterxml.jackson.annotation.*;
 
@@ -29,11 +31,25 @@ public class Story {
 
     private Integer likeCount = 0;
 
+    // Stored compressed above a size threshold, see ContentCompression
     @NotBlank(message = "Content is required")
-    @Lob
-    @Column(nullable = false, columnDefinition = "TEXT")
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(nullable = false, columnDefinition = "LONGBLOB")
     private String content;
 
+    // SHA-256 of content, lets saves detect unchanged content without comparing the text
+    @Column(length = 64)
+    @JsonIgnore
+    private String contentHash;
+
+    // Derived from content when it is saved, see StoryService.applyContent
+    @Column(length = 300)
+    private String excerpt;
+
+    private Integer wordCount;
+
+    private Integer readingTimeMinutes;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private StoryGenre genre;
@@ -68,10 +84,27 @@ public class Story {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    // Set the first time the story is published, orders home feeds
+    private LocalDateTime publishedAt;
+
     // Transient field to track if current user liked this story
     @Transient
     private Boolean liked = false;
 
+    // Title, status and genre as last read from the database, used to detect publish transitions,
+    // to adjust the listing totals and to skip saves that change nothing
+    @Transient
+    @JsonIgnore
+    private String persistedTitle;
+
+    @Transient
+    @JsonIgnore
+    private StoryStatus persistedStatus;
+
+    @Transient
+    @JsonIgnore
+    private StoryGenre persistedGenre;
+
     // Constructors
     public Story() {
         this.createdAt = LocalDateTime.now();
@@ -98,6 +131,13 @@ public class Story {
         updatedAt = LocalDateTime.now();
     }
 
+    @PostLoad
+    protected void onLoad() {
+        persistedTitle = title;
+        persistedStatus = status;
+        persistedGenre = genre;
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -108,6 +148,19 @@ public class Story {
     public String getContent() { return content; }
     public void setContent(String content) { this.content = content; }
 
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+
+
+    public String getExcerpt() { return excerpt; }
+    public void setExcerpt(String excerpt) { this.excerpt = excerpt; }
+
+    public Integer getWordCount() { return wordCount; }
+    public void setWordCount(Integer wordCount) { this.wordCount = wordCount; }
+
+    public Integer getReadingTimeMinutes() { return readingTimeMinutes; }
+    public void setReadingTimeMinutes(Integer readingTimeMinutes) { this.readingTimeMinutes = readingTimeMinutes; }
+
     public StoryGenre getGenre() { return genre; }
     public void setGenre(StoryGenre genre) { this.genre = genre; }
 
@@ -131,6 +184,9 @@ public class Story {
 
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public LocalDateTime getPublishedAt() { return publishedAt; }
+    public void setPublishedAt(LocalDateTime publishedAt) { this.publishedAt = publishedAt; }
     //like count
     public Integer getLikeCount() { return likeCount; }
     public void setLikeCount(Integer likeCount) { this.likeCount = likeCount; }
@@ -139,6 +195,30 @@ public class Story {
     public Boolean getLiked() { return liked; }
     public void setLiked(Boolean liked) { this.liked = liked; }
 
+    // True if this save moves the story into PUBLISHED
+    public boolean publishesOnSave() {
+        return status == StoryStatus.PUBLISHED && persistedStatus != StoryStatus.PUBLISHED;
+    }
+
+    // True if this save can change what public listings show (it is or was published)
+    public boolean affectsPublicListings() {
+        return status == StoryStatus.PUBLISHED || persistedStatus == StoryStatus.PUBLISHED;
+    }
+
+    public StoryStatus getPersistedStatus() { return persistedStatus; }
+    public StoryGenre getPersistedGenre() { return persistedGenre; }
+
+    // True if title, status or genre differ from what was last read or saved
+    public boolean hasFieldChanges() {
+        return !Objects.equals(title, persistedTitle) || status != persistedStatus || genre != persistedGenre;
+    }
+
+    public void markPersisted() {
+        persistedTitle = title;
+        persistedStatus = status;
+        persistedGenre = genre;
+    }
+
     // Utility methods
     public void addComment(Comment comment) {
         comments.add(comment);
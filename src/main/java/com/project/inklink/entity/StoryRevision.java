@@ -0,0 +1,83 @@
+package com.project.inklink.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One saved version of a story's content. Snapshots hold the full (compressed) text, other
+ * revisions hold a TextDelta against the previous revision.
+ */
+@Entity
+@Table(name = "story_revisions", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"story_id", "revision_number"})
+})
+public class StoryRevision {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "story_id", nullable = false)
+    private Story story;
+
+    @Column(name = "revision_number", nullable = false)
+    private Integer revisionNumber;
+
+    @Column(nullable = false)
+    private Boolean snapshot;
+
+    // ContentCompression bytes for snapshots, TextDelta bytes otherwise
+    @Column(nullable = false, columnDefinition = "LONGBLOB")
+    private byte[] data;
+
+    @Column(nullable = false, length = 64)
+    private String contentHash;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "editor_id")
+    private User editor;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public StoryRevision() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public StoryRevision(Story story, Integer revisionNumber, Boolean snapshot, byte[] data,
+                         String contentHash, User editor) {
+        this();
+        this.story = story;
+        this.revisionNumber = revisionNumber;
+        this.snapshot = snapshot;
+        this.data = data;
+        this.contentHash = contentHash;
+        this.editor = editor;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Story getStory() { return story; }
+    public void setStory(Story story) { this.story = story; }
+
+    public Integer getRevisionNumber() { return revisionNumber; }
+    public void setRevisionNumber(Integer revisionNumber) { this.revisionNumber = revisionNumber; }
+
+    public Boolean getSnapshot() { return snapshot; }
+    public void setSnapshot(Boolean snapshot) { this.snapshot = snapshot; }
+
+    public byte[] getData() { return data; }
+    public void setData(byte[] data) { this.data = data; }
+
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+
+    public User getEditor() { return editor; }
+    public void setEditor(User editor) { this.editor = editor; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
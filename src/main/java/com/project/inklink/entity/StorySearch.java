@@ -0,0 +1,26 @@
+package com.project.inklink.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Plain text of a story's content, kept apart from the stories row so only search queries read
+ * it. Rows are written with StorySearchRepository.upsert; the entity exists for JPQL subqueries.
+ */
+@Entity
+@Immutable
+@Table(name = "story_search")
+public class StorySearch {
+    @Id
+    private Long storyId;
+
+    @Column(nullable = false, columnDefinition = "MEDIUMTEXT")
+    private String searchText;
+
+    protected StorySearch() {}
+
+    // Getters
+    public Long getStoryId() { return storyId; }
+
+    public String getSearchText() { return searchText; }
+}
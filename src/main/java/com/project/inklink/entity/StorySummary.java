@@ -0,0 +1,100 @@
+package com.project.inklink.entity;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.project.inklink.entity.enums.StoryGenre;
+import com.project.inklink.entity.enums.StoryStatus;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Read-only view of a story row without its content, used by listings so they never load the
+ * content LOB. Writes always go through Story.
+ */
+@Entity
+@Immutable
+@Table(name = "stories")
+public class StorySummary {
+    @Id
+    private Long id;
+
+    private String title;
+
+    private String excerpt;
+
+    private Integer wordCount;
+
+    private Integer readingTimeMinutes;
+
+    private Integer likeCount;
+
+    @Enumerated(EnumType.STRING)
+    private StoryGenre genre;
+
+    @Enumerated(EnumType.STRING)
+    private StoryStatus status;
+
+    private Integer readCount;
+
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "author_id", insertable = false, updatable = false)
+    @JsonProperty("author")
+    private User author;
+
+    @ManyToMany
+    @Immutable
+    @JoinTable(
+            name = "story_tags",
+            joinColumns = @JoinColumn(name = "story_id"),
+            inverseJoinColumns = @JoinColumn(name = "tag_id")
+    )
+    private Set<Tag> tags = new HashSet<>();
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime publishedAt;
+
+    // Transient field to track if current user liked this story
+    @Transient
+    private Boolean liked = false;
+
+    protected StorySummary() {}
+
+    // Getters
+    public Long getId() { return id; }
+
+    public String getTitle() { return title; }
+
+    public String getExcerpt() { return excerpt; }
+
+    public Integer getWordCount() { return wordCount; }
+
+    public Integer getReadingTimeMinutes() { return readingTimeMinutes; }
+
+    public Integer getLikeCount() { return likeCount; }
+
+    public StoryGenre getGenre() { return genre; }
+
+    public StoryStatus getStatus() { return status; }
+
+    public Integer getReadCount() { return readCount; }
+
+    public User getAuthor() { return author; }
+
+    public Set<Tag> getTags() { return tags; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
+    public LocalDateTime getPublishedAt() { return publishedAt; }
+
+    // Liked status
+    public Boolean getLiked() { return liked; }
+    public void setLiked(Boolean liked) { this.liked = liked; }
+}
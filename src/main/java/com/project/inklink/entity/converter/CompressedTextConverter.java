@@ -0,0 +1,23 @@
+package com.project.inklink.entity.converter;
+
+import com.project.inklink.util.ContentCompression;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores long text as a format byte plus plain or DEFLATE-compressed UTF-8.
+ * Rows written before compression was introduced are still read as plain text.
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(String attribute) {
+        return ContentCompression.encode(attribute);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] dbData) {
+        return ContentCompression.decode(dbData);
+    }
+}
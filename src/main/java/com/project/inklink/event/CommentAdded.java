@@ -0,0 +1,7 @@
+package com.project.inklink.event;
+
+/**
+ * A comment was posted on a story
+ */
+public record CommentAdded(Long commentId, Long storyId, Long userId) implements DomainEvent {
+}
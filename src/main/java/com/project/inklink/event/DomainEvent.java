@@ -0,0 +1,9 @@
+package com.project.inklink.event;
+
+/**
+ * Something that happened to a story, comment or user, published after the change commits.
+ * Events carry ids and the few values consumers need, never entities.
+ */
+public sealed interface DomainEvent permits StoryPublished, StoryUpdated, StoryDeleted, StoryLiked,
+        StoryUnliked, StoryRead, CommentAdded, UserUpdated {
+}
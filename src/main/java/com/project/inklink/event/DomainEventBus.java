@@ -0,0 +1,283 @@
+package com.project.inklink.event;
+
+import com.project.inklink.service.OutboxService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process delivery of {@link DomainEvent}s. Events are published through the transactional
+ * outbox and arrive here from its relay, so a committed change reaches the consumers even
+ * across a crash (possibly more than once). Every consumer gets its own bounded queue and
+ * thread, which drains the queue in micro-batches: whatever is queued up to the batch size,
+ * waiting at most the linger time for more once the first event arrives. A slow consumer
+ * only delays itself.
+ *
+ * When a queue is full the relay waits up to the offer timeout, then delivers the queued events
+ * and its own on its own thread. A lane only takes events off its queue while holding its
+ * delivery lock, so the relay never overtakes a batch the lane thread is still working on and
+ * each consumer sees events in publish order. Delivery slows down rather than events being
+ * dropped. The relay learns through a future per event when every accepting consumer has
+ * processed it, and only then marks the outbox entry delivered.
+ *
+ * On shutdown the lanes drain their queues and the bus waits for their threads, up to the
+ * shutdown timeout, before letting the context close.
+ */
+@Component
+public class DomainEventBus implements OutboxHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(DomainEventBus.class);
+
+    @Autowired(required = false)
+    private List<DomainEventConsumer> consumers = List.of();
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Value("${app.events.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.events.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.events.linger-ms:20}")
+    private long lingerMs;
+
+    @Value("${app.events.offer-timeout-ms:100}")
+    private long offerTimeoutMs;
+
+    @Value("${app.events.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    private final List<Lane> lanes = new ArrayList<>();
+
+    private volatile boolean running = true;
+
+    private record Envelope(DomainEvent event, long publishedAt, CompletableFuture<Void> handled) {}
+
+    // One consumer's queue, thread and counters
+    private final class Lane implements Runnable {
+        final DomainEventConsumer consumer;
+        final BlockingQueue<Envelope> queue = new ArrayBlockingQueue<>(queueCapacity);
+        // Held from taking events off the queue until they are delivered; fair, so a waiting
+        // relay gets it after the batch in progress
+        final ReentrantLock deliveryLock = new ReentrantLock(true);
+        final AtomicLong enqueued = new AtomicLong();
+        final AtomicLong delivered = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        final AtomicLong batches = new AtomicLong();
+        final AtomicLong callerRuns = new AtomicLong();
+        volatile long lastDeliveredAt;
+        volatile long lastLagMs;
+        Thread thread;
+
+        Lane(DomainEventConsumer consumer) {
+            this.consumer = consumer;
+        }
+
+        void offer(Envelope envelope) {
+            enqueued.incrementAndGet();
+            try {
+                if (queue.offer(envelope, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // Queue still full: the relay thread delivers what is queued, then this event
+            deliveryLock.lock();
+            try {
+                if (queue.offer(envelope)) {
+                    return; // the lane caught up while we waited for the lock
+                }
+                callerRuns.incrementAndGet();
+                List<Envelope> backlog = new ArrayList<>(queue.size() + 1);
+                queue.drainTo(backlog);
+                backlog.add(envelope);
+                for (int from = 0; from < backlog.size(); from += batchSize) {
+                    deliver(backlog.subList(from, Math.min(from + batchSize, backlog.size())));
+                }
+            } finally {
+                deliveryLock.unlock();
+            }
+        }
+
+        @Override
+        public void run() {
+            List<Envelope> batch = new ArrayList<>(batchSize);
+            while (running || !queue.isEmpty()) {
+                try {
+                    deliveryLock.lockInterruptibly();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                try {
+                    Envelope first = queue.poll(500, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                    while (batch.size() < batchSize) {
+                        queue.drainTo(batch, batchSize - batch.size());
+                        long remaining = deadline - System.nanoTime();
+                        if (batch.size() >= batchSize || remaining <= 0) {
+                            break;
+                        }
+                        Envelope next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                    deliver(batch);
+                } catch (InterruptedException e) {
+                    // Interrupted mid-batch: the outbox relays these again
+                    Thread.currentThread().interrupt();
+                    batch.forEach(envelope -> envelope.handled().cancel(false));
+                    return;
+                } finally {
+                    batch.clear();
+                    deliveryLock.unlock();
+                }
+            }
+        }
+
+        void deliver(List<Envelope> envelopes) {
+            List<DomainEvent> events = new ArrayList<>(envelopes.size());
+            for (Envelope envelope : envelopes) {
+                events.add(envelope.event());
+            }
+            try {
+                consumer.onEvents(events);
+                delivered.addAndGet(events.size());
+                envelopes.forEach(envelope -> envelope.handled().complete(null));
+            } catch (Exception e) {
+                failed.addAndGet(events.size());
+                log.error("Consumer {} failed on a batch of {} events", consumer.consumerName(), events.size(), e);
+                envelopes.forEach(envelope -> envelope.handled().completeExceptionally(e));
+            }
+            batches.incrementAndGet();
+            long now = System.currentTimeMillis();
+            lastDeliveredAt = now;
+            lastLagMs = now - envelopes.get(0).publishedAt();
+        }
+
+        Map<String, Object> stats() {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            Envelope oldest = queue.peek();
+            stats.put("queued", queue.size());
+            stats.put("capacity", queueCapacity);
+            stats.put("oldestQueuedAgeMs", oldest != null ? System.currentTimeMillis() - oldest.publishedAt() : 0);
+            stats.put("lastBatchLagMs", lastLagMs);
+            stats.put("enqueued", enqueued.get());
+            stats.put("delivered", delivered.get());
+            stats.put("failed", failed.get());
+            stats.put("batches", batches.get());
+            stats.put("callerRuns", callerRuns.get());
+            stats.put("lastDeliveredAt", lastDeliveredAt);
+            return stats;
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        for (DomainEventConsumer consumer : consumers) {
+            Lane lane = new Lane(consumer);
+            lanes.add(lane);
+            lane.thread = new Thread(lane, "events-" + consumer.consumerName());
+            lane.thread.setDaemon(true);
+            lane.thread.start();
+        }
+        log.info("Domain event bus started with {} consumers", lanes.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Lanes finish what is queued, then exit
+        running = false;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMs);
+        for (Lane lane : lanes) {
+            try {
+                lane.thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (lane.thread.isAlive()) {
+                log.warn("Consumer {} did not finish within {} ms, {} events left queued",
+                        lane.consumer.consumerName(), shutdownTimeoutMs, lane.queue.size());
+                lane.thread.interrupt();
+            }
+        }
+    }
+
+    /**
+     * Record an event in the current transaction's outbox; it is delivered to consumers after
+     * the transaction commits, and never for a rolled-back one
+     */
+    public void publish(DomainEvent event) {
+        outboxService.append(event);
+    }
+
+    // Only events some consumer wants are worth an outbox row
+    @Override
+    public boolean handles(DomainEvent event) {
+        for (DomainEventConsumer consumer : consumers) {
+            if (consumer.accepts(event)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Called by the outbox relay; each future completes once every accepting consumer has the event
+    @Override
+    public List<CompletableFuture<Void>> handle(List<OutboxMessage> messages) {
+        List<CompletableFuture<Void>> results = new ArrayList<>(messages.size());
+        for (OutboxMessage message : messages) {
+            results.add(dispatch(message.event()));
+        }
+        return results;
+    }
+
+    private CompletableFuture<Void> dispatch(DomainEvent event) {
+        long publishedAt = System.currentTimeMillis();
+        List<CompletableFuture<Void>> deliveries = new ArrayList<>();
+        for (Lane lane : lanes) {
+            if (lane.consumer.accepts(event)) {
+                Envelope envelope = new Envelope(event, publishedAt, new CompletableFuture<>());
+                deliveries.add(envelope.handled());
+                lane.offer(envelope);
+            }
+        }
+        return CompletableFuture.allOf(deliveries.toArray(new CompletableFuture[0]));
+    }
+
+    /**
+     * Per-consumer queue depth, lag and delivery counters
+     */
+    public Map<String, Map<String, Object>> stats() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        for (Lane lane : lanes) {
+            stats.put(lane.consumer.consumerName(), lane.stats());
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,21 @@
+package com.project.inklink.event;
+
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+
+/**
+ * Receives domain events in batches on its own thread. Any bean implementing this is picked up
+ * by the {@link DomainEventBus}. A batch holds only events the consumer accepts, in publish order.
+ */
+public interface DomainEventConsumer {
+
+    // Name used for the consumer's thread and metrics
+    default String consumerName() {
+        return ClassUtils.getUserClass(getClass()).getSimpleName();
+    }
+
+    boolean accepts(DomainEvent event);
+
+    void onEvents(List<DomainEvent> events);
+}
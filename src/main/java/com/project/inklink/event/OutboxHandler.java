@@ -0,0 +1,25 @@
+package com.project.inklink.event;
+
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Receives outbox entries from the relay, oldest first. Delivery is at least once: an entry is
+ * handed over again if the handler fails on it or the relay stops before recording the delivery,
+ * so handlers should use the idempotency key (or naturally idempotent updates) to apply it once.
+ */
+public interface OutboxHandler {
+
+    // Name used in logs and to remember which handlers already took an entry
+    default String handlerName() {
+        return ClassUtils.getUserClass(getClass()).getSimpleName();
+    }
+
+    boolean handles(DomainEvent event);
+
+    // One future per message, in the same order. An entry only counts as delivered once its
+    // future completes normally, so asynchronous handlers complete it after the work is done.
+    List<CompletableFuture<Void>> handle(List<OutboxMessage> messages);
+}
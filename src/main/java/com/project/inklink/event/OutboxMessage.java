@@ -0,0 +1,7 @@
+package com.project.inklink.event;
+
+/**
+ * A domain event as read back from the outbox, with the key that identifies it across redeliveries
+ */
+public record OutboxMessage(long id, String idempotencyKey, DomainEvent event) {
+}
@@ -0,0 +1,7 @@
+package com.project.inklink.event;
+
+/**
+ * A story and its likes, comments and revisions were deleted
+ */
+public record StoryDeleted(Long storyId) implements DomainEvent {
+}
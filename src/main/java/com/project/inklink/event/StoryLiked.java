@@ -0,0 +1,7 @@
+package com.project.inklink.event;
+
+/**
+ * A user liked a story; likeCount is the story's count after the like
+ */
+public record StoryLiked(Long storyId, Long userId, int likeCount) implements DomainEvent {
+}
@@ -0,0 +1,11 @@
+package com.project.inklink.event;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A story became publicly visible
+ */
+public record StoryPublished(Long storyId, Long authorId, List<Long> tagIds, LocalDateTime publishedAt)
+        implements DomainEvent {
+}
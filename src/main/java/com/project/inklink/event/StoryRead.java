@@ -0,0 +1,7 @@
+package com.project.inklink.event;
+
+/**
+ * A story's read counter was incremented
+ */
+public record StoryRead(Long storyId, int readCount) implements DomainEvent {
+}
@@ -0,0 +1,7 @@
+package com.project.inklink.event;
+
+/**
+ * A user removed their like; likeCount is the story's count after the change
+ */
+public record StoryUnliked(Long storyId, Long userId, int likeCount) implements DomainEvent {
+}
@@ -0,0 +1,7 @@
+package com.project.inklink.event;
+
+/**
+ * A story was saved without becoming published (edits, unpublishing, drafts)
+ */
+public record StoryUpdated(Long storyId, Long authorId) implements DomainEvent {
+}
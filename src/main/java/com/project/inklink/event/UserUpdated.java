@@ -0,0 +1,7 @@
+package com.project.inklink.event;
+
+/**
+ * A user's profile was saved
+ */
+public record UserUpdated(Long userId, String username) implements DomainEvent {
+}
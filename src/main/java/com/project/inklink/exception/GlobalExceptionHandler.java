@@ -1,6 +1,8 @@
 package com.project.inklink.exception;
 
 import com.project.inklink.dto.ApiResponse;
+import com.project.inklink.service.PasswordHashingService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -29,6 +31,14 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(response);
     }
 
+    // Password hashing pool is full: ask the client to come back rather than queue the request
+    @ExceptionHandler(PasswordHashingService.HashingSaturatedException.class)
+    public ResponseEntity<ApiResponse> handleHashingSaturated(PasswordHashingService.HashingSaturatedException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ApiResponse(false, ex.getMessage()));
+    }
+
     // Handle all other exceptions with simple messages
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse> handleGeneralException(Exception ex) {
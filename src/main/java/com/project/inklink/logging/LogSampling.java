@@ -0,0 +1,42 @@
+package com.project.inklink.logging;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Per-thread sampling draw for debug and SQL logging. A request draws once when it starts, so
+ * a sampled request keeps all of its debug lines and an unsampled one keeps none. Threads
+ * outside a request get a fresh draw per statement.
+ */
+public final class LogSampling {
+
+    // NaN = no request in progress; a primitive holder so checks do not allocate
+    private static final ThreadLocal<double[]> DRAW = ThreadLocal.withInitial(() -> new double[]{Double.NaN});
+
+    private LogSampling() {
+    }
+
+    public static void begin() {
+        DRAW.get()[0] = ThreadLocalRandom.current().nextDouble();
+    }
+
+    public static void end() {
+        DRAW.get()[0] = Double.NaN;
+    }
+
+    /**
+     * Whether a statement on this thread falls inside the given sampling rate
+     */
+    public static boolean sampled(double rate) {
+        if (rate >= 1.0) {
+            return true;
+        }
+        if (rate <= 0.0) {
+            return false;
+        }
+        double draw = DRAW.get()[0];
+        if (Double.isNaN(draw)) {
+            draw = ThreadLocalRandom.current().nextDouble();
+        }
+        return draw < rate;
+    }
+}
@@ -0,0 +1,51 @@
+package com.project.inklink.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+/**
+ * Lets through only a sample of DEBUG and TRACE statements: SQL loggers at the SQL rate,
+ * everything else at the debug rate. Runs before Logback builds an event, so a statement
+ * that is sampled out costs a level compare and a thread-local read. INFO and above are
+ * never sampled.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private double debugRate = 1.0;
+    private double sqlRate = 1.0;
+    private String[] sqlLoggers = {"org.hibernate.SQL", "org.hibernate.orm.jdbc.bind"};
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level.levelInt > Level.DEBUG_INT) {
+            return FilterReply.NEUTRAL;
+        }
+        double rate = isSqlLogger(logger.getName()) ? sqlRate : debugRate;
+        return LogSampling.sampled(rate) ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private boolean isSqlLogger(String name) {
+        for (String prefix : sqlLoggers) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void setDebugRate(double debugRate) {
+        this.debugRate = debugRate;
+    }
+
+    public void setSqlRate(double sqlRate) {
+        this.sqlRate = sqlRate;
+    }
+
+    // Comma-separated logger name prefixes
+    public void setSqlLoggers(String sqlLoggers) {
+        this.sqlLoggers = sqlLoggers.split("\\s*,\\s*");
+    }
+}
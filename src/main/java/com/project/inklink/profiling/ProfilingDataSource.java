@@ -0,0 +1,110 @@
+package com.project.inklink.profiling;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Times every statement executed through it into the current {@link RequestProfile}.
+ * Connections handed out on a thread without an active profile are returned unwrapped.
+ */
+public class ProfilingDataSource extends DelegatingDataSource {
+
+    public ProfilingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private static Connection wrap(Connection connection) {
+        if (!RequestProfile.active()) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(ProfilingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = call(target, method, args);
+            String name = method.getName();
+            if (result instanceof CallableStatement statement && name.equals("prepareCall")) {
+                return wrapStatement(statement, CallableStatement.class, (String) args[0]);
+            }
+            if (result instanceof PreparedStatement statement && name.equals("prepareStatement")) {
+                return wrapStatement(statement, PreparedStatement.class, (String) args[0]);
+            }
+            if (result instanceof Statement statement && name.equals("createStatement")) {
+                return wrapStatement(statement, Statement.class, null);
+            }
+            return result;
+        }
+    }
+
+    private static Object wrapStatement(Statement statement, Class<? extends Statement> type, String sql) {
+        return Proxy.newProxyInstance(ProfilingDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, new StatementHandler(statement, sql));
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                return call(target, method, args);
+            }
+            long start = System.nanoTime();
+            try {
+                return call(target, method, args);
+            } finally {
+                String sql = preparedSql;
+                if (sql == null && args != null && args.length > 0 && args[0] instanceof String text) {
+                    sql = text;
+                }
+                if (method.getName().equals("executeBatch")) {
+                    sql = "[batch] " + sql;
+                }
+                RequestProfile.recordStatement(sql, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static Object call(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.project.inklink.profiling;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+/**
+ * Hikari metrics hook that charges the time spent waiting for a pooled connection to the
+ * borrowing request's {@link RequestProfile}
+ */
+public class ProfilingMetricsTrackerFactory implements MetricsTrackerFactory {
+
+    private static final IMetricsTracker TRACKER = new IMetricsTracker() {
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            RequestProfile.recordConnectionWait(elapsedAcquiredNanos);
+        }
+    };
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        return TRACKER;
+    }
+}
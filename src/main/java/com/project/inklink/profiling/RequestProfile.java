@@ -0,0 +1,109 @@
+package com.project.inklink.profiling;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Where one request's time went: SQL statements (count, total time and the slowest few),
+ * waits for a pooled connection, password hashing and response serialization. Bound to the
+ * request thread by RequestProfilingFilter; the record* methods do nothing when no request
+ * is being profiled on the calling thread.
+ */
+public final class RequestProfile {
+
+    private static final ThreadLocal<RequestProfile> CURRENT = new ThreadLocal<>();
+
+    // Slowest statements kept per request
+    static final int TOP_STATEMENTS = 5;
+
+    final long startedAt = System.nanoTime();
+    int sqlCount;
+    long sqlNanos;
+    int connectionAcquires;
+    long connectionWaitNanos;
+    long hashingNanos;
+    long serializationNanos;
+
+    // Slowest statements, kept sorted slowest first
+    private final String[] topSql = new String[TOP_STATEMENTS];
+    private final long[] topNanos = new long[TOP_STATEMENTS];
+    private int topSize;
+
+    public static RequestProfile begin() {
+        RequestProfile profile = new RequestProfile();
+        CURRENT.set(profile);
+        return profile;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public static boolean active() {
+        return CURRENT.get() != null;
+    }
+
+    public static void recordStatement(String sql, long nanos) {
+        RequestProfile profile = CURRENT.get();
+        if (profile != null) {
+            profile.addStatement(sql, nanos);
+        }
+    }
+
+    public static void recordConnectionWait(long nanos) {
+        RequestProfile profile = CURRENT.get();
+        if (profile != null) {
+            profile.connectionAcquires++;
+            profile.connectionWaitNanos += nanos;
+        }
+    }
+
+    public static void recordHashing(long nanos) {
+        RequestProfile profile = CURRENT.get();
+        if (profile != null) {
+            profile.hashingNanos += nanos;
+        }
+    }
+
+    public static void recordSerialization(long nanos) {
+        RequestProfile profile = CURRENT.get();
+        if (profile != null) {
+            profile.serializationNanos += nanos;
+        }
+    }
+
+    private void addStatement(String sql, long nanos) {
+        sqlCount++;
+        sqlNanos += nanos;
+        if (topSize == TOP_STATEMENTS && nanos <= topNanos[TOP_STATEMENTS - 1]) {
+            return;
+        }
+        int i = Math.min(topSize, TOP_STATEMENTS - 1);
+        while (i > 0 && topNanos[i - 1] < nanos) {
+            topNanos[i] = topNanos[i - 1];
+            topSql[i] = topSql[i - 1];
+            i--;
+        }
+        topNanos[i] = nanos;
+        topSql[i] = sql;
+        if (topSize < TOP_STATEMENTS) {
+            topSize++;
+        }
+    }
+
+    /**
+     * Slowest statements of the request as {sql, ms}, slowest first
+     */
+    List<Map<String, Object>> topStatements() {
+        List<Map<String, Object>> statements = new ArrayList<>(topSize);
+        for (int i = 0; i < topSize; i++) {
+            Map<String, Object> statement = new LinkedHashMap<>();
+            statement.put("ms", topNanos[i] / 1_000_000.0);
+            statement.put("sql", topSql[i]);
+            statements.add(statement);
+        }
+        return statements;
+    }
+}
@@ -0,0 +1,213 @@
+package com.project.inklink.profiling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aggregates finished request profiles per endpoint (method plus mapped path pattern) over a
+ * rolling window, and writes requests over the slow threshold to the slow-request log with
+ * their breakdown and slowest statements.
+ *
+ * Each endpoint keeps two fixed windows, the current one and the one before it, so the
+ * top-N always covers between one and two window lengths of traffic.
+ */
+@Component
+public class RequestProfiler {
+
+    private static final Logger slowLog = LoggerFactory.getLogger("com.project.inklink.slow-requests");
+
+    // Upper bounds of the latency histogram buckets, in ms; the last bucket is open-ended
+    private static final long[] BUCKET_BOUNDS_MS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+    @Value("${app.profiling.slow-threshold-ms:1000}")
+    private long slowThresholdMs;
+
+    @Value("${app.profiling.window-ms:300000}")
+    private long windowMs;
+
+    @Value("${app.profiling.max-endpoints:500}")
+    private int maxEndpoints;
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    // One endpoint's counters for one window
+    private static final class Window {
+        final long index;
+        long count;
+        long errors;
+        long totalNanos;
+        long maxNanos;
+        long sqlCount;
+        long sqlNanos;
+        long connectionWaitNanos;
+        long hashingNanos;
+        long serializationNanos;
+        final long[] buckets = new long[BUCKET_BOUNDS_MS.length + 1];
+
+        Window(long index) {
+            this.index = index;
+        }
+
+        void add(Window other) {
+            count += other.count;
+            errors += other.errors;
+            totalNanos += other.totalNanos;
+            maxNanos = Math.max(maxNanos, other.maxNanos);
+            sqlCount += other.sqlCount;
+            sqlNanos += other.sqlNanos;
+            connectionWaitNanos += other.connectionWaitNanos;
+            hashingNanos += other.hashingNanos;
+            serializationNanos += other.serializationNanos;
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] += other.buckets[i];
+            }
+        }
+    }
+
+    private static final class EndpointStats {
+        Window current;
+        Window previous;
+
+        synchronized void record(long windowIndex, RequestProfile profile, long wallNanos, boolean error) {
+            if (current == null || current.index != windowIndex) {
+                previous = current != null && current.index == windowIndex - 1 ? current : null;
+                current = new Window(windowIndex);
+            }
+            Window w = current;
+            w.count++;
+            if (error) {
+                w.errors++;
+            }
+            w.totalNanos += wallNanos;
+            w.maxNanos = Math.max(w.maxNanos, wallNanos);
+            w.sqlCount += profile.sqlCount;
+            w.sqlNanos += profile.sqlNanos;
+            w.connectionWaitNanos += profile.connectionWaitNanos;
+            w.hashingNanos += profile.hashingNanos;
+            w.serializationNanos += profile.serializationNanos;
+            w.buckets[bucket(wallNanos / 1_000_000)]++;
+        }
+
+        // Current and previous window merged, or null when both have expired
+        synchronized Window snapshot(long windowIndex) {
+            Window merged = new Window(windowIndex);
+            if (current != null && current.index >= windowIndex - 1) {
+                merged.add(current);
+            }
+            if (previous != null && previous.index >= windowIndex - 1) {
+                merged.add(previous);
+            }
+            return merged.count > 0 ? merged : null;
+        }
+    }
+
+    /**
+     * Account a finished request; logs it if it was slow
+     */
+    public void record(String endpoint, RequestProfile profile, int status) {
+        long wallNanos = System.nanoTime() - profile.startedAt;
+        long windowIndex = System.currentTimeMillis() / windowMs;
+
+        EndpointStats stats = endpoints.get(endpoint);
+        if (stats == null) {
+            String key = endpoints.size() < maxEndpoints ? endpoint : "other";
+            stats = endpoints.computeIfAbsent(key, k -> new EndpointStats());
+        }
+        stats.record(windowIndex, profile, wallNanos, status >= 500);
+
+        if (wallNanos >= slowThresholdMs * 1_000_000) {
+            logSlow(endpoint, profile, wallNanos, status);
+        }
+    }
+
+    private void logSlow(String endpoint, RequestProfile profile, long wallNanos, int status) {
+        if (!slowLog.isWarnEnabled()) {
+            return;
+        }
+        StringBuilder top = new StringBuilder();
+        for (Map<String, Object> statement : profile.topStatements()) {
+            top.append("\n    ").append(String.format("%8.1f ms  ", (Double) statement.get("ms"))).append(statement.get("sql"));
+        }
+        slowLog.warn("Slow request {} status={} total={}ms sql={} ({}ms) connectionWait={}ms ({} acquires) hashing={}ms serialization={}ms other={}ms{}",
+                endpoint, status, ms(wallNanos), profile.sqlCount, ms(profile.sqlNanos),
+                ms(profile.connectionWaitNanos), profile.connectionAcquires, ms(profile.hashingNanos),
+                ms(profile.serializationNanos),
+                // Lazy loads during serialization count as both SQL and serialization
+                ms(Math.max(0, wallNanos - profile.sqlNanos - profile.connectionWaitNanos - profile.hashingNanos - profile.serializationNanos)),
+                top);
+    }
+
+    /**
+     * Slowest endpoints over the rolling window, by "avg", "p95", "max" or "total" time
+     */
+    public List<Map<String, Object>> topEndpoints(int limit, String sort) {
+        long windowIndex = System.currentTimeMillis() / windowMs;
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Map.Entry<String, EndpointStats> entry : endpoints.entrySet()) {
+            Window w = entry.getValue().snapshot(windowIndex);
+            if (w != null) {
+                rows.add(row(entry.getKey(), w));
+            }
+        }
+        String key = switch (sort == null ? "avg" : sort) {
+            case "max" -> "maxMs";
+            case "p95" -> "p95Ms";
+            case "total" -> "totalMs";
+            default -> "avgMs";
+        };
+        rows.sort(Comparator.comparingDouble((Map<String, Object> row) -> ((Number) row.get(key)).doubleValue()).reversed());
+        return rows.size() > limit ? new ArrayList<>(rows.subList(0, Math.max(0, limit))) : rows;
+    }
+
+    private Map<String, Object> row(String endpoint, Window w) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("endpoint", endpoint);
+        row.put("count", w.count);
+        row.put("errors", w.errors);
+        row.put("avgMs", ms(w.totalNanos / w.count));
+        row.put("p95Ms", percentileMs(w, 0.95));
+        row.put("maxMs", ms(w.maxNanos));
+        row.put("totalMs", ms(w.totalNanos));
+        row.put("avgSqlStatements", (double) w.sqlCount / w.count);
+        row.put("avgSqlMs", ms(w.sqlNanos / w.count));
+        row.put("avgConnectionWaitMs", ms(w.connectionWaitNanos / w.count));
+        row.put("avgHashingMs", ms(w.hashingNanos / w.count));
+        row.put("avgSerializationMs", ms(w.serializationNanos / w.count));
+        return row;
+    }
+
+    // Upper bound of the histogram bucket holding the percentile (the max for the open bucket)
+    private static double percentileMs(Window w, double percentile) {
+        long rank = (long) Math.ceil(w.count * percentile);
+        long seen = 0;
+        for (int i = 0; i < w.buckets.length; i++) {
+            seen += w.buckets[i];
+            if (seen >= rank) {
+                return i < BUCKET_BOUNDS_MS.length ? Math.min(BUCKET_BOUNDS_MS[i], ms(w.maxNanos)) : ms(w.maxNanos);
+            }
+        }
+        return ms(w.maxNanos);
+    }
+
+    private static int bucket(long millis) {
+        for (int i = 0; i < BUCKET_BOUNDS_MS.length; i++) {
+            if (millis <= BUCKET_BOUNDS_MS[i]) {
+                return i;
+            }
+        }
+        return BUCKET_BOUNDS_MS.length;
+    }
+
+    private static double ms(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
@@ -0,0 +1,31 @@
+package com.project.inklink.profiling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * The Smile converter, with response writing charged to the request's profile like
+ * {@link TimedJackson2HttpMessageConverter}
+ */
+public class TimedSmileHttpMessageConverter extends MappingJackson2SmileHttpMessageConverter {
+
+    public TimedSmileHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        long start = System.nanoTime();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            RequestProfile.recordSerialization(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.project.inklink.repository;
+
+import com.project.inklink.entity.Follow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface FollowRepository extends JpaRepository<Follow, Long> {
+
+    // Check if follower already follows followee
+    Boolean existsByFollowerIdAndFolloweeId(Long followerId, Long followeeId);
+
+    // Remove a single follow edge without loading it first
+    @Modifying
+    @Query("DELETE FROM Follow f WHERE f.follower.id = :followerId AND f.followee.id = :followeeId")
+    int deleteEdge(@Param("followerId") Long followerId, @Param("followeeId") Long followeeId);
+
+    // All edges as (followerId, followeeId) pairs, used to build the in-memory graph
+    @Query("SELECT f.follower.id, f.followee.id FROM Follow f")
+    List<Object[]> findAllEdges();
+}
@@ -0,0 +1,14 @@
+package com.project.inklink.repository;
+
+import com.project.inklink.entity.OutboxEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxEntry, Long> {
+
+    // Entries not yet delivered, including ones waiting for a retry
+    @Query("SELECT COUNT(o) FROM OutboxEntry o WHERE o.deliveredAt IS NULL")
+    long countPending();
+}
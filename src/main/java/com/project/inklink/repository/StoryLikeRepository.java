@@ -1,11 +1,14 @@
 package com.project.inklink.repository;
 
 import com.project.inklink.entity.StoryLike;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -20,9 +23,14 @@ public interface StoryLikeRepository extends JpaRepository<StoryLike, Long> {
     // Delete like by story and user
     void deleteByStoryIdAndUserId(Long storyId, Long userId);
 
-    // Delete all likes for a story
-    void deleteByStoryId(Long storyId);
-
     // Check if like exists
     Boolean existsByStoryIdAndUserId(Long storyId, Long userId);
-}
\ No newline at end of file
+
+    // Which of the given stories the user has liked, in one query
+    @Query("SELECT l.story.id FROM StoryLike l WHERE l.user.id = :userId AND l.story.id IN :storyIds")
+    List<Long> findLikedStoryIds(@Param("userId") Long userId, @Param("storyIds") Collection<Long> storyIds);
+
+    // The user's most recently liked story ids
+    @Query("SELECT l.story.id FROM StoryLike l WHERE l.user.id = :userId ORDER BY l.id DESC")
+    List<Long> findRecentLikedStoryIds(@Param("userId") Long userId, Pageable pageable);
+}
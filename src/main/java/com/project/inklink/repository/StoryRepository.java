@@ -7,11 +7,13 @@ import com.project.inklink.entity.enums.StoryStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -32,10 +34,10 @@ public interface StoryRepository extends JpaRepository<Story, Long> {
     // FIXED: Find stories by genre and status with pagination - Use StoryGenre enum instead of String
     Page<Story> findByGenreAndStatus(StoryGenre genre, StoryStatus status, Pageable pageable);
 
-    // FIXED: Search published stories by title or content - Renamed to match StoryService
+    // Search published stories by title or content (through the plain text in story_search)
     @Query("SELECT s FROM Story s WHERE s.status = 'PUBLISHED' AND " +
-            "(LOWER(s.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(s.content) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
+            "(LOWER(s.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR s.id IN " +
+            "(SELECT ss.storyId FROM StorySearch ss WHERE LOWER(ss.searchText) LIKE LOWER(CONCAT('%', :searchTerm, '%'))))")
     Page<Story> searchStories(@Param("searchTerm") String searchTerm, Pageable pageable);
 
     // Find most popular stories (by read count)
@@ -86,4 +88,60 @@ public interface StoryRepository extends JpaRepository<Story, Long> {
 
     // Find stories by author and status with pagination
     Page<Story> findByAuthorAndStatus(User author, StoryStatus status, Pageable pageable);
-}
\ No newline at end of file
+
+    // (id, publishedAt) of the newest published stories by any of the given authors (feed hydration)
+    @Query("SELECT s.id, s.publishedAt FROM Story s WHERE s.author.id IN :authorIds AND s.status = 'PUBLISHED' " +
+            "ORDER BY s.publishedAt DESC, s.id DESC")
+    List<Object[]> findPublishedFeedEntriesByAuthorIds(@Param("authorIds") Collection<Long> authorIds,
+                                                      Pageable pageable);
+
+    // (storyId, genre, tagId) rows for every published story, tagId is null for untagged stories
+    @Query("SELECT s.id, s.genre, t.id FROM Story s LEFT JOIN s.tags t WHERE s.status = 'PUBLISHED'")
+    List<Object[]> findPublishedStoryTagRows();
+
+    // (storyId, genre, status, tagId) rows for a single story
+    @Query("SELECT s.id, s.genre, s.status, t.id FROM Story s LEFT JOIN s.tags t WHERE s.id = :id")
+    List<Object[]> findStoryTagRows(@Param("id") Long id);
+
+    // (status, count) for every status, used by the listing total counters
+    @Query("SELECT s.status, COUNT(s) FROM Story s GROUP BY s.status")
+    List<Object[]> countGroupedByStatus();
+
+    // (genre, count) over published stories
+    @Query("SELECT s.genre, COUNT(s) FROM Story s WHERE s.status = 'PUBLISHED' GROUP BY s.genre")
+    List<Object[]> countPublishedGroupedByGenre();
+
+    // (tag name, count) over published stories
+    @Query("SELECT t.name, COUNT(s) FROM Story s JOIN s.tags t WHERE s.status = 'PUBLISHED' GROUP BY t.name")
+    List<Object[]> countPublishedGroupedByTag();
+
+    // (status, genre) of each given story, for adjusting the listing totals before a delete
+    @Query("SELECT s.status, s.genre FROM Story s WHERE s.id IN :ids")
+    List<Object[]> findStatusAndGenreByIds(@Param("ids") Collection<Long> ids);
+
+    // Tag names of the given stories that are published, once per story and tag
+    @Query("SELECT t.name FROM Story s JOIN s.tags t WHERE s.id IN :ids AND s.status = 'PUBLISHED'")
+    List<String> findPublishedTagNamesByIds(@Param("ids") Collection<Long> ids);
+
+    // Published stories carrying the tag
+    @Query("SELECT COUNT(s) FROM Story s JOIN s.tags t WHERE t.id = :tagId AND s.status = 'PUBLISHED'")
+    long countPublishedByTagId(@Param("tagId") Long tagId);
+
+    // (id, genre, createdAt, readCount, likeCount) for every published story, for the genre indexes
+    @Query("SELECT s.id, s.genre, s.createdAt, s.readCount, s.likeCount FROM Story s WHERE s.status = 'PUBLISHED'")
+    List<Object[]> findPublishedSortKeys();
+
+    // Count a read of a published story in place, without loading it
+    @Modifying
+    @Query("UPDATE Story s SET s.readCount = s.readCount + 1 WHERE s.id = :id AND s.status = 'PUBLISHED'")
+    int incrementPublishedReadCount(@Param("id") Long id);
+
+    // Count a read in place whatever the status, without loading it
+    @Modifying
+    @Query("UPDATE Story s SET s.readCount = s.readCount + 1 WHERE s.id = :id")
+    int incrementReadCount(@Param("id") Long id);
+
+    // (genre, status, createdAt, readCount, likeCount) for a single story
+    @Query("SELECT s.genre, s.status, s.createdAt, s.readCount, s.likeCount FROM Story s WHERE s.id = :id")
+    List<Object[]> findSortKeys(@Param("id") Long id);
+}
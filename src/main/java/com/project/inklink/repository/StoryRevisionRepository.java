@@ -0,0 +1,36 @@
+package com.project.inklink.repository;
+
+import com.project.inklink.entity.StoryRevision;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StoryRevisionRepository extends JpaRepository<StoryRevision, Long> {
+
+    // Latest revision number of a story, null if it has none
+    @Query("SELECT MAX(r.revisionNumber) FROM StoryRevision r WHERE r.story.id = :storyId")
+    Integer findLatestRevisionNumber(@Param("storyId") Long storyId);
+
+    // Revision metadata without the data blobs: (revisionNumber, snapshot, contentHash, createdAt, editorId)
+    @Query("SELECT r.revisionNumber, r.snapshot, r.contentHash, r.createdAt, e.id " +
+            "FROM StoryRevision r LEFT JOIN r.editor e WHERE r.story.id = :storyId ORDER BY r.revisionNumber DESC")
+    List<Object[]> findSummariesByStoryId(@Param("storyId") Long storyId);
+
+    // Nearest snapshot at or before a revision
+    Optional<StoryRevision> findTopByStoryIdAndSnapshotTrueAndRevisionNumberLessThanEqualOrderByRevisionNumberDesc(
+            Long storyId, Integer revisionNumber);
+
+    // Revisions in a range, oldest first
+    List<StoryRevision> findByStoryIdAndRevisionNumberBetweenOrderByRevisionNumberAsc(
+            Long storyId, Integer fromRevision, Integer toRevision);
+
+    @Modifying
+    @Query("DELETE FROM StoryRevision r WHERE r.story.id = :storyId")
+    int deleteByStoryId(@Param("storyId") Long storyId);
+}
@@ -0,0 +1,18 @@
+package com.project.inklink.repository;
+
+import com.project.inklink.entity.StorySearch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StorySearchRepository extends JpaRepository<StorySearch, Long> {
+
+    // Insert or replace a story's search text in one statement
+    @Modifying
+    @Query(value = "INSERT INTO story_search (story_id, search_text) VALUES (:storyId, :searchText) " +
+            "ON DUPLICATE KEY UPDATE search_text = :searchText", nativeQuery = true)
+    void upsert(@Param("storyId") Long storyId, @Param("searchText") String searchText);
+}
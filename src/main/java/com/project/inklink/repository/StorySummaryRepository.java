@@ -0,0 +1,50 @@
+package com.project.inklink.repository;
+
+import com.project.inklink.entity.StorySummary;
+import com.project.inklink.entity.enums.StoryGenre;
+import com.project.inklink.entity.enums.StoryStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// Listing queries. These never select the content column, and return Slice so no COUNT query
+// runs: size + 1 rows are fetched to work out hasNext. Totals come from StoryCountService.
+// Each one joins the author into the same select; left to the EAGER mapping, Hibernate would
+// run a separate select for every distinct author on the page.
+@Repository
+public interface StorySummaryRepository extends JpaRepository<StorySummary, Long> {
+
+    // Find stories by status
+    @EntityGraph(attributePaths = "author")
+    Slice<StorySummary> findByStatus(StoryStatus status, Pageable pageable);
+
+    // Find stories by genre and status
+    @EntityGraph(attributePaths = "author")
+    Slice<StorySummary> findByGenreAndStatus(StoryGenre genre, StoryStatus status, Pageable pageable);
+
+    // Search published stories by title or content (through the plain text in story_search)
+    @EntityGraph(attributePaths = "author")
+    @Query("SELECT s FROM StorySummary s WHERE s.status = 'PUBLISHED' AND " +
+            "(LOWER(s.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR s.id IN " +
+            "(SELECT ss.storyId FROM StorySearch ss WHERE LOWER(ss.searchText) LIKE LOWER(CONCAT('%', :searchTerm, '%'))))")
+    Slice<StorySummary> searchStories(@Param("searchTerm") String searchTerm, Pageable pageable);
+
+    // Find published stories with a tag
+    @EntityGraph(attributePaths = "author")
+    @Query("SELECT s FROM StorySummary s JOIN s.tags t WHERE s.status = 'PUBLISHED' AND t.name = :tagName")
+    Slice<StorySummary> findByTagName(@Param("tagName") String tagName, Pageable pageable);
+
+    // Find stories by author, newest first
+    @EntityGraph(attributePaths = "author")
+    List<StorySummary> findByAuthorIdOrderByCreatedAtDesc(Long authorId);
+
+    // Find stories by author and status, newest first
+    @EntityGraph(attributePaths = "author")
+    List<StorySummary> findByAuthorIdAndStatusOrderByCreatedAtDesc(Long authorId, StoryStatus status);
+}
@@ -66,4 +66,12 @@ public interface TagRepository extends JpaRepository<Tag, Long> {
     // Find related tags (tags that appear together in stories)
     @Query("SELECT DISTINCT t2 FROM Tag t1 JOIN t1.stories s1 JOIN s1.tags t2 WHERE t1 = :tag AND t2 != :tag")
     List<Tag> findRelatedTags(@Param("tag") Tag tag);
-}
\ No newline at end of file
+
+    // (id, name) pairs for all tags
+    @Query("SELECT t.id, t.name FROM Tag t")
+    List<Object[]> findAllIdAndName();
+
+    // (id, name, published story count) for the suggestion index
+    @Query("SELECT t.id, t.name, COUNT(s) FROM Tag t LEFT JOIN t.stories s ON s.status = 'PUBLISHED' GROUP BY t.id, t.name")
+    List<Object[]> findAllWithPublishedStoryCount();
+}
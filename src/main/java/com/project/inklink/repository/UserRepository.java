@@ -2,9 +2,11 @@ package com.project.inklink.repository;
 
 import com.project.inklink.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -24,6 +26,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Check if email exists
     Boolean existsByEmail(String email);
 
+    // Swap in a rehashed password, unless it was changed in the meantime
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id AND u.password = :previous")
+    int replacePassword(@Param("id") Long id, @Param("previous") String previous, @Param("password") String password);
+
     // Find users by role
     List<User> findByRole(String role);
 
@@ -38,4 +46,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Find active users (users who have published stories)
     @Query("SELECT DISTINCT u FROM User u JOIN u.stories s WHERE s.status = 'PUBLISHED'")
     List<User> findActiveUsers();
-}
\ No newline at end of file
+
+    // (id, username, published story count) for the suggestion index
+    @Query("SELECT u.id, u.username, COUNT(s) FROM User u LEFT JOIN u.stories s ON s.status = 'PUBLISHED' GROUP BY u.id, u.username")
+    List<Object[]> findAllWithPublishedStoryCount();
+}
@@ -0,0 +1,86 @@
+package com.project.inklink.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sign-in rate limits, checked before any password is hashed. Each client IP gets a number of
+ * attempts per window; each account a number of failed attempts per window, cleared by a
+ * successful sign-in. Counters are fixed windows kept in memory, so limits are per instance.
+ */
+@Component
+public class LoginThrottle {
+
+    @Value("${app.auth.throttle.ip-max-attempts:30}")
+    private int ipMaxAttempts;
+
+    @Value("${app.auth.throttle.account-max-failures:5}")
+    private int accountMaxFailures;
+
+    @Value("${app.auth.throttle.window-ms:300000}")
+    private long windowMs;
+
+    private static final class Window {
+        final long startedAt;
+        final AtomicInteger count = new AtomicInteger();
+
+        Window(long startedAt) {
+            this.startedAt = startedAt;
+        }
+    }
+
+    private final Map<String, Window> attemptsByIp = new ConcurrentHashMap<>();
+    private final Map<String, Window> failuresByAccount = new ConcurrentHashMap<>();
+
+    /**
+     * Count an attempt from this IP and return how many seconds the caller has to wait,
+     * or 0 when the attempt may go ahead
+     */
+    public long tryAcquire(String ip, String login) {
+        long now = System.currentTimeMillis();
+        Window account = current(failuresByAccount, accountKey(login), now);
+        if (account.count.get() >= accountMaxFailures) {
+            return retryAfterSeconds(account, now);
+        }
+        Window byIp = current(attemptsByIp, ip, now);
+        if (byIp.count.incrementAndGet() > ipMaxAttempts) {
+            return retryAfterSeconds(byIp, now);
+        }
+        return 0;
+    }
+
+    public void onFailure(String login) {
+        current(failuresByAccount, accountKey(login), System.currentTimeMillis()).count.incrementAndGet();
+    }
+
+    public void onSuccess(String login) {
+        failuresByAccount.remove(accountKey(login));
+    }
+
+    private Window current(Map<String, Window> windows, String key, long now) {
+        return windows.compute(key, (k, window) ->
+                window == null || now - window.startedAt >= windowMs ? new Window(now) : window);
+    }
+
+    private long retryAfterSeconds(Window window, long now) {
+        return Math.max(1, (window.startedAt + windowMs - now + 999) / 1000);
+    }
+
+    private static String accountKey(String login) {
+        return login == null ? "" : login.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Drop windows that have run out
+    @Scheduled(fixedDelayString = "${app.auth.throttle.window-ms:300000}")
+    public void prune() {
+        long cutoff = System.currentTimeMillis() - windowMs;
+        attemptsByIp.values().removeIf(window -> window.startedAt <= cutoff);
+        failuresByAccount.values().removeIf(window -> window.startedAt <= cutoff);
+    }
+}
@@ -0,0 +1,99 @@
+package com.project.inklink.security;
+
+import com.project.inklink.repository.UserRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Session user id to {@link SessionUser}, so authenticating a request does not cost a users
+ * lookup. Entries expire after a short TTL, are evicted when the user changes, and at most
+ * max-size are kept (least recently used out). The result is also memoized on the request, so
+ * the filter and the controller share one resolution.
+ */
+@Component
+public class PrincipalCache {
+
+    private static final String REQUEST_ATTRIBUTE = PrincipalCache.class.getName() + ".user";
+
+    // Marks "resolved, nobody signed in" on the request
+    private static final Object ANONYMOUS = new Object();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${app.principal-cache.ttl-ms:60000}")
+    private long ttlMs;
+
+    @Value("${app.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    private record Entry(SessionUser user, long expiresAt) {}
+
+    // Access-ordered, so once maxSize is reached the least recently used user goes first
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    /**
+     * The signed-in user for this request, or null. Resolved at most once per request.
+     */
+    public SessionUser resolve(HttpServletRequest request) {
+        Object memo = request.getAttribute(REQUEST_ATTRIBUTE);
+        if (memo != null) {
+            return memo == ANONYMOUS ? null : (SessionUser) memo;
+        }
+
+        SessionUser user = null;
+        HttpSession session = request.getSession(false);
+        if (session != null) {
+            Long userId = (Long) session.getAttribute("userId");
+            if (userId != null) {
+                user = get(userId).orElse(null);
+                if (user == null) {
+                    // Account is gone
+                    session.removeAttribute("userId");
+                }
+            }
+        }
+        request.setAttribute(REQUEST_ATTRIBUTE, user != null ? user : ANONYMOUS);
+        return user;
+    }
+
+    public Optional<SessionUser> get(Long userId) {
+        long now = System.currentTimeMillis();
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(userId);
+        }
+        if (entry != null && entry.expiresAt() > now) {
+            return Optional.of(entry.user());
+        }
+
+        Optional<SessionUser> user = userRepository.findById(userId).map(SessionUser::of);
+        synchronized (entries) {
+            if (user.isPresent()) {
+                entries.put(userId, new Entry(user.get(), now + ttlMs));
+            } else {
+                entries.remove(userId);
+            }
+        }
+        return user;
+    }
+
+    // Called after a change to the user's name, email or role commits
+    public void evict(Long userId) {
+        synchronized (entries) {
+            entries.remove(userId);
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package com.project.inklink.security;
 
-import com.project.inklink.entity.User;
-import com.project.inklink.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -13,16 +13,16 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import jakarta.servlet.http.HttpSession;
 import java.io.IOException;
 import java.util.Collections;
-import java.util.Optional;
 
 @Component
 public class SessionAuthFilter extends OncePerRequestFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(SessionAuthFilter.class);
+
     @Autowired
-    private UserService userService;
+    private PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -37,40 +37,17 @@ public class SessionAuthFilter extends OncePerRequestFilter {
             return;
         }
 
-        System.out.println("DEBUG: SessionAuthFilter checking: " + requestUri);
-
-        HttpSession session = request.getSession(false);
-
-        if (session != null) {
-            System.out.println("DEBUG: Session found: " + session.getId());
-
-            Long userId = (Long) session.getAttribute("userId");
-            if (userId != null) {
-                System.out.println("DEBUG: User ID found in session: " + userId);
-
-                Optional<User> user = userService.getUserById(userId);
-                if (user.isPresent()) {
-                    System.out.println("DEBUG: User loaded from DB: " + user.get().getUsername());
-
-                    UsernamePasswordAuthenticationToken authentication =
-                            new UsernamePasswordAuthenticationToken(
-                                    user.get().getUsername(),
-                                    null,
-                                    Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.get().getRole()))
-                            );
-
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                    System.out.println("DEBUG: Authentication set for user: " + user.get().getUsername());
-                } else {
-                    System.out.println("DEBUG: User not found in database for ID: " + userId);
-                    session.removeAttribute("userId");
-                }
-            } else {
-                System.out.println("DEBUG: No userId attribute found in session");
-            }
-        } else {
-            System.out.println("DEBUG: No session found for: " + requestUri);
-            // Don't block the request - let it through without authentication
+        SessionUser user = principalCache.resolve(request);
+        if (user != null) {
+            UsernamePasswordAuthenticationToken authentication =
+                    new UsernamePasswordAuthenticationToken(
+                            user.username(),
+                            null,
+                            Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.role()))
+                    );
+
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+            log.debug("Authenticated user {} for {}", user.id(), requestUri);
         }
 
         filterChain.doFilter(request, response);
@@ -0,0 +1,19 @@
+package com.project.inklink.security;
+
+import com.project.inklink.entity.User;
+import com.project.inklink.entity.enums.UserRole;
+
+/**
+ * The signed-in user as controllers see it: the few fields needed for ownership and role checks.
+ * Load the {@link User} entity only where it is modified or attached to another entity.
+ */
+public record SessionUser(Long id, String username, String email, UserRole role) {
+
+    public static SessionUser of(User user) {
+        return new SessionUser(user.getId(), user.getUsername(), user.getEmail(), user.getRole());
+    }
+
+    public boolean isAdmin() {
+        return role == UserRole.ADMIN;
+    }
+}
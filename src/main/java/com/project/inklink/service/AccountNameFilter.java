@@ -0,0 +1,218 @@
+package com.project.inklink.service;
+
+import com.project.inklink.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bloom filters over every taken username and email (trimmed, lower-cased), so an availability
+ * check for a free name is answered without a users query; only possible hits go on to the
+ * unique-index lookup. Names are added as soon as they are written, before the commit, so the
+ * filters never miss a taken name on this instance.
+ *
+ * Bloom filters cannot forget: renamed and deleted names stay in the filters as false positives
+ * (which still fall through to the database) until the next rebuild. The filters are rebuilt
+ * from the users table periodically, when too many stale entries have accumulated or when they
+ * fill past the size they were built for. Until the first build finishes every check goes to
+ * the database. Other instances' signups reach these filters at the next rebuild; the unique
+ * indexes still reject a duplicate insert.
+ */
+@Service
+public class AccountNameFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountNameFilter.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.account-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    // Sized for this many times the current user count, so growth does not force early rebuilds
+    @Value("${app.account-filter.headroom:2.0}")
+    private double headroom;
+
+    @Value("${app.account-filter.min-capacity:100000}")
+    private long minCapacity;
+
+    // Rebuild once renamed/deleted names reach this fraction of the capacity
+    @Value("${app.account-filter.max-stale-ratio:0.1}")
+    private double maxStaleRatio;
+
+    // Names written shortly before or during a rebuild may not be visible to its scan yet
+    @Value("${app.account-filter.replay-window-ms:60000}")
+    private long replayWindowMs;
+
+    private record Filters(BloomFilter usernames, BloomFilter emails, long capacity) {}
+
+    private record RecentName(long addedAt, String username, String email) {}
+
+    private volatile Filters current;
+
+    // Filters being built; writes go to both so nothing is lost in the swap
+    private volatile Filters building;
+
+    private final Deque<RecentName> recentNames = new ConcurrentLinkedDeque<>();
+
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    private final AtomicLong added = new AtomicLong();
+    private final AtomicLong stale = new AtomicLong();
+    private final AtomicLong skippedLookups = new AtomicLong();
+    private final AtomicLong fallThroughs = new AtomicLong();
+    private volatile long lastBuiltAt;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(cron = "${app.account-filter.rebuild-cron:0 45 3 * * *}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Load every username and email into fresh filters and swap them in
+     */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        Long users = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        long capacity = Math.max(minCapacity, (long) ((users != null ? users : 0) * headroom));
+        Filters next = new Filters(new BloomFilter(capacity, falsePositiveRate),
+                new BloomFilter(capacity, falsePositiveRate), capacity);
+
+        building = next;
+        long[] loaded = {0};
+        jdbcTemplate.query("SELECT username, email FROM users", rs -> {
+            next.usernames().add(normalize(rs.getString(1)));
+            next.emails().add(normalize(rs.getString(2)));
+            loaded[0]++;
+        });
+        // Uncommitted at scan time, or committed after it started
+        for (RecentName name : recentNames) {
+            add(name.username(), name.email(), next);
+        }
+        current = next;
+        building = null;
+
+        added.set(loaded[0]);
+        stale.set(0);
+        lastBuiltAt = System.currentTimeMillis();
+        log.info("Account name filters built: {} users, capacity {}, {} ms",
+                loaded[0], capacity, lastBuiltAt - start);
+    }
+
+    /**
+     * False only when no account has this username
+     */
+    public boolean mightHaveUsername(String username) {
+        Filters filters = current;
+        return check(filters == null || filters.usernames().mightContain(normalize(username)));
+    }
+
+    /**
+     * False only when no account has this email
+     */
+    public boolean mightHaveEmail(String email) {
+        Filters filters = current;
+        return check(filters == null || filters.emails().mightContain(normalize(email)));
+    }
+
+    // Call as the account is written, before the transaction commits
+    public void onUserSaved(String username, String email) {
+        long now = System.currentTimeMillis();
+        recentNames.addLast(new RecentName(now, username, email));
+        RecentName oldest;
+        while ((oldest = recentNames.peekFirst()) != null && oldest.addedAt() < now - replayWindowMs) {
+            recentNames.pollFirst();
+        }
+        // Building filters first: a rebuild swaps them in before it clears the field
+        add(username, email, building);
+        add(username, email, current);
+        if (added.incrementAndGet() > capacity()) {
+            rebuildLater();
+        }
+    }
+
+    // A previous username or email was replaced or the account deleted
+    public void onNameReleased() {
+        if (stale.incrementAndGet() > capacity() * maxStaleRatio) {
+            rebuildLater();
+        }
+    }
+
+    private void add(String username, String email, Filters filters) {
+        if (filters == null) {
+            return;
+        }
+        if (username != null) {
+            filters.usernames().add(normalize(username));
+        }
+        if (email != null) {
+            filters.emails().add(normalize(email));
+        }
+    }
+
+    private boolean check(boolean mightContain) {
+        (mightContain ? fallThroughs : skippedLookups).incrementAndGet();
+        return mightContain;
+    }
+
+    private long capacity() {
+        Filters filters = current;
+        return filters != null ? filters.capacity() : Long.MAX_VALUE;
+    }
+
+    private void rebuildLater() {
+        if (!rebuildPending.compareAndSet(false, true)) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                log.error("Account name filter rebuild failed", e);
+            } finally {
+                rebuildPending.set(false);
+            }
+        }, "account-filter-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Fill level, stale entries and how many lookups were answered without the database
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        Filters filters = current;
+        stats.put("ready", filters != null);
+        stats.put("capacity", filters != null ? filters.capacity() : 0);
+        stats.put("added", added.get());
+        stats.put("stale", stale.get());
+        stats.put("skippedLookups", skippedLookups.get());
+        stats.put("fallThroughs", fallThroughs.get());
+        stats.put("lastBuiltAt", lastBuiltAt);
+        return stats;
+    }
+}
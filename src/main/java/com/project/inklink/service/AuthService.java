@@ -7,10 +7,8 @@ import com.project.inklink.repository.UserRepository;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
 
 @Service
 public class AuthService {
@@ -18,25 +16,13 @@ public class AuthService {
     @Autowired
     private UserRepository userRepository;
 
-    @Autowired
-    private PasswordEncoder passwordEncoder;
-
     @Autowired
     private UserService userService;
 
     // Authentication methods
     public User authenticate(String username, String password) {
-        // Try username first, then email
-        Optional<User> user = userRepository.findByUsername(username);
-        if (user.isEmpty()) {
-            user = userRepository.findByEmail(username);
-        }
-
-        if (user.isPresent() && passwordEncoder.matches(password, user.get().getPassword())) {
-            return user.get();
-        }
-
-        throw new RuntimeException("Invalid username or password");
+        return userService.authenticate(username, password)
+                .orElseThrow(() -> new RuntimeException("Invalid username or password"));
     }
 
     public User register(String username, String email, String password) {
@@ -88,7 +74,7 @@ public class AuthService {
 
     // Password management
     public boolean validateCurrentPassword(User user, String currentPassword) {
-        return passwordEncoder.matches(currentPassword, user.getPassword());
+        return userService.validatePassword(currentPassword, user.getPassword());
     }
 
     public User changeUserPassword(User user, String newPassword) {
@@ -0,0 +1,129 @@
+package com.project.inklink.service;
+
+import com.project.inklink.entity.StorySummary;
+import com.project.inklink.entity.User;
+import com.project.inklink.entity.enums.StoryStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Multi-get for stories and users, each read with one IN query. Stories are fetched together with
+ * their author and tags; users go through Hibernate's multi-load, which serves any already in the
+ * persistence context from there. Items keep the requested order, duplicates collapse to the
+ * first occurrence, and ids that were not found are listed under missing.
+ */
+@Service
+@Transactional(readOnly = true)
+public class BatchLookupService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private LikeStatusService likeStatusService;
+
+    @Value("${app.batch.max-ids:100}")
+    private int maxIds;
+
+    /**
+     * Found items in request order, plus the ids that were not
+     */
+    public record BatchResult<T>(List<T> items, List<Long> missing) {}
+
+    /**
+     * Story cards (no content) for published stories, and for the caller's own drafts
+     */
+    public BatchResult<StorySummary> getStories(List<Long> ids, Long userId) {
+        List<Long> requested = distinct(ids);
+
+        // Authors and tags come in the same query, so neither costs a select per story
+        Map<Long, StorySummary> byId = new HashMap<>();
+        for (StorySummary story : entityManager.createQuery(
+                        "SELECT DISTINCT s FROM StorySummary s LEFT JOIN FETCH s.author LEFT JOIN FETCH s.tags " +
+                                "WHERE s.id IN :ids", StorySummary.class)
+                .setParameter("ids", requested)
+                .getResultList()) {
+            byId.put(story.getId(), story);
+        }
+
+        List<StorySummary> items = new ArrayList<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : requested) {
+            StorySummary story = byId.get(id);
+            if (story == null || !isVisible(story, userId)) {
+                missing.add(id);
+                continue;
+            }
+            items.add(story);
+        }
+        likeStatusService.markLiked(items, userId);
+        return new BatchResult<>(items, missing);
+    }
+
+    /**
+     * Public profile fields of each user, the same as GET /api/users/{id} without the email
+     */
+    public BatchResult<Map<String, Object>> getUsers(List<Long> ids) {
+        List<Long> requested = distinct(ids);
+        List<User> loaded = multiLoad(User.class, requested);
+
+        List<Map<String, Object>> items = new ArrayList<>();
+        List<Long> missing = new ArrayList<>();
+        for (int i = 0; i < requested.size(); i++) {
+            User user = loaded.get(i);
+            if (user == null) {
+                missing.add(requested.get(i));
+                continue;
+            }
+            Map<String, Object> userInfo = new LinkedHashMap<>();
+            userInfo.put("id", user.getId());
+            userInfo.put("username", user.getUsername());
+            userInfo.put("role", user.getRole());
+            userInfo.put("profilePicture", user.getProfilePicture());
+            userInfo.put("createdAt", user.getCreatedAt());
+            items.add(userInfo);
+        }
+        return new BatchResult<>(items, missing);
+    }
+
+    private boolean isVisible(StorySummary story, Long userId) {
+        return story.getStatus() == StoryStatus.PUBLISHED
+                || (userId != null && story.getAuthor() != null && userId.equals(story.getAuthor().getId()));
+    }
+
+    // Requested ids without nulls and repeats, in order; rejects more than the configured limit
+    private List<Long> distinct(List<Long> ids) {
+        Set<Long> unique = new LinkedHashSet<>(ids);
+        unique.remove(null);
+        if (unique.isEmpty()) {
+            throw new IllegalArgumentException("No ids given");
+        }
+        if (unique.size() > maxIds) {
+            throw new IllegalArgumentException("At most " + maxIds + " ids per request");
+        }
+        return new ArrayList<>(unique);
+    }
+
+    // One entry per id in the same order, null where there is no such entity
+    private <T> List<T> multiLoad(Class<T> type, List<Long> ids) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(type)
+                .enableSessionCheck(true)
+                .enableOrderedReturn(true)
+                .withBatchSize(ids.size())
+                .multiLoad(ids);
+    }
+}
@@ -0,0 +1,121 @@
+package com.project.inklink.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Set-based deletes for stories and users. Dependent rows are removed children first with
+ * DELETE ... LIMIT statements, one round trip per chunk, instead of loading every like and
+ * comment as an entity and deleting it by id. Runs in the caller's transaction.
+ */
+@Service
+@Transactional
+public class BulkDeleteService {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.bulk-delete.chunk-size:5000}")
+    private int chunkSize;
+
+    // Story ids per pass when deleting a user's stories
+    @Value("${app.bulk-delete.story-batch-size:100}")
+    private int storyBatchSize;
+
+    /**
+     * Delete a story with its likes, comments, revisions and tag links
+     */
+    public void deleteStory(Long storyId) {
+        entityManager.flush();
+        deleteStories(List.of(storyId));
+        entityManager.clear();
+    }
+
+    /**
+     * Delete a user and everything attached to them. Returns the ids of the user's deleted stories.
+     */
+    public List<Long> deleteUser(Long userId) {
+        entityManager.flush();
+
+        List<Long> storyIds = jdbcTemplate.queryForList(
+                "SELECT id FROM stories WHERE author_id = ? ORDER BY id", Long.class, userId);
+        for (int from = 0; from < storyIds.size(); from += storyBatchSize) {
+            deleteStories(storyIds.subList(from, Math.min(from + storyBatchSize, storyIds.size())));
+        }
+
+        deleteLikesByUser(userId);
+        deleteInChunks("DELETE FROM comments WHERE user_id = ?", userId);
+        deleteInChunks("DELETE FROM follows WHERE follower_id = ?", userId);
+        deleteInChunks("DELETE FROM follows WHERE followee_id = ?", userId);
+        jdbcTemplate.update("UPDATE story_revisions SET editor_id = NULL WHERE editor_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+
+        // Rows are gone underneath any entities the persistence context still holds
+        entityManager.clear();
+        return storyIds;
+    }
+
+    private void deleteStories(List<Long> storyIds) {
+        if (storyIds.isEmpty()) {
+            return;
+        }
+        String in = placeholders(storyIds.size());
+        Object[] ids = storyIds.toArray();
+
+        deleteInChunks("DELETE FROM story_likes WHERE story_id IN (" + in + ")", ids);
+        deleteInChunks("DELETE FROM comments WHERE story_id IN (" + in + ")", ids);
+        deleteInChunks("DELETE FROM story_revisions WHERE story_id IN (" + in + ")", ids);
+        jdbcTemplate.update("DELETE FROM story_tags WHERE story_id IN (" + in + ")", ids);
+        jdbcTemplate.update("DELETE FROM story_search WHERE story_id IN (" + in + ")", ids);
+        jdbcTemplate.update("DELETE FROM stories WHERE id IN (" + in + ")", ids);
+    }
+
+    // Likes the user gave: take the like count back off each story, then drop the rows
+    private void deleteLikesByUser(Long userId) {
+        while (true) {
+            List<Long[]> chunk = jdbcTemplate.query(
+                    "SELECT id, story_id FROM story_likes WHERE user_id = ? ORDER BY id LIMIT ?",
+                    (rs, rowNum) -> new Long[]{rs.getLong(1), rs.getLong(2)}, userId, chunkSize);
+            if (chunk.isEmpty()) {
+                return;
+            }
+            String likeIds = chunk.stream().map(row -> row[0].toString()).collect(Collectors.joining(","));
+            String storyIds = chunk.stream().map(row -> row[1].toString()).collect(Collectors.joining(","));
+            // Ids come from the query above, so inlining them is safe; both statements go as one batch
+            jdbcTemplate.batchUpdate(
+                    "UPDATE stories SET like_count = GREATEST(like_count - 1, 0) WHERE id IN (" + storyIds + ")",
+                    "DELETE FROM story_likes WHERE id IN (" + likeIds + ")");
+            if (chunk.size() < chunkSize) {
+                return;
+            }
+        }
+    }
+
+    // Repeat a DELETE ... LIMIT until it removes less than a full chunk
+    private int deleteInChunks(String sql, Object... args) {
+        String chunked = sql + " LIMIT " + chunkSize;
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(chunked, args);
+            total += deleted;
+        } while (deleted == chunkSize);
+        return total;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+}
@@ -4,11 +4,14 @@ import com.project.inklink.entity.Comment;
 import com.project.inklink.entity.Story;
 import com.project.inklink.entity.User;
 import com.project.inklink.entity.enums.UserRole;
+import com.project.inklink.event.CommentAdded;
+import com.project.inklink.event.DomainEventBus;
 import com.project.inklink.repository.CommentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -19,7 +22,11 @@ public class CommentService {
     @Autowired
     private CommentRepository commentRepository;
 
+    @Autowired
+    private DomainEventBus eventBus;
+
     // Basic CRUD operations
+    @Transactional(readOnly = true)
     public List<Comment> getAllComments() {
         return commentRepository.findAll();
     }
@@ -28,18 +35,22 @@ public class CommentService {
         return commentRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
     public Comment getCommentWithDetails(Long id) {
         return commentRepository.findByIdWithUserAndStory(id)
                 .orElseThrow(() -> new RuntimeException("Comment not found"));
     }
 
+    @Transactional
     public Comment createComment(Comment comment) {
         // Validate that user hasn't already commented too much on this story
         if (hasUserCommentedRecently(comment.getUser(), comment.getStory())) {
             throw new RuntimeException("You have commented recently on this story. Please wait before commenting again.");
         }
 
-        return commentRepository.save(comment);
+        Comment saved = commentRepository.save(comment);
+        eventBus.publish(new CommentAdded(saved.getId(), saved.getStory().getId(), saved.getUser().getId()));
+        return saved;
     }
 
     public Comment updateComment(Long commentId, String newContent) {
@@ -55,42 +66,51 @@ public class CommentService {
     }
 
     // Story-related operations
+    @Transactional(readOnly = true)
     public List<Comment> getStoryComments(Story story) {
         return commentRepository.findByStoryOrderByCreatedAtDesc(story);
     }
 
+    @Transactional(readOnly = true)
     public Page<Comment> getStoryComments(Story story, Pageable pageable) {
         return commentRepository.findByStory(story, pageable);
     }
 
+    @Transactional(readOnly = true)
     public List<Comment> getStoryCommentsWithUsers(Story story) {
         return commentRepository.findByStoryWithUser(story);
     }
 
+    @Transactional(readOnly = true)
     public Long getStoryCommentCount(Story story) {
         return commentRepository.countByStory(story);
     }
 
     // User-related operations
+    @Transactional(readOnly = true)
     public List<Comment> getUserComments(User user) {
         return commentRepository.findByUser(user);
     }
 
+    @Transactional(readOnly = true)
     public Page<Comment> getUserComments(User user, Pageable pageable) {
         return commentRepository.findByUser(user, pageable);
     }
 
+    @Transactional(readOnly = true)
     public Long getUserCommentCount(User user) {
         return commentRepository.countByUser(user);
     }
 
     // Authorization checks
+    @Transactional(readOnly = true)
     public boolean isCommentAuthor(Long commentId, Long userId) {
         return commentRepository.findById(commentId)
                 .map(comment -> comment.getUser().getId().equals(userId))
                 .orElse(false);
     }
 
+    @Transactional(readOnly = true)
     public boolean canDeleteComment(Long commentId, User user) {
         return commentRepository.findById(commentId)
                 .map(comment ->
@@ -118,11 +138,13 @@ public class CommentService {
     }
 
     // Recent activity
+    @Transactional(readOnly = true)
     public Page<Comment> getRecentComments(Pageable pageable) {
         return commentRepository.findRecentComments(pageable);
     }
 
     // Analytics
+    @Transactional(readOnly = true)
     public Long getTotalCommentCount() {
         return commentRepository.count();
     }
@@ -0,0 +1,84 @@
+package com.project.inklink.service;
+
+import com.project.inklink.util.ContentCompression;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Rewrites story content stored before compression was introduced, a small batch at a time,
+ * walking the table by id. Each row is only updated if it has not been edited since it was read,
+ * so it is safe to run while the application is serving traffic.
+ */
+@Service
+public class ContentCompressionMigrator {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentCompressionMigrator.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.compression.migration.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.compression.migration.batch-size:200}")
+    private int batchSize;
+
+    private volatile long lastId = 0;
+    private volatile boolean finished = false;
+    private long migratedRows = 0;
+    private long bytesBefore = 0;
+    private long bytesAfter = 0;
+
+    private record LegacyRow(long id, byte[] content, Timestamp updatedAt) {}
+
+    @Scheduled(fixedDelayString = "${app.compression.migration.delay-ms:1000}")
+    public void migrateNextBatch() {
+        if (!enabled || finished) {
+            return;
+        }
+
+        // ASCII() returns the first byte; legacy rows start with text, never with a format byte
+        List<LegacyRow> rows = jdbcTemplate.query(
+                "SELECT id, content, updated_at FROM stories " +
+                        "WHERE id > ? AND LENGTH(content) >= ? AND ASCII(content) > 1 " +
+                        "ORDER BY id LIMIT ?",
+                (rs, rowNum) -> new LegacyRow(rs.getLong("id"), rs.getBytes("content"), rs.getTimestamp("updated_at")),
+                lastId, ContentCompression.DEFAULT_THRESHOLD_BYTES, batchSize);
+
+        if (rows.isEmpty()) {
+            finished = true;
+            log.info("Story content compression finished: {} rows, {} -> {} bytes", migratedRows, bytesBefore, bytesAfter);
+            return;
+        }
+
+        for (LegacyRow row : rows) {
+            byte[] encoded = ContentCompression.encode(ContentCompression.decode(row.content()));
+            int updated = jdbcTemplate.update(
+                    // <=> so rows without an updated_at still match
+                    "UPDATE stories SET content = ? WHERE id = ? AND updated_at <=> ?",
+                    encoded, row.id(), row.updatedAt());
+            if (updated == 1) {
+                migratedRows++;
+                bytesBefore += row.content().length;
+                bytesAfter += encoded.length;
+            }
+            lastId = row.id();
+        }
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public long getMigratedRows() {
+        return migratedRows;
+    }
+}
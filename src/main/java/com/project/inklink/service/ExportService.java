@@ -0,0 +1,237 @@
+package com.project.inklink.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.inklink.util.ContentCompression;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streams everything a user has written: their stories (with content), their comments and the
+ * stories they liked. Rows are read through forward-only JDBC cursors with a fetch size and
+ * written to the response as they arrive, so memory use does not grow with the account.
+ * All queries run in one read-only transaction, which gives them a consistent snapshot.
+ */
+@Service
+public class ExportService {
+
+    private static final String STORIES_SQL =
+            "SELECT id, title, content, genre, status, read_count, like_count, created_at, updated_at " +
+                    "FROM stories WHERE author_id = ? ORDER BY id";
+
+    private static final String STORY_TAGS_SQL =
+            "SELECT st.story_id, t.name FROM story_tags st " +
+                    "JOIN tags t ON t.id = st.tag_id JOIN stories s ON s.id = st.story_id " +
+                    "WHERE s.author_id = ?";
+
+    private static final String COMMENTS_SQL =
+            "SELECT c.id, c.story_id, s.title, c.content, c.created_at FROM comments c " +
+                    "JOIN stories s ON s.id = c.story_id WHERE c.user_id = ? ORDER BY c.id";
+
+    private static final String LIKES_SQL =
+            "SELECT l.story_id, s.title, l.liked_at FROM story_likes l " +
+                    "JOIN stories s ON s.id = l.story_id WHERE l.user_id = ? ORDER BY l.id";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Needs useCursorFetch=true on the MySQL URL, otherwise the driver buffers the whole result
+    @Value("${app.export.fetch-size:100}")
+    private int fetchSize;
+
+    public enum Format { NDJSON, ZIP }
+
+    /**
+     * Write the export for a user to the stream in the given format
+     */
+    public void export(Long userId, Format format, OutputStream out) throws IOException {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.setFetchSize(fetchSize);
+
+        try {
+            transaction.executeWithoutResult(status -> {
+                try {
+                    if (format == Format.ZIP) {
+                        writeZip(jdbc, userId, out);
+                    } else {
+                        writeNdjson(jdbc, userId, out);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // One JSON object per line: stories first, then comments, then likes
+    private void writeNdjson(JdbcTemplate jdbc, Long userId, OutputStream out) throws IOException {
+        JsonGenerator json = newGenerator(out);
+        Map<Long, List<String>> tags = loadTags(jdbc, userId);
+
+        jdbc.query(STORIES_SQL, rs -> {
+            Map<String, Object> story = storyRecord(rs, tags);
+            story.put("content", ContentCompression.decode(rs.getBytes("content")));
+            write(json, story);
+        }, userId);
+        streamComments(jdbc, userId, json);
+        streamLikes(jdbc, userId, json);
+
+        json.writeRaw('\n');
+        json.close();
+    }
+
+    // One Markdown file per story plus comments.ndjson and likes.ndjson
+    private void writeZip(JdbcTemplate jdbc, Long userId, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        Map<Long, List<String>> tags = loadTags(jdbc, userId);
+
+        jdbc.query(STORIES_SQL, rs -> {
+            Map<String, Object> story = storyRecord(rs, tags);
+            String content = ContentCompression.decode(rs.getBytes("content"));
+            try {
+                zip.putNextEntry(new ZipEntry("stories/" + story.get("id") + "-" + slug((String) story.get("title")) + ".md"));
+                zip.write(toMarkdown(story, content).getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, userId);
+
+        zip.putNextEntry(new ZipEntry("comments.ndjson"));
+        JsonGenerator comments = newGenerator(zip);
+        streamComments(jdbc, userId, comments);
+        comments.writeRaw('\n');
+        comments.flush();
+        zip.closeEntry();
+
+        zip.putNextEntry(new ZipEntry("likes.ndjson"));
+        JsonGenerator likes = newGenerator(zip);
+        streamLikes(jdbc, userId, likes);
+        likes.writeRaw('\n');
+        likes.flush();
+        zip.closeEntry();
+
+        zip.finish();
+        zip.flush();
+    }
+
+    private void streamComments(JdbcTemplate jdbc, Long userId, JsonGenerator json) {
+        jdbc.query(COMMENTS_SQL, rs -> {
+            Map<String, Object> comment = new LinkedHashMap<>();
+            comment.put("type", "comment");
+            comment.put("id", rs.getLong("id"));
+            comment.put("storyId", rs.getLong("story_id"));
+            comment.put("storyTitle", rs.getString("title"));
+            comment.put("content", rs.getString("content"));
+            comment.put("createdAt", timestamp(rs, "created_at"));
+            write(json, comment);
+        }, userId);
+    }
+
+    private void streamLikes(JdbcTemplate jdbc, Long userId, JsonGenerator json) {
+        jdbc.query(LIKES_SQL, rs -> {
+            Map<String, Object> like = new LinkedHashMap<>();
+            like.put("type", "like");
+            like.put("storyId", rs.getLong("story_id"));
+            like.put("storyTitle", rs.getString("title"));
+            like.put("likedAt", timestamp(rs, "liked_at"));
+            write(json, like);
+        }, userId);
+    }
+
+    // Tag names per story; small compared to the content, so read up front
+    private Map<Long, List<String>> loadTags(JdbcTemplate jdbc, Long userId) {
+        Map<Long, List<String>> tags = new HashMap<>();
+        jdbc.query(STORY_TAGS_SQL, rs -> {
+            tags.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getString(2));
+        }, userId);
+        return tags;
+    }
+
+    private Map<String, Object> storyRecord(ResultSet rs, Map<Long, List<String>> tags) throws SQLException {
+        Map<String, Object> story = new LinkedHashMap<>();
+        long id = rs.getLong("id");
+        story.put("type", "story");
+        story.put("id", id);
+        story.put("title", rs.getString("title"));
+        story.put("genre", rs.getString("genre"));
+        story.put("status", rs.getString("status"));
+        story.put("tags", tags.getOrDefault(id, List.of()));
+        story.put("readCount", rs.getInt("read_count"));
+        story.put("likeCount", rs.getInt("like_count"));
+        story.put("createdAt", timestamp(rs, "created_at"));
+        story.put("updatedAt", timestamp(rs, "updated_at"));
+        return story;
+    }
+
+    private static String toMarkdown(Map<String, Object> story, String content) {
+        StringBuilder markdown = new StringBuilder();
+        markdown.append("---\n");
+        markdown.append("title: \"").append(((String) story.get("title")).replace("\"", "\\\"")).append("\"\n");
+        markdown.append("genre: ").append(story.get("genre")).append('\n');
+        markdown.append("status: ").append(story.get("status")).append('\n');
+        markdown.append("tags: ").append(story.get("tags")).append('\n');
+        markdown.append("createdAt: ").append(story.get("createdAt")).append('\n');
+        markdown.append("updatedAt: ").append(story.get("updatedAt")).append('\n');
+        markdown.append("---\n\n");
+        markdown.append("# ").append(story.get("title")).append("\n\n");
+        markdown.append(content).append('\n');
+        return markdown.toString();
+    }
+
+    private JsonGenerator newGenerator(OutputStream out) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(out);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        json.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        return json;
+    }
+
+    private void write(JsonGenerator json, Map<String, Object> record) {
+        try {
+            objectMapper.writeValue(json, record);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String timestamp(ResultSet rs, String column) throws SQLException {
+        Timestamp value = rs.getTimestamp(column);
+        return value != null ? value.toLocalDateTime().toString() : null;
+    }
+
+    private static String slug(String title) {
+        String slug = title == null ? "" : title.toLowerCase().replaceAll("[^a-z0-9]+", "-").replaceAll("(^-|-$)", "");
+        return slug.isEmpty() ? "untitled" : slug.substring(0, Math.min(slug.length(), 60));
+    }
+}
@@ -0,0 +1,229 @@
+package com.project.inklink.service;
+
+import com.project.inklink.entity.StorySummary;
+import com.project.inklink.entity.enums.StoryStatus;
+import com.project.inklink.event.DomainEvent;
+import com.project.inklink.event.DomainEventConsumer;
+import com.project.inklink.event.StoryPublished;
+import com.project.inklink.repository.StoryRepository;
+import com.project.inklink.repository.StorySummaryRepository;
+import com.project.inklink.util.TimelineBuffer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Personalized home timelines.
+ *
+ * Stories by normal authors are pushed into each follower's timeline when published
+ * (fan-out-on-write). Authors with at least {@code app.feed.fanout-threshold} followers only keep
+ * a ring of their own recent stories, which is merged into the follower's timeline when the feed
+ * is read (fan-out-on-read). Timelines are bounded buffers of (publishedAt, story id) entries,
+ * ordered by publish time, and are built from the database the first time a user reads their
+ * feed. Pages are cut with a (publishedAt, id) cursor.
+ */
+@Service
+public class FeedService implements DomainEventConsumer {
+
+    @Autowired
+    private FollowService followService;
+
+    @Autowired
+    private StoryRepository storyRepository;
+
+    @Autowired
+    private StorySummaryRepository storySummaryRepository;
+
+    @Autowired
+    private LikeStatusService likeStatusService;
+
+    @Value("${app.feed.timeline-size:200}")
+    private int timelineSize;
+
+    @Value("${app.feed.fanout-threshold:5000}")
+    private int fanoutThreshold;
+
+    @Value("${app.feed.max-page-size:50}")
+    private int maxPageSize;
+
+    // userId -> recent stories from the normal authors they follow
+    private final Map<Long, TimelineBuffer> timelines = new ConcurrentHashMap<>();
+
+    // authorId -> recent stories, only for fan-out-on-read authors
+    private final Map<Long, TimelineBuffer> authorStories = new ConcurrentHashMap<>();
+
+    public boolean isFanoutOnRead(Long authorId) {
+        return followService.getFollowerCount(authorId) >= fanoutThreshold;
+    }
+
+    // Published stories arrive on the event bus thread, after the transaction committed
+    @Override
+    public boolean accepts(DomainEvent event) {
+        return event instanceof StoryPublished;
+    }
+
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            StoryPublished published = (StoryPublished) event;
+            fanOut(published.storyId(), published.authorId(), toMillis(published.publishedAt()));
+        }
+    }
+
+    private void fanOut(long storyId, long authorId, long publishedAt) {
+        if (isFanoutOnRead(authorId)) {
+            // Cold author buffers are loaded from the database on first read and will include this story
+            TimelineBuffer stories = authorStories.get(authorId);
+            if (stories != null) {
+                stories.add(publishedAt, storyId);
+            }
+            return;
+        }
+
+        // Only timelines already in memory are updated, cold ones are rebuilt on read
+        for (long followerId : followService.getFollowerIds(authorId)) {
+            TimelineBuffer timeline = timelines.get(followerId);
+            if (timeline != null) {
+                timeline.add(publishedAt, storyId);
+            }
+        }
+    }
+
+    // Drop a user's timeline so it is rebuilt from the database, e.g. after a follow change
+    public void invalidateTimeline(Long userId) {
+        timelines.remove(userId);
+    }
+
+    /**
+     * Page through a user's feed, newest first. The cursor is the nextCursor of the previous
+     * page ("publishedAtMillis:storyId"); pass null for the first page.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getFeed(Long userId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        long[] before = parseCursor(cursor);
+        long[] followingIds = followService.getFollowingIds(userId);
+
+        // Merge the user's own timeline with the buffers of the fan-out-on-read authors they follow
+        List<long[][]> sources = new ArrayList<>();
+        sources.add(timelines.computeIfAbsent(userId, id -> loadTimeline(followingIds)).snapshot());
+        for (long authorId : followingIds) {
+            if (isFanoutOnRead(authorId)) {
+                sources.add(authorStories.computeIfAbsent(authorId, this::loadAuthorStories).snapshot());
+            }
+        }
+
+        long[][] candidates = mergeBefore(sources, before[0], before[1]);
+        int take = Math.min(candidates[1].length, pageSize + 1);
+        List<Long> ids = new ArrayList<>(take);
+        for (int i = 0; i < take; i++) {
+            ids.add(candidates[1][i]);
+        }
+        boolean hasMore = ids.size() > pageSize;
+        if (hasMore) {
+            ids = ids.subList(0, pageSize);
+        }
+        String nextCursor = hasMore ? candidates[0][pageSize - 1] + ":" + candidates[1][pageSize - 1] : null;
+
+        // Multi-get, keep feed order, and drop stories that were unpublished or whose author was unfollowed
+        Map<Long, StorySummary> byId = new HashMap<>();
+        for (StorySummary story : storySummaryRepository.findAllById(ids)) {
+            byId.put(story.getId(), story);
+        }
+        List<StorySummary> stories = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            StorySummary story = byId.get(id);
+            if (story != null && story.getStatus() == StoryStatus.PUBLISHED
+                    && Arrays.binarySearch(followingIds, story.getAuthor().getId()) >= 0) {
+                stories.add(story);
+            }
+        }
+
+        likeStatusService.markLiked(stories, userId);
+
+        Map<String, Object> page = new HashMap<>();
+        page.put("stories", stories);
+        page.put("nextCursor", nextCursor);
+        page.put("hasMore", hasMore);
+        return page;
+    }
+
+    private TimelineBuffer loadTimeline(long[] followingIds) {
+        List<Long> authorIds = new ArrayList<>();
+        for (long authorId : followingIds) {
+            if (!isFanoutOnRead(authorId)) {
+                authorIds.add(authorId);
+            }
+        }
+        return loadBuffer(authorIds);
+    }
+
+    private TimelineBuffer loadAuthorStories(Long authorId) {
+        return loadBuffer(List.of(authorId));
+    }
+
+    private TimelineBuffer loadBuffer(List<Long> authorIds) {
+        TimelineBuffer buffer = new TimelineBuffer(timelineSize);
+        if (authorIds.isEmpty()) {
+            return buffer;
+        }
+        for (Object[] row : storyRepository.findPublishedFeedEntriesByAuthorIds(
+                authorIds, PageRequest.of(0, timelineSize))) {
+            buffer.add(toMillis((LocalDateTime) row[1]), (Long) row[0]);
+        }
+        return buffer;
+    }
+
+    // Distinct entries older than the cursor across all sources, newest first: [0] times, [1] ids
+    private long[][] mergeBefore(List<long[][]> sources, long beforeTime, long beforeId) {
+        List<long[]> entries = new ArrayList<>();
+        for (long[][] source : sources) {
+            for (int i = 0; i < source[1].length; i++) {
+                if (TimelineBuffer.isNewer(beforeTime, beforeId, source[0][i], source[1][i])) {
+                    entries.add(new long[]{source[0][i], source[1][i]});
+                }
+            }
+        }
+        entries.sort((a, b) -> a[0] != b[0] ? Long.compare(b[0], a[0]) : Long.compare(b[1], a[1]));
+
+        long[][] result = new long[2][entries.size()];
+        int size = 0;
+        for (long[] entry : entries) {
+            if (size == 0 || result[1][size - 1] != entry[1]) {
+                result[0][size] = entry[0];
+                result[1][size] = entry[1];
+                size++;
+            }
+        }
+        return new long[][]{Arrays.copyOf(result[0], size), Arrays.copyOf(result[1], size)};
+    }
+
+    // "publishedAtMillis:storyId"; null means the start of the feed
+    private static long[] parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return new long[]{Long.MAX_VALUE, Long.MAX_VALUE};
+        }
+        int colon = cursor.indexOf(':');
+        try {
+            return new long[]{Long.parseLong(cursor.substring(0, colon)), Long.parseLong(cursor.substring(colon + 1))};
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid feed cursor: " + cursor);
+        }
+    }
+
+    // Stories published before publishedAt was recorded (or events from before it existed) sort as now
+    private static long toMillis(LocalDateTime publishedAt) {
+        return (publishedAt != null ? publishedAt : LocalDateTime.now()).toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
@@ -0,0 +1,120 @@
+package com.project.inklink.service;
+
+import com.project.inklink.entity.Follow;
+import com.project.inklink.entity.User;
+import com.project.inklink.repository.FollowRepository;
+import com.project.inklink.repository.UserRepository;
+import com.project.inklink.util.LongAdjacencyList;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import static com.project.inklink.util.TransactionCallbacks.afterCommit;
+
+/**
+ * Follow relationships. The follows table is the source of truth; both directions of the graph
+ * are mirrored in memory so feed building never has to query it. The mirror is only changed
+ * once the follow or unfollow has committed.
+ */
+@Service
+@Transactional
+public class FollowService {
+
+    @Autowired
+    private FollowRepository followRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // followerId -> ids of users they follow
+    private final LongAdjacencyList following = new LongAdjacencyList();
+
+    // followeeId -> ids of their followers
+    private final LongAdjacencyList followers = new LongAdjacencyList();
+
+    // Load the whole graph once the application is up
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadGraph() {
+        following.clear();
+        followers.clear();
+        for (Object[] edge : followRepository.findAllEdges()) {
+            long followerId = (Long) edge[0];
+            long followeeId = (Long) edge[1];
+            following.add(followerId, followeeId);
+            followers.add(followeeId, followerId);
+        }
+    }
+
+    /**
+     * Follow a user, returns false if the follow already existed
+     */
+    public boolean follow(Long followerId, Long followeeId) {
+        if (followerId.equals(followeeId)) {
+            throw new RuntimeException("You cannot follow yourself");
+        }
+        if (followRepository.existsByFollowerIdAndFolloweeId(followerId, followeeId)) {
+            return false;
+        }
+
+        User follower = userRepository.findById(followerId)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + followerId));
+        User followee = userRepository.findById(followeeId)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + followeeId));
+
+        followRepository.save(new Follow(follower, followee));
+
+        afterCommit(() -> {
+            following.add(followerId, followeeId);
+            followers.add(followeeId, followerId);
+        });
+        return true;
+    }
+
+    /**
+     * Unfollow a user, returns false if there was nothing to remove
+     */
+    public boolean unfollow(Long followerId, Long followeeId) {
+        int deleted = followRepository.deleteEdge(followerId, followeeId);
+
+        afterCommit(() -> {
+            following.remove(followerId, followeeId);
+            followers.remove(followeeId, followerId);
+        });
+        return deleted > 0;
+    }
+
+    public boolean isFollowing(Long followerId, Long followeeId) {
+        return following.contains(followerId, followeeId);
+    }
+
+    public long[] getFollowingIds(Long userId) {
+        return following.neighbours(userId);
+    }
+
+    public long[] getFollowerIds(Long userId) {
+        return followers.neighbours(userId);
+    }
+
+    public int getFollowerCount(Long userId) {
+        return followers.degree(userId);
+    }
+
+    public int getFollowingCount(Long userId) {
+        return following.degree(userId);
+    }
+
+    // Drop every edge touching a user from the in-memory graph
+    public void removeUser(Long userId) {
+        for (long followeeId : following.neighbours(userId)) {
+            followers.remove(followeeId, userId);
+        }
+        for (long followerId : followers.neighbours(userId)) {
+            following.remove(followerId, userId);
+        }
+        following.removeNode(userId);
+        followers.removeNode(userId);
+    }
+}
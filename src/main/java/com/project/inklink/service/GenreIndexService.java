@@ -0,0 +1,241 @@
+package com.project.inklink.service;
+
+import com.project.inklink.entity.StorySummary;
+import com.project.inklink.entity.enums.StoryGenre;
+import com.project.inklink.entity.enums.StoryStatus;
+import com.project.inklink.repository.StoryRepository;
+import com.project.inklink.repository.StorySummaryRepository;
+import com.project.inklink.util.RankedLongIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * In-memory orderings of published story ids per genre, one per supported sort key, so a genre
+ * listing page is an array slice plus a multi-get by id instead of a filesort in MySQL.
+ *
+ * StoryService reports every save, delete and counter change after commit. The indexes are
+ * built on startup, and a scheduled check rebuilds them from the database, logs any drift and
+ * swaps the fresh copy in. Changes that arrive while a rebuild is reading are replayed onto it.
+ */
+@Service
+public class GenreIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(GenreIndexService.class);
+
+    @Autowired
+    private StoryRepository storyRepository;
+
+    @Autowired
+    private StorySummaryRepository storySummaryRepository;
+
+    public enum SortKey {
+        CREATED_AT("createdAt"),
+        READ_COUNT("readCount"),
+        LIKE_COUNT("likeCount");
+
+        private final String property;
+
+        SortKey(String property) {
+            this.property = property;
+        }
+
+        static SortKey fromProperty(String property) {
+            for (SortKey key : values()) {
+                if (key.property.equals(property)) {
+                    return key;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static class Indexes {
+        final Map<StoryGenre, Map<SortKey, RankedLongIndex>> byGenre = new EnumMap<>(StoryGenre.class);
+        final Map<Long, StoryGenre> genreById = new ConcurrentHashMap<>();
+
+        Indexes() {
+            for (StoryGenre genre : StoryGenre.values()) {
+                Map<SortKey, RankedLongIndex> byKey = new EnumMap<>(SortKey.class);
+                for (SortKey key : SortKey.values()) {
+                    byKey.put(key, new RankedLongIndex());
+                }
+                byGenre.put(genre, byKey);
+            }
+        }
+
+        void put(long id, StoryGenre genre, long createdAt, long readCount, long likeCount) {
+            StoryGenre previous = genreById.put(id, genre);
+            if (previous != null && previous != genre) {
+                byGenre.get(previous).values().forEach(index -> index.remove(id));
+            }
+            Map<SortKey, RankedLongIndex> byKey = byGenre.get(genre);
+            byKey.get(SortKey.CREATED_AT).put(id, createdAt);
+            byKey.get(SortKey.READ_COUNT).put(id, readCount);
+            byKey.get(SortKey.LIKE_COUNT).put(id, likeCount);
+        }
+
+        void remove(long id) {
+            StoryGenre genre = genreById.remove(id);
+            if (genre != null) {
+                byGenre.get(genre).values().forEach(index -> index.remove(id));
+            }
+        }
+    }
+
+    private volatile Indexes indexes = new Indexes();
+    private volatile boolean ready = false;
+
+    // Non-null while a rebuild is loading; changes are recorded here and replayed onto the new copy
+    private List<Consumer<Indexes>> changesDuringRebuild;
+
+    private final Object rebuildLock = new Object();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    /**
+     * Rebuild from the database and swap in, returns how many genre/sort orderings had drifted
+     */
+    @Transactional(readOnly = true)
+    public int rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                changesDuringRebuild = new ArrayList<>();
+            }
+
+            Indexes fresh = new Indexes();
+            for (Object[] row : storyRepository.findPublishedSortKeys()) {
+                fresh.put((Long) row[0], (StoryGenre) row[1], epochMillis((LocalDateTime) row[2]),
+                        toLong(row[3]), toLong(row[4]));
+            }
+
+            synchronized (this) {
+                for (Consumer<Indexes> change : changesDuringRebuild) {
+                    change.accept(fresh);
+                }
+                changesDuringRebuild = null;
+                int drifted = ready ? countDrift(indexes, fresh) : 0;
+                indexes = fresh;
+                ready = true;
+                return drifted;
+            }
+        }
+    }
+
+    // Consistency check against the database, repairs by swapping in the rebuilt copy
+    @Scheduled(cron = "${app.genre-index.check-cron:0 15 3 * * *}")
+    public void checkConsistency() {
+        int drifted = rebuild();
+        if (drifted > 0) {
+            log.warn("Genre index had drifted from the database in {} orderings, rebuilt", drifted);
+        } else {
+            log.info("Genre index consistent with the database");
+        }
+    }
+
+    /**
+     * Record a story's current values after a save or counter change commits
+     */
+    public void onStoryChanged(Long storyId, StoryGenre genre, StoryStatus status,
+                               LocalDateTime createdAt, int readCount, int likeCount) {
+        if (status == StoryStatus.PUBLISHED && genre != null) {
+            long created = epochMillis(createdAt);
+            apply(target -> target.put(storyId, genre, created, readCount, likeCount));
+        } else {
+            apply(target -> target.remove(storyId));
+        }
+    }
+
+    public void onStoryDeleted(Long storyId) {
+        apply(target -> target.remove(storyId));
+    }
+
+    /**
+     * A page of published stories in the genre, or empty if the sort is not indexed (or the
+     * index is still loading) and the caller should query the database instead
+     */
+    @Transactional(readOnly = true)
+    public Optional<Slice<StorySummary>> findPublishedByGenre(StoryGenre genre, Pageable pageable) {
+        Sort.Order order = pageable.getSort().stream().findFirst().orElse(null);
+        SortKey key = order != null ? SortKey.fromProperty(order.getProperty()) : SortKey.CREATED_AT;
+        if (!ready || key == null || pageable.getSort().stream().count() > 1) {
+            return Optional.empty();
+        }
+
+        RankedLongIndex index = indexes.byGenre.get(genre).get(key);
+        long[] ids = index.slice((int) pageable.getOffset(), pageable.getPageSize() + 1,
+                order != null && order.isAscending());
+        boolean hasNext = ids.length > pageable.getPageSize();
+        long[] pageIds = hasNext ? Arrays.copyOf(ids, pageable.getPageSize()) : ids;
+
+        List<Long> idList = new ArrayList<>(pageIds.length);
+        for (long id : pageIds) {
+            idList.add(id);
+        }
+        Map<Long, StorySummary> byId = new HashMap<>();
+        for (StorySummary story : storySummaryRepository.findAllById(idList)) {
+            byId.put(story.getId(), story);
+        }
+        List<StorySummary> stories = new ArrayList<>(pageIds.length);
+        for (long id : pageIds) {
+            StorySummary story = byId.get(id);
+            if (story != null && story.getStatus() == StoryStatus.PUBLISHED) {
+                stories.add(story);
+            }
+        }
+        return Optional.of(new SliceImpl<>(stories, pageable, hasNext));
+    }
+
+    private synchronized void apply(Consumer<Indexes> change) {
+        change.accept(indexes);
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+    }
+
+    private static int countDrift(Indexes current, Indexes fresh) {
+        int drifted = 0;
+        for (StoryGenre genre : StoryGenre.values()) {
+            for (SortKey key : SortKey.values()) {
+                RankedLongIndex a = current.byGenre.get(genre).get(key);
+                RankedLongIndex b = fresh.byGenre.get(genre).get(key);
+                if (!Arrays.equals(a.slice(0, a.size(), false), b.slice(0, b.size(), false))) {
+                    drifted++;
+                }
+            }
+        }
+        return drifted;
+    }
+
+    private static long epochMillis(LocalDateTime time) {
+        return time != null ? time.toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+}
@@ -0,0 +1,178 @@
+package com.project.inklink.service;
+
+import com.project.inklink.entity.StorySummary;
+import com.project.inklink.repository.StoryLikeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Answers "which of these stories has this user liked" for list pages.
+ *
+ * Each active user's most recent likes are cached as a sorted long array, in an LRU map bounded
+ * by user count. If a user has no more likes than the cache holds, the cached array is their
+ * complete set and no query is needed; otherwise ids not in the array are checked with a single
+ * IN query.
+ */
+@Service
+public class LikeStatusService {
+
+    @Autowired
+    private StoryLikeRepository storyLikeRepository;
+
+    @Value("${app.likes.cache.max-users:10000}")
+    private int maxUsers;
+
+    @Value("${app.likes.cache.recent-per-user:500}")
+    private int recentPerUser;
+
+    private static final class UserLikes {
+        long[] storyIds; // sorted
+        final boolean complete; // true if these are all of the user's likes
+
+        UserLikes(long[] storyIds, boolean complete) {
+            this.storyIds = storyIds;
+            this.complete = complete;
+        }
+
+        boolean contains(long storyId) {
+            return Arrays.binarySearch(storyIds, storyId) >= 0;
+        }
+    }
+
+    private final Map<Long, UserLikes> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, UserLikes> eldest) {
+            return size() > maxUsers;
+        }
+    };
+
+    // Bumped on every like change, so a load that raced with a change is not cached
+    private long generation = 0;
+
+    /**
+     * Ids among storyIds that the user has liked
+     */
+    @Transactional(readOnly = true)
+    public Set<Long> findLiked(Long userId, Collection<Long> storyIds) {
+        Set<Long> liked = new HashSet<>();
+        if (userId == null || storyIds.isEmpty()) {
+            return liked;
+        }
+
+        UserLikes likes = getUserLikes(userId);
+        List<Long> unknown = new ArrayList<>();
+        synchronized (likes) {
+            for (Long storyId : storyIds) {
+                if (likes.contains(storyId)) {
+                    liked.add(storyId);
+                } else if (!likes.complete) {
+                    unknown.add(storyId);
+                }
+            }
+        }
+
+        if (!unknown.isEmpty()) {
+            liked.addAll(storyLikeRepository.findLikedStoryIds(userId, unknown));
+        }
+        return liked;
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isLiked(Long userId, Long storyId) {
+        return findLiked(userId, List.of(storyId)).contains(storyId);
+    }
+
+    /**
+     * Set the liked flag on a page of stories for the given user (anonymous callers get false)
+     */
+    @Transactional(readOnly = true)
+    public void markLiked(Collection<StorySummary> stories, Long userId) {
+        if (userId == null) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(stories.size());
+        for (StorySummary story : stories) {
+            ids.add(story.getId());
+        }
+        Set<Long> liked = findLiked(userId, ids);
+        for (StorySummary story : stories) {
+            story.setLiked(liked.contains(story.getId()));
+        }
+    }
+
+    // Keep a cached user up to date, called after the like or unlike commits
+    public void onLikeChanged(Long userId, Long storyId, boolean liked) {
+        UserLikes likes;
+        synchronized (cache) {
+            generation++;
+            likes = cache.get(userId);
+        }
+        if (likes == null) {
+            return;
+        }
+        synchronized (likes) {
+            int position = Arrays.binarySearch(likes.storyIds, storyId);
+            if (liked && position < 0) {
+                if (likes.storyIds.length >= recentPerUser) {
+                    // Over the bound: drop the entry and reload on next use
+                    synchronized (cache) {
+                        cache.remove(userId);
+                    }
+                    return;
+                }
+                int insertAt = -position - 1;
+                long[] updated = new long[likes.storyIds.length + 1];
+                System.arraycopy(likes.storyIds, 0, updated, 0, insertAt);
+                updated[insertAt] = storyId;
+                System.arraycopy(likes.storyIds, insertAt, updated, insertAt + 1, likes.storyIds.length - insertAt);
+                likes.storyIds = updated;
+            } else if (!liked && position >= 0) {
+                long[] updated = new long[likes.storyIds.length - 1];
+                System.arraycopy(likes.storyIds, 0, updated, 0, position);
+                System.arraycopy(likes.storyIds, position + 1, updated, position, updated.length - position);
+                likes.storyIds = updated;
+            }
+        }
+    }
+
+    private UserLikes getUserLikes(Long userId) {
+        long startGeneration;
+        synchronized (cache) {
+            UserLikes cached = cache.get(userId);
+            if (cached != null) {
+                return cached;
+            }
+            startGeneration = generation;
+        }
+
+        // Fetch one more than we keep to learn whether this is the complete set
+        List<Long> recent = storyLikeRepository.findRecentLikedStoryIds(userId, PageRequest.of(0, recentPerUser + 1));
+        boolean complete = recent.size() <= recentPerUser;
+        long[] storyIds = new long[Math.min(recent.size(), recentPerUser)];
+        for (int i = 0; i < storyIds.length; i++) {
+            storyIds[i] = recent.get(i);
+        }
+        Arrays.sort(storyIds);
+        UserLikes loaded = new UserLikes(storyIds, complete);
+
+        synchronized (cache) {
+            if (generation == startGeneration) {
+                UserLikes raced = cache.putIfAbsent(userId, loaded);
+                return raced != null ? raced : loaded;
+            }
+        }
+        return loaded;
+    }
+}
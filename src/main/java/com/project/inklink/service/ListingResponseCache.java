@@ -0,0 +1,85 @@
+package com.project.inklink.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Serialized responses of anonymous listing requests, keyed by normalized request, kept for a
+ * few seconds and bounded by total size (least recently used first out). StoryService clears it
+ * whenever a change could show up in a public listing.
+ */
+@Service
+public class ListingResponseCache {
+
+    @Value("${app.listing-cache.ttl-ms:5000}")
+    private long ttlMs;
+
+    @Value("${app.listing-cache.max-bytes:16777216}")
+    private long maxBytes;
+
+    /**
+     * One cached response body
+     */
+    public record CachedResponse(byte[] body, String contentType, long expiresAt) {}
+
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes = 0;
+
+    // Bumped by every invalidation, so a response computed before it is not stored after it
+    private long generation = 0;
+
+    public synchronized CachedResponse get(String key) {
+        CachedResponse cached = entries.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expiresAt() < System.currentTimeMillis()) {
+            remove(key);
+            return null;
+        }
+        return cached;
+    }
+
+    public synchronized long currentGeneration() {
+        return generation;
+    }
+
+    /**
+     * Store a response, unless the cache was invalidated since generation was read
+     */
+    public synchronized void put(String key, byte[] body, String contentType, long generation) {
+        if (generation != this.generation || body.length > maxBytes / 4) {
+            return;
+        }
+        remove(key);
+        entries.put(key, new CachedResponse(body, contentType, System.currentTimeMillis() + ttlMs));
+        totalBytes += body.length;
+
+        Iterator<Map.Entry<String, CachedResponse>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().getValue().body().length;
+            eldest.remove();
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+        totalBytes = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void remove(String key) {
+        CachedResponse removed = entries.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.body().length;
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package com.project.inklink.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.inklink.entity.OutboxEntry;
+import com.project.inklink.event.DomainEvent;
+import com.project.inklink.event.OutboxHandler;
+import com.project.inklink.event.OutboxMessage;
+import com.project.inklink.repository.OutboxRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import static com.project.inklink.util.TransactionCallbacks.afterCommit;
+
+/**
+ * Transactional outbox. {@link #append} stores an event in the caller's transaction, so it
+ * exists if and only if the change it describes committed; events no handler takes are not
+ * stored at all. A relay thread picks up pending entries in id order, hands them to every
+ * {@link OutboxHandler} bean and marks them delivered once the handlers report them handled;
+ * failed entries are retried with backoff up to a maximum number of attempts. Delivered rows
+ * are pruned after a retention period.
+ *
+ * Rows are claimed with FOR UPDATE SKIP LOCKED in a short transaction that only moves their next
+ * attempt past a claim timeout, so several instances can run relays side by side and no row lock
+ * is held while handlers run. A relay that dies mid-batch leaves its rows to be claimed again
+ * once the claim times out.
+ */
+@Service
+public class OutboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxService.class);
+
+    private static final String PENDING_SQL =
+            "SELECT id, idempotency_key, event_type, payload, attempts FROM outbox " +
+                    "WHERE delivered_at IS NULL AND next_attempt_at <= ? AND attempts < ? " +
+                    "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Looked up lazily: handlers may themselves depend on services that append to the outbox
+    @Autowired
+    private ObjectProvider<OutboxHandler> handlers;
+
+    @Value("${app.outbox.relay-enabled:true}")
+    private boolean relayEnabled;
+
+    @Value("${app.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.outbox.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${app.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    @Value("${app.outbox.retention-hours:24}")
+    private int retentionHours;
+
+    // How long claimed entries stay hidden from other relays, and the longest a batch waits for its handlers
+    @Value("${app.outbox.claim-timeout-ms:60000}")
+    private long claimTimeoutMs;
+
+    private static final Map<String, Class<? extends DomainEvent>> EVENT_TYPES = new HashMap<>();
+
+    static {
+        for (Class<?> type : DomainEvent.class.getPermittedSubclasses()) {
+            EVENT_TYPES.put(type.getSimpleName(), type.asSubclass(DomainEvent.class));
+        }
+    }
+
+    // handlerName:idempotencyKey for recent deliveries, so a retry of a partly delivered
+    // batch skips the handlers that already took it
+    private final Map<String, Boolean> recentlyHandled = new LinkedHashMap<>(16, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > 10_000;
+        }
+    };
+
+    private final Semaphore wakeUp = new Semaphore(0);
+
+    private volatile boolean running = true;
+
+    /**
+     * Record an event in the current transaction (its own one if there is none) and nudge the
+     * relay once it commits
+     */
+    public void append(DomainEvent event) {
+        // Nothing would receive it (reads and likes, today), so skip the row rather than write one per view
+        if (handlers.orderedStream().noneMatch(handler -> handler.handles(event))) {
+            return;
+        }
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize " + event, e);
+        }
+        outboxRepository.save(new OutboxEntry(UUID.randomUUID().toString(), event.getClass().getSimpleName(), payload));
+        afterCommit(wakeUp::release);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRelay() {
+        if (!relayEnabled) {
+            return;
+        }
+        Thread thread = new Thread(this::relayLoop, "outbox-relay");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        wakeUp.release();
+    }
+
+    private void relayLoop() {
+        while (running) {
+            try {
+                wakeUp.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+                wakeUp.drainPermits();
+                // Keep going while full batches come back
+                int claimed;
+                do {
+                    claimed = relayBatch();
+                } while (running && claimed == batchSize);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Outbox relay pass failed", e);
+            }
+        }
+    }
+
+    /**
+     * Deliver one batch of pending entries, returns how many were claimed
+     */
+    public int relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = claim(now);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        List<OutboxMessage> messages = new ArrayList<>(rows.size());
+        Map<Long, String> errors = new HashMap<>();
+        Map<Long, Integer> attempts = new HashMap<>();
+        for (Object[] row : rows) {
+            long id = (Long) row[0];
+            attempts.put(id, (Integer) row[4] + 1);
+            try {
+                messages.add(new OutboxMessage(id, (String) row[1], decode((String) row[2], (String) row[3])));
+            } catch (Exception e) {
+                errors.put(id, "Undecodable entry: " + e.getMessage());
+            }
+        }
+
+        // Outside any transaction: handlers may block or run consumers on this thread
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(claimTimeoutMs);
+        for (OutboxHandler handler : handlers.orderedStream().toList()) {
+            deliver(handler, messages, errors, deadline);
+        }
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                markOutcome(messages, errors, attempts, LocalDateTime.now()));
+        return rows.size();
+    }
+
+    // Lock due entries, count the attempt and hide them from other relays until the claim times
+    // out; the locks go away with this transaction's commit
+    private List<Object[]> claim(LocalDateTime now) {
+        List<Object[]> rows = new TransactionTemplate(transactionManager).execute(status -> {
+            List<Object[]> due = jdbcTemplate.query(PENDING_SQL,
+                    (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getInt(5)},
+                    Timestamp.valueOf(now), maxAttempts, batchSize);
+            if (!due.isEmpty()) {
+                String ids = due.stream().map(row -> String.valueOf(row[0])).collect(Collectors.joining(","));
+                jdbcTemplate.update("UPDATE outbox SET attempts = attempts + 1, next_attempt_at = ? WHERE id IN (" + ids + ")",
+                        Timestamp.valueOf(now.plus(Duration.ofMillis(claimTimeoutMs))));
+            }
+            return due;
+        });
+        return rows != null ? rows : List.of();
+    }
+
+    // Hand the handler its messages and wait, up to the deadline, until each one is handled
+    private void deliver(OutboxHandler handler, List<OutboxMessage> messages, Map<Long, String> errors, long deadline) {
+        List<OutboxMessage> batch = new ArrayList<>();
+        for (OutboxMessage message : messages) {
+            if (handler.handles(message.event()) && !alreadyHandled(handler, message)) {
+                batch.add(message);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<CompletableFuture<Void>> results;
+        try {
+            results = handler.handle(batch);
+        } catch (Exception e) {
+            log.warn("Outbox handler {} failed on {} entries, will retry", handler.handlerName(), batch.size(), e);
+            for (OutboxMessage message : batch) {
+                errors.putIfAbsent(message.id(), handler.handlerName() + ": " + e.getMessage());
+            }
+            return;
+        }
+
+        int failed = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxMessage message = batch.get(i);
+            String error = await(results.get(i), deadline);
+            if (error == null) {
+                synchronized (recentlyHandled) {
+                    recentlyHandled.put(handler.handlerName() + ":" + message.idempotencyKey(), Boolean.TRUE);
+                }
+            } else {
+                failed++;
+                errors.putIfAbsent(message.id(), handler.handlerName() + ": " + error);
+            }
+        }
+        if (failed > 0) {
+            log.warn("Outbox handler {} did not handle {} of {} entries, will retry", handler.handlerName(), failed, batch.size());
+        }
+    }
+
+    // null once the future completed normally, otherwise why it did not
+    private static String await(CompletableFuture<Void> result, long deadline) {
+        try {
+            result.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return null;
+        } catch (ExecutionException e) {
+            return String.valueOf(e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+        } catch (TimeoutException e) {
+            return "not handled within the claim timeout";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "relay interrupted";
+        }
+    }
+
+    private boolean alreadyHandled(OutboxHandler handler, OutboxMessage message) {
+        synchronized (recentlyHandled) {
+            return recentlyHandled.containsKey(handler.handlerName() + ":" + message.idempotencyKey());
+        }
+    }
+
+    // Delivered entries are stamped; failed ones get a backoff from their attempt count (already
+    // incremented by the claim)
+    private void markOutcome(List<OutboxMessage> messages, Map<Long, String> errors,
+                             Map<Long, Integer> attempts, LocalDateTime now) {
+        List<Long> delivered = messages.stream()
+                .map(OutboxMessage::id)
+                .filter(id -> !errors.containsKey(id))
+                .toList();
+        if (!delivered.isEmpty()) {
+            String ids = delivered.stream().map(String::valueOf).collect(Collectors.joining(","));
+            jdbcTemplate.update("UPDATE outbox SET delivered_at = ? WHERE id IN (" + ids + ")", Timestamp.valueOf(now));
+        }
+
+        List<Object[]> failures = new ArrayList<>();
+        for (Map.Entry<Long, String> error : errors.entrySet()) {
+            int attempt = attempts.get(error.getKey());
+            if (attempt >= maxAttempts) {
+                log.error("Outbox entry {} failed {} times, giving up: {}", error.getKey(), attempt, error.getValue());
+            }
+            long backoff = retryBackoffMs << Math.min(attempt - 1, 16);
+            String message = error.getValue() == null ? "unknown error" : error.getValue();
+            failures.add(new Object[]{
+                    Timestamp.valueOf(now.plus(Duration.ofMillis(backoff))),
+                    message.length() > 500 ? message.substring(0, 500) : message,
+                    error.getKey()});
+        }
+        if (!failures.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE outbox SET next_attempt_at = ?, last_error = ? WHERE id = ?", failures);
+        }
+    }
+
+    private DomainEvent decode(String eventType, String payload) throws JsonProcessingException {
+        Class<? extends DomainEvent> type = EVENT_TYPES.get(eventType);
+        if (type == null) {
+            throw new IllegalArgumentException("unknown event type " + eventType);
+        }
+        return objectMapper.readValue(payload, type);
+    }
+
+    // Drop delivered entries past the retention period, in chunks
+    @Scheduled(fixedDelayString = "${app.outbox.prune-interval-ms:3600000}")
+    public void pruneDelivered() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusHours(retentionHours));
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update("DELETE FROM outbox WHERE delivered_at < ? LIMIT 5000", cutoff);
+        } while (deleted == 5000);
+    }
+
+    /**
+     * Pending and given-up entry counts, for the admin endpoint
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pending", outboxRepository.countPending());
+        stats.put("givenUp", jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM outbox WHERE delivered_at IS NULL AND attempts >= ?", Long.class, maxAttempts));
+        Timestamp oldest = jdbcTemplate.queryForObject(
+                "SELECT MIN(created_at) FROM outbox WHERE delivered_at IS NULL AND attempts < ?", Timestamp.class, maxAttempts);
+        stats.put("oldestPendingAgeMs", oldest != null ? System.currentTimeMillis() - oldest.getTime() : 0);
+        return stats;
+    }
+}
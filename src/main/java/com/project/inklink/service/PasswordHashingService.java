@@ -0,0 +1,171 @@
+package com.project.inklink.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import com.project.inklink.profiling.RequestProfile;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * BCrypt hashing and checking on a small dedicated pool with a bounded queue. Request threads
+ * wait for the result, but a burst of logins can only ever occupy the pool's threads; once the
+ * queue is full further calls fail fast with {@link HashingSaturatedException} so the caller
+ * can shed the request instead of piling up behind the hashes.
+ */
+@Service
+public class PasswordHashingService {
+
+    // Its hash is checked against when the account does not exist, so an unknown username
+    // costs the same as a wrong password
+    private static final String DUMMY_PASSWORD = "inklink-no-such-account";
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Value("${app.auth.hashing.threads:0}")
+    private int threads;
+
+    @Value("${app.auth.hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${app.auth.hashing.timeout-ms:5000}")
+    private long timeoutMs;
+
+    @Value("${app.auth.bcrypt.strength:10}")
+    private int strength;
+
+    private ThreadPoolExecutor executor;
+
+    private String dummyHash;
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * Thrown when the hashing queue is full or a hash did not finish in time
+     */
+    public static class HashingSaturatedException extends RuntimeException {
+        public HashingSaturatedException(String message) {
+            super(message);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        dummyHash = passwordEncoder.encode(DUMMY_PASSWORD);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Cheap pre-check so a saturated pool sheds sign-ins before the account lookup
+    public boolean isSaturated() {
+        return executor.getQueue().remainingCapacity() == 0;
+    }
+
+    public String encode(String rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Check a password; a null hash (unknown account) is checked against a dummy hash and fails
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (encodedPassword == null) {
+            run(() -> passwordEncoder.matches(rawPassword, dummyHash));
+            return false;
+        }
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    // True when the hash was made with a different cost than the configured one
+    public boolean needsRehash(String encodedPassword) {
+        // $2a$10$... : the cost is the two digits after the version
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$') {
+            return true;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6)) != strength;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    // Queue a rehash without making the caller wait; dropped when the pool is busy
+    public boolean encodeInBackground(String rawPassword, Consumer<String> onEncoded) {
+        try {
+            executor.execute(() -> onEncoded.accept(passwordEncoder.encode(rawPassword)));
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw new HashingSaturatedException("Too many sign-in attempts in progress, try again shortly");
+        }
+        long start = System.nanoTime();
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.incrementAndGet();
+            throw new HashingSaturatedException("Password check timed out, try again shortly");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while checking password", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Password hashing failed", e.getCause());
+        } finally {
+            // Queue wait included: it is time the request spent on hashing
+            RequestProfile.recordHashing(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Pool size, queue depth and shed count, for the admin endpoint
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("threads", executor.getPoolSize());
+        stats.put("active", executor.getActiveCount());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("completed", executor.getCompletedTaskCount());
+        stats.put("rejected", rejected.get());
+        stats.put("strength", strength);
+        return stats;
+    }
+}
@@ -0,0 +1,396 @@
+package com.project.inklink.service;
+
+import com.project.inklink.entity.StorySummary;
+import com.project.inklink.entity.enums.StoryGenre;
+import com.project.inklink.entity.enums.StoryStatus;
+import com.project.inklink.event.DomainEvent;
+import com.project.inklink.event.DomainEventConsumer;
+import com.project.inklink.event.StoryDeleted;
+import com.project.inklink.event.StoryPublished;
+import com.project.inklink.event.StoryUpdated;
+import com.project.inklink.repository.StoryRepository;
+import com.project.inklink.repository.StorySummaryRepository;
+import com.project.inklink.repository.TagRepository;
+import com.project.inklink.util.LongAdjacencyList;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Precomputed "related" data for published stories.
+ *
+ * A full rebuild builds tag posting lists, a sparse tag co-occurrence matrix and a top-K list of
+ * neighbours for every story. Stories are scored by the tags they share, each tag weighted by how
+ * rare it is, plus a bonus for the same genre. Story changes are queued and applied incrementally
+ * by a background job, so requests only ever read precomputed arrays.
+ */
+@Service
+public class RelatedStoryService implements DomainEventConsumer {
+
+    @Autowired
+    private StoryRepository storyRepository;
+
+    @Autowired
+    private StorySummaryRepository storySummaryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Value("${app.related.neighbours:10}")
+    private int neighbourCount;
+
+    // Postings longer than this only contribute their newest entries when scoring
+    @Value("${app.related.max-posting-scan:2000}")
+    private int maxPostingScan;
+
+    @Value("${app.related.genre-weight:0.5}")
+    private double genreWeight;
+
+    private volatile Index index = new Index();
+
+    // Story ids whose tags, genre or status changed since the last incremental pass
+    private final ConcurrentLinkedQueue<Long> pendingStories = new ConcurrentLinkedQueue<>();
+
+    private static class Index {
+        final Map<Long, long[]> storyTags = new ConcurrentHashMap<>();
+        final Map<Long, StoryGenre> storyGenres = new ConcurrentHashMap<>();
+        final LongAdjacencyList tagStories = new LongAdjacencyList();
+        final LongAdjacencyList genreStories = new LongAdjacencyList();
+        final Map<Long, Map<Long, Integer>> cooccurrence = new ConcurrentHashMap<>();
+        final Map<Long, long[]> related = new ConcurrentHashMap<>();
+        final Map<Long, String> tagNames = new ConcurrentHashMap<>();
+        final Map<String, Long> tagIds = new ConcurrentHashMap<>();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    /**
+     * Rebuild everything from the database and swap it in
+     */
+    @Scheduled(cron = "${app.related.rebuild-cron:0 0 4 * * *}")
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        Index next = new Index();
+
+        for (Object[] row : tagRepository.findAllIdAndName()) {
+            next.tagNames.put((Long) row[0], (String) row[1]);
+            next.tagIds.put(((String) row[1]).toLowerCase(), (Long) row[0]);
+        }
+
+        Map<Long, List<Long>> tagsByStory = new HashMap<>();
+        for (Object[] row : storyRepository.findPublishedStoryTagRows()) {
+            Long storyId = (Long) row[0];
+            List<Long> tags = tagsByStory.computeIfAbsent(storyId, id -> new ArrayList<>());
+            next.storyGenres.put(storyId, (StoryGenre) row[1]);
+            if (row[2] != null) {
+                tags.add((Long) row[2]);
+            }
+        }
+
+        for (Map.Entry<Long, List<Long>> entry : tagsByStory.entrySet()) {
+            addStory(next, entry.getKey(), next.storyGenres.get(entry.getKey()), toSortedArray(entry.getValue()));
+        }
+        for (Long storyId : next.storyGenres.keySet()) {
+            next.related.put(storyId, computeNeighbours(next, storyId));
+        }
+
+        index = next;
+    }
+
+    /**
+     * Queue a story for re-indexing after its tags, genre or status changed (or it was deleted)
+     */
+    public void onStoryChanged(Long storyId) {
+        pendingStories.add(storyId);
+    }
+
+    /**
+     * Point the tag's name lookups at its new name
+     */
+    public synchronized void onTagRenamed(Long tagId, String newName) {
+        Index current = index;
+        String oldName = current.tagNames.put(tagId, newName);
+        if (oldName != null) {
+            current.tagIds.remove(oldName.toLowerCase(), tagId);
+        }
+        current.tagIds.put(newName.toLowerCase(), tagId);
+    }
+
+    /**
+     * Forget a deleted tag; its stories are re-indexed through onStoryChanged
+     */
+    public synchronized void onTagDeleted(Long tagId) {
+        Index current = index;
+        String name = current.tagNames.remove(tagId);
+        if (name != null) {
+            current.tagIds.remove(name.toLowerCase(), tagId);
+        }
+        current.cooccurrence.remove(tagId);
+    }
+
+    @Override
+    public boolean accepts(DomainEvent event) {
+        return event instanceof StoryPublished || event instanceof StoryUpdated || event instanceof StoryDeleted;
+    }
+
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            if (event instanceof StoryPublished published) {
+                onStoryChanged(published.storyId());
+            } else if (event instanceof StoryUpdated updated) {
+                onStoryChanged(updated.storyId());
+            } else if (event instanceof StoryDeleted deleted) {
+                onStoryChanged(deleted.storyId());
+            }
+        }
+    }
+
+    // Apply queued story changes to the current index
+    @Scheduled(fixedDelayString = "${app.related.incremental-delay-ms:5000}")
+    @Transactional(readOnly = true)
+    public synchronized void applyPendingChanges() {
+        Set<Long> storyIds = new HashSet<>();
+        Long storyId;
+        while ((storyId = pendingStories.poll()) != null) {
+            storyIds.add(storyId);
+        }
+        if (storyIds.isEmpty()) {
+            return;
+        }
+
+        Index current = index;
+        Set<Long> affected = new HashSet<>();
+        for (Long id : storyIds) {
+            affected.add(id);
+            addAll(affected, current.related.get(id));
+            removeStory(current, id);
+
+            List<Object[]> rows = storyRepository.findStoryTagRows(id);
+            if (rows.isEmpty() || rows.get(0)[2] != StoryStatus.PUBLISHED) {
+                continue;
+            }
+            List<Long> tags = new ArrayList<>();
+            for (Object[] row : rows) {
+                if (row[3] != null) {
+                    Long tagId = (Long) row[3];
+                    tags.add(tagId);
+                    if (!current.tagNames.containsKey(tagId)) {
+                        tagRepository.findById(tagId).ifPresent(tag -> {
+                            current.tagNames.put(tag.getId(), tag.getName());
+                            current.tagIds.put(tag.getName().toLowerCase(), tag.getId());
+                        });
+                    }
+                }
+            }
+            addStory(current, id, (StoryGenre) rows.get(0)[1], toSortedArray(tags));
+        }
+
+        // Recompute the changed stories and everything that listed them or now shares a tag with them
+        for (Long id : storyIds) {
+            long[] tags = current.storyTags.get(id);
+            if (tags == null) {
+                continue;
+            }
+            for (long tagId : tags) {
+                long[] posting = current.tagStories.neighbours(tagId);
+                for (int i = posting.length - 1; i >= Math.max(0, posting.length - maxPostingScan); i--) {
+                    affected.add(posting[i]);
+                }
+            }
+        }
+        for (Long id : affected) {
+            if (current.storyGenres.containsKey(id)) {
+                current.related.put(id, computeNeighbours(current, id));
+            } else {
+                current.related.remove(id);
+            }
+        }
+    }
+
+    /**
+     * Related published stories, best match first
+     */
+    @Transactional(readOnly = true)
+    public List<StorySummary> getRelatedStories(Long storyId, int limit) {
+        long[] neighbours = index.related.getOrDefault(storyId, new long[0]);
+        int count = Math.min(Math.max(limit, 0), neighbours.length);
+
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(neighbours[i]);
+        }
+
+        Map<Long, StorySummary> byId = new HashMap<>();
+        for (StorySummary story : storySummaryRepository.findAllById(ids)) {
+            byId.put(story.getId(), story);
+        }
+        List<StorySummary> stories = new ArrayList<>(count);
+        for (Long id : ids) {
+            StorySummary story = byId.get(id);
+            if (story != null && story.getStatus() == StoryStatus.PUBLISHED) {
+                stories.add(story);
+            }
+        }
+        return stories;
+    }
+
+    /**
+     * Tags that most often appear on the same published stories as the given tag
+     */
+    public List<Map<String, Object>> getRelatedTags(String tagName, int limit) {
+        Index current = index;
+        Long tagId = current.tagIds.get(tagName.toLowerCase());
+        if (tagId == null) {
+            throw new RuntimeException("Tag not found: " + tagName);
+        }
+
+        Map<Long, Integer> row = current.cooccurrence.getOrDefault(tagId, Map.of());
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(row.entrySet());
+        entries.sort((a, b) -> Integer.compare(b.getValue(), a.getValue()));
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Map.Entry<Long, Integer> entry : entries) {
+            if (result.size() >= limit) {
+                break;
+            }
+            String name = current.tagNames.get(entry.getKey());
+            if (name == null) {
+                continue;
+            }
+            Map<String, Object> tagMap = new HashMap<>();
+            tagMap.put("name", name);
+            tagMap.put("sharedStoryCount", entry.getValue());
+            result.add(tagMap);
+        }
+        return result;
+    }
+
+    // Index maintenance
+
+    private void addStory(Index target, Long storyId, StoryGenre genre, long[] tags) {
+        target.storyTags.put(storyId, tags);
+        target.storyGenres.put(storyId, genre);
+        target.genreStories.add(genre.ordinal(), storyId);
+        for (long tagId : tags) {
+            target.tagStories.add(tagId, storyId);
+        }
+        adjustCooccurrence(target, tags, 1);
+    }
+
+    private void removeStory(Index target, Long storyId) {
+        long[] tags = target.storyTags.remove(storyId);
+        StoryGenre genre = target.storyGenres.remove(storyId);
+        if (genre != null) {
+            target.genreStories.remove(genre.ordinal(), storyId);
+        }
+        if (tags != null) {
+            for (long tagId : tags) {
+                target.tagStories.remove(tagId, storyId);
+            }
+            adjustCooccurrence(target, tags, -1);
+        }
+        target.related.remove(storyId);
+    }
+
+    private void adjustCooccurrence(Index target, long[] tags, int delta) {
+        for (long a : tags) {
+            for (long b : tags) {
+                if (a == b) {
+                    continue;
+                }
+                Map<Long, Integer> row = target.cooccurrence.computeIfAbsent(a, id -> new ConcurrentHashMap<>());
+                Integer updated = row.merge(b, delta, Integer::sum);
+                if (updated != null && updated <= 0) {
+                    row.remove(b);
+                }
+            }
+        }
+    }
+
+    // Top-K neighbours by shared-tag score (rarer tags count more) plus a same-genre bonus
+    private long[] computeNeighbours(Index source, Long storyId) {
+        long[] tags = source.storyTags.getOrDefault(storyId, new long[0]);
+        StoryGenre genre = source.storyGenres.get(storyId);
+        Map<Long, Double> scores = new HashMap<>();
+
+        for (long tagId : tags) {
+            long[] posting = source.tagStories.neighbours(tagId);
+            double weight = 1.0 / Math.log(2 + posting.length);
+            // Newest stories have the highest ids, so scan postings from the end
+            for (int i = posting.length - 1; i >= Math.max(0, posting.length - maxPostingScan); i--) {
+                if (posting[i] != storyId) {
+                    scores.merge(posting[i], weight, Double::sum);
+                }
+            }
+        }
+
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            if (genre != null && genre == source.storyGenres.get(entry.getKey())) {
+                entry.setValue(entry.getValue() + genreWeight);
+            }
+        }
+
+        // Not enough tag matches: fall back to the newest stories in the same genre
+        if (scores.size() < neighbourCount && genre != null) {
+            long[] sameGenre = source.genreStories.neighbours(genre.ordinal());
+            for (int i = sameGenre.length - 1; i >= 0 && scores.size() < neighbourCount; i--) {
+                if (sameGenre[i] != storyId) {
+                    scores.putIfAbsent(sameGenre[i], genreWeight);
+                }
+            }
+        }
+
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>((a, b) -> {
+            int byScore = Double.compare(a.getValue(), b.getValue());
+            return byScore != 0 ? byScore : Long.compare(a.getKey(), b.getKey());
+        });
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > neighbourCount) {
+                top.poll();
+            }
+        }
+
+        long[] result = new long[top.size()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = top.poll().getKey();
+        }
+        return result;
+    }
+
+    private static long[] toSortedArray(List<Long> values) {
+        long[] array = new long[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        Arrays.sort(array);
+        return array;
+    }
+
+    private static void addAll(Set<Long> target, long[] values) {
+        if (values != null) {
+            for (long value : values) {
+                target.add(value);
+            }
+        }
+    }
+}
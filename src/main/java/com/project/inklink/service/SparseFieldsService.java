@@ -0,0 +1,255 @@
+package com.project.inklink.service;
+
+import com.project.inklink.entity.enums.StoryGenre;
+import com.project.inklink.entity.enums.StoryStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Sparse fieldsets: a fields=title,genre,likeCount parameter is turned into a JPQL select list of
+ * just those columns, so unrequested columns (story content above all) are never read. Rows come
+ * back as maps in the requested field order, with id always first. author/user are selected
+ * through a join as {id, username, profilePicture}; story tags and liked are filled in by a
+ * second lookup over the returned ids. Unknown field names are rejected.
+ */
+@Service
+@Transactional(readOnly = true)
+public class SparseFieldsService {
+
+    // Field name -> selected paths. Several paths make a nested object; no paths means the value is
+    // looked up after the main query.
+    private static final Map<String, List<String>> STORY_FIELDS = new LinkedHashMap<>();
+    private static final Map<String, List<String>> USER_FIELDS = new LinkedHashMap<>();
+    private static final Map<String, List<String>> COMMENT_FIELDS = new LinkedHashMap<>();
+
+    static {
+        STORY_FIELDS.put("id", List.of("s.id"));
+        STORY_FIELDS.put("title", List.of("s.title"));
+        STORY_FIELDS.put("excerpt", List.of("s.excerpt"));
+        STORY_FIELDS.put("content", List.of("s.content"));
+        STORY_FIELDS.put("wordCount", List.of("s.wordCount"));
+        STORY_FIELDS.put("readingTimeMinutes", List.of("s.readingTimeMinutes"));
+        STORY_FIELDS.put("genre", List.of("s.genre"));
+        STORY_FIELDS.put("status", List.of("s.status"));
+        STORY_FIELDS.put("likeCount", List.of("s.likeCount"));
+        STORY_FIELDS.put("readCount", List.of("s.readCount"));
+        STORY_FIELDS.put("createdAt", List.of("s.createdAt"));
+        STORY_FIELDS.put("updatedAt", List.of("s.updatedAt"));
+        STORY_FIELDS.put("author", List.of("a.id", "a.username", "a.profilePicture"));
+        STORY_FIELDS.put("tags", List.of());
+        STORY_FIELDS.put("liked", List.of());
+
+        USER_FIELDS.put("id", List.of("u.id"));
+        USER_FIELDS.put("username", List.of("u.username"));
+        USER_FIELDS.put("email", List.of("u.email"));
+        USER_FIELDS.put("role", List.of("u.role"));
+        USER_FIELDS.put("profilePicture", List.of("u.profilePicture"));
+        USER_FIELDS.put("createdAt", List.of("u.createdAt"));
+
+        COMMENT_FIELDS.put("id", List.of("c.id"));
+        COMMENT_FIELDS.put("content", List.of("c.content"));
+        COMMENT_FIELDS.put("createdAt", List.of("c.createdAt"));
+        COMMENT_FIELDS.put("storyId", List.of("c.story.id"));
+        COMMENT_FIELDS.put("user", List.of("u.id", "u.username", "u.profilePicture"));
+    }
+
+    // Listing sorts that map straight onto a stories column
+    private static final Set<String> STORY_SORTS = Set.of(
+            "title", "createdAt", "updatedAt", "readCount", "likeCount", "genre", "wordCount");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private LikeStatusService likeStatusService;
+
+    /**
+     * One page of published stories with only the requested fields, filtered like
+     * GET /api/stories (search, then tag, then genre)
+     */
+    public Slice<Map<String, Object>> getPublishedStories(String fields, String search, String tag,
+                                                         StoryGenre genre, Pageable pageable, Long userId) {
+        List<String> names = parse(fields, STORY_FIELDS);
+        Map<String, Object> params = new HashMap<>();
+        params.put("status", StoryStatus.PUBLISHED);
+
+        StringBuilder from = new StringBuilder("FROM Story s");
+        if (names.contains("author")) {
+            from.append(" JOIN s.author a");
+        }
+        StringBuilder where = new StringBuilder(" WHERE s.status = :status");
+        if (search != null) {
+            where.append(" AND (LOWER(s.title) LIKE LOWER(CONCAT('%', :search, '%'))" +
+                    " OR s.id IN (SELECT ss.storyId FROM StorySearch ss" +
+                    " WHERE LOWER(ss.searchText) LIKE LOWER(CONCAT('%', :search, '%'))))");
+            params.put("search", search);
+        } else if (tag != null) {
+            from.append(" JOIN s.tags t");
+            where.append(" AND t.name = :tag");
+            params.put("tag", tag);
+        } else if (genre != null) {
+            where.append(" AND s.genre = :genre");
+            params.put("genre", genre);
+        }
+
+        from.append(where).append(orderBy(pageable.getSort()));
+
+        // size + 1 rows tell whether there is a next page, without a COUNT query
+        List<Map<String, Object>> rows = select(STORY_FIELDS, names, from.toString(), params,
+                (int) pageable.getOffset(), pageable.getPageSize() + 1);
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        if (hasNext) {
+            rows = rows.subList(0, pageable.getPageSize());
+        }
+        fillStoryExtras(rows, names, userId);
+        return new SliceImpl<>(rows, pageable, hasNext);
+    }
+
+    /**
+     * A single story with only the requested fields, empty if it does not exist
+     */
+    public Optional<Map<String, Object>> getStory(Long id, String fields, Long userId) {
+        List<String> names = parse(fields, STORY_FIELDS);
+        String from = "FROM Story s" + (names.contains("author") ? " JOIN s.author a" : "") + " WHERE s.id = :id";
+        List<Map<String, Object>> rows = select(STORY_FIELDS, names, from, Map.of("id", id), 0, 1);
+        fillStoryExtras(rows, names, userId);
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * A user profile with only the requested fields, empty if the user does not exist
+     */
+    public Optional<Map<String, Object>> getUser(Long id, String fields) {
+        List<String> names = parse(fields, USER_FIELDS);
+        return select(USER_FIELDS, names, "FROM User u WHERE u.id = :id", Map.of("id", id), 0, 1)
+                .stream().findFirst();
+    }
+
+    /**
+     * A story's comments, newest first, with only the requested fields
+     */
+    public List<Map<String, Object>> getStoryComments(Long storyId, String fields) {
+        List<String> names = parse(fields, COMMENT_FIELDS);
+        String from = "FROM Comment c" + (names.contains("user") ? " JOIN c.user u" : "") +
+                " WHERE c.story.id = :storyId ORDER BY c.createdAt DESC";
+        return select(COMMENT_FIELDS, names, from, Map.of("storyId", storyId), 0, -1);
+    }
+
+    // Requested names in order with id first; throws on anything not in the allowlist
+    private static List<String> parse(String fields, Map<String, List<String>> allowed) {
+        Set<String> names = new LinkedHashSet<>();
+        names.add("id");
+        for (String name : fields.split(",")) {
+            name = name.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown field: " + name + ", expected one of " + allowed.keySet());
+            }
+            names.add(name);
+        }
+        return new ArrayList<>(names);
+    }
+
+    private static String orderBy(Sort sort) {
+        List<String> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            if (!STORY_SORTS.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Cannot sort by " + order.getProperty());
+            }
+            orders.add("s." + order.getProperty() + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        return orders.isEmpty() ? "" : " ORDER BY " + String.join(", ", orders);
+    }
+
+    private List<Map<String, Object>> select(Map<String, List<String>> allowed, List<String> names, String from,
+                                             Map<String, Object> params, int offset, int limit) {
+        List<String> columns = new ArrayList<>();
+        for (String name : names) {
+            columns.addAll(allowed.get(name));
+        }
+        TypedQuery<Tuple> query = entityManager.createQuery(
+                "SELECT " + String.join(", ", columns) + " " + from, Tuple.class);
+        params.forEach(query::setParameter);
+        query.setFirstResult(offset);
+        if (limit > 0) {
+            query.setMaxResults(limit);
+        }
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : query.getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            int column = 0;
+            for (String name : names) {
+                List<String> paths = allowed.get(name);
+                if (paths.size() == 1) {
+                    row.put(name, tuple.get(column++));
+                } else if (paths.size() > 1) {
+                    Map<String, Object> nested = new LinkedHashMap<>();
+                    for (String path : paths) {
+                        nested.put(path.substring(path.indexOf('.') + 1), tuple.get(column++));
+                    }
+                    row.put(name, nested);
+                } else {
+                    row.put(name, null); // keeps the requested order, filled in by the caller
+                }
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    // tags and liked are not columns of stories; look them up for all rows at once
+    private void fillStoryExtras(List<Map<String, Object>> rows, List<String> names, Long userId) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Map<Long, Map<String, Object>> byId = new LinkedHashMap<>();
+        for (Map<String, Object> row : rows) {
+            byId.put((Long) row.get("id"), row);
+        }
+
+        if (names.contains("tags")) {
+            for (Map<String, Object> row : rows) {
+                row.put("tags", new ArrayList<Map<String, Object>>());
+            }
+            List<Object[]> tagRows = entityManager.createQuery(
+                            "SELECT s.id, t.id, t.name FROM Story s JOIN s.tags t WHERE s.id IN :ids ORDER BY t.name",
+                            Object[].class)
+                    .setParameter("ids", byId.keySet())
+                    .getResultList();
+            for (Object[] tagRow : tagRows) {
+                Map<String, Object> tag = new LinkedHashMap<>();
+                tag.put("id", tagRow[1]);
+                tag.put("name", tagRow[2]);
+                @SuppressWarnings("unchecked")
+                List<Map<String, Object>> tags = (List<Map<String, Object>>) byId.get((Long) tagRow[0]).get("tags");
+                tags.add(tag);
+            }
+        }
+
+        if (names.contains("liked")) {
+            Set<Long> liked = userId != null ? likeStatusService.findLiked(userId, byId.keySet()) : Set.of();
+            byId.forEach((id, row) -> row.put("liked", liked.contains(id)));
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.project.inklink.service;
+
+import com.project.inklink.entity.Story;
+import com.project.inklink.entity.Tag;
+import com.project.inklink.entity.enums.StoryGenre;
+import com.project.inklink.entity.enums.StoryStatus;
+import com.project.inklink.repository.StoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.project.inklink.util.TransactionCallbacks.afterCommit;
+
+/**
+ * Approximate story totals per status, genre and tag for listing pages, so listings never need
+ * a COUNT query of their own. Saves and deletes adjust the counters by +1/-1 once their
+ * transaction commits; a full recount with three GROUP BY queries runs only at startup and as an
+ * occasional reconciliation, which also repairs drift from changes made outside the app.
+ */
+@Service
+public class StoryCountService {
+
+    @Autowired
+    private StoryRepository storyRepository;
+
+    private record Counts(Map<StoryStatus, Long> byStatus,
+                          Map<StoryGenre, Long> publishedByGenre,
+                          Map<String, Long> publishedByTag) {}
+
+    private volatile Counts counts = new Counts(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(),
+            new ConcurrentHashMap<>());
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${app.story-counts.reconcile-delay-ms:600000}",
+            initialDelayString = "${app.story-counts.reconcile-delay-ms:600000}")
+    public void reconcile() {
+        refresh();
+    }
+
+    @Transactional(readOnly = true)
+    public void refresh() {
+        Map<StoryStatus, Long> byStatus = new ConcurrentHashMap<>();
+        for (Object[] row : storyRepository.countGroupedByStatus()) {
+            byStatus.put((StoryStatus) row[0], (Long) row[1]);
+        }
+        Map<StoryGenre, Long> byGenre = new ConcurrentHashMap<>();
+        for (Object[] row : storyRepository.countPublishedGroupedByGenre()) {
+            byGenre.put((StoryGenre) row[0], (Long) row[1]);
+        }
+        Map<String, Long> byTag = new ConcurrentHashMap<>();
+        for (Object[] row : storyRepository.countPublishedGroupedByTag()) {
+            byTag.merge(tagKey((String) row[0]), (Long) row[1], Long::sum);
+        }
+        counts = new Counts(byStatus, byGenre, byTag);
+    }
+
+    /**
+     * Count a saved story, moving it from the status and genre it was loaded with. Call before
+     * Story.markPersisted; tags are only read when the story enters or leaves PUBLISHED.
+     */
+    public void onStorySaved(Story story) {
+        StoryStatus oldStatus = story.getPersistedStatus();
+        StoryStatus newStatus = story.getStatus();
+        StoryGenre oldGenre = story.getPersistedGenre();
+        StoryGenre newGenre = story.getGenre();
+        boolean wasPublished = oldStatus == StoryStatus.PUBLISHED;
+        boolean isPublished = newStatus == StoryStatus.PUBLISHED;
+        if (oldStatus == newStatus && (!isPublished || oldGenre == newGenre)) {
+            return;
+        }
+
+        Delta delta = new Delta();
+        if (oldStatus != newStatus) {
+            delta.status(oldStatus, -1);
+            delta.status(newStatus, 1);
+        }
+        if (wasPublished) {
+            delta.genre(oldGenre, -1);
+        }
+        if (isPublished) {
+            delta.genre(newGenre, 1);
+        }
+        if (wasPublished != isPublished) {
+            for (Tag tag : story.getTags()) {
+                delta.tag(tag.getName(), isPublished ? 1 : -1);
+            }
+        }
+        afterCommit(() -> apply(delta));
+    }
+
+    /**
+     * Uncount stories that are about to be deleted in the current transaction
+     */
+    public void onStoriesDeleting(Collection<Long> storyIds) {
+        if (storyIds.isEmpty()) {
+            return;
+        }
+        Delta delta = new Delta();
+        for (Object[] row : storyRepository.findStatusAndGenreByIds(storyIds)) {
+            StoryStatus status = (StoryStatus) row[0];
+            delta.status(status, -1);
+            if (status == StoryStatus.PUBLISHED) {
+                delta.genre((StoryGenre) row[1], -1);
+            }
+        }
+        for (String tagName : storyRepository.findPublishedTagNamesByIds(storyIds)) {
+            delta.tag(tagName, -1);
+        }
+        afterCommit(() -> apply(delta));
+    }
+
+    /**
+     * Move a tag's total to its new name
+     */
+    public void onTagRenamed(Long tagId, String oldName, String newName) {
+        long published = storyRepository.countPublishedByTagId(tagId);
+        Delta delta = new Delta();
+        delta.tag(oldName, -published);
+        delta.tag(newName, published);
+        afterCommit(() -> apply(delta));
+    }
+
+    /**
+     * Uncount a tag that is about to be deleted; call while its story links still exist
+     */
+    public void onTagDeleting(Long tagId, String name) {
+        Delta delta = new Delta();
+        delta.tag(name, -storyRepository.countPublishedByTagId(tagId));
+        afterCommit(() -> apply(delta));
+    }
+
+    public long getCountByStatus(StoryStatus status) {
+        return counts.byStatus().getOrDefault(status, 0L);
+    }
+
+    public long getPublishedCountByGenre(StoryGenre genre) {
+        return counts.publishedByGenre().getOrDefault(genre, 0L);
+    }
+
+    public long getPublishedCountByTag(String tagName) {
+        return counts.publishedByTag().getOrDefault(tagKey(tagName), 0L);
+    }
+
+    // Totals never go below zero, even if a delta races a reconciliation
+    private void apply(Delta delta) {
+        Counts current = counts;
+        delta.byStatus.forEach((status, change) -> current.byStatus().compute(status, (k, count) -> add(count, change)));
+        delta.byGenre.forEach((genre, change) -> current.publishedByGenre().compute(genre, (k, count) -> add(count, change)));
+        delta.byTag.forEach((tag, change) -> current.publishedByTag().compute(tag, (k, count) -> add(count, change)));
+    }
+
+    private static Long add(Long count, long change) {
+        return Math.max(0L, (count != null ? count : 0L) + change);
+    }
+
+    private static String tagKey(String tagName) {
+        return tagName.toLowerCase(Locale.ROOT);
+    }
+
+    // Counter changes made by one transaction, applied once it commits
+    private static class Delta {
+        final Map<StoryStatus, Long> byStatus = new EnumMap<>(StoryStatus.class);
+        final Map<StoryGenre, Long> byGenre = new EnumMap<>(StoryGenre.class);
+        final Map<String, Long> byTag = new HashMap<>();
+
+        void status(StoryStatus status, long change) {
+            if (status != null) {
+                byStatus.merge(status, change, Long::sum);
+            }
+        }
+
+        void genre(StoryGenre genre, long change) {
+            if (genre != null) {
+                byGenre.merge(genre, change, Long::sum);
+            }
+        }
+
+        void tag(String name, long change) {
+            byTag.merge(tagKey(name), change, Long::sum);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.project.inklink.service;
+
+import com.project.inklink.util.ContentCompression;
+import com.project.inklink.util.ContentHash;
+import com.project.inklink.util.StoryMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Fills in excerpt, word count, reading time, content hash and the story_search row for stories
+ * saved before those existed. Walks the table by id in small batches and skips rows edited
+ * since they were read, like ContentCompressionMigrator.
+ */
+@Service
+public class StoryMetadataBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(StoryMetadataBackfill.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.story-metadata.backfill.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.story-metadata.backfill.batch-size:200}")
+    private int batchSize;
+
+    private volatile long lastId = 0;
+    private volatile boolean finished = false;
+    private long updatedRows = 0;
+
+    private record PendingRow(long id, byte[] content, Timestamp updatedAt) {}
+
+    @Scheduled(fixedDelayString = "${app.story-metadata.backfill.delay-ms:1000}")
+    public void backfillNextBatch() {
+        if (!enabled || finished) {
+            return;
+        }
+
+        List<PendingRow> rows = jdbcTemplate.query(
+                "SELECT id, content, updated_at FROM stories " +
+                        "WHERE id > ? AND (word_count IS NULL OR content_hash IS NULL " +
+                        "OR NOT EXISTS (SELECT 1 FROM story_search ss WHERE ss.story_id = stories.id)) " +
+                        "ORDER BY id LIMIT ?",
+                (rs, rowNum) -> new PendingRow(rs.getLong("id"), rs.getBytes("content"), rs.getTimestamp("updated_at")),
+                lastId, batchSize);
+
+        if (rows.isEmpty()) {
+            finished = true;
+            log.info("Story metadata backfill finished: {} rows", updatedRows);
+            return;
+        }
+
+        for (PendingRow row : rows) {
+            String content = ContentCompression.decode(row.content());
+            String plainText = StoryMetrics.plainText(content);
+            int wordCount = StoryMetrics.wordCount(plainText);
+            int updated = jdbcTemplate.update(
+                    "UPDATE stories SET excerpt = ?, word_count = ?, reading_time_minutes = ?, content_hash = ? " +
+                            "WHERE id = ? AND updated_at <=> ?",
+                    StoryMetrics.excerpt(plainText), wordCount, StoryMetrics.readingTimeMinutes(wordCount),
+                    ContentHash.sha256(content), row.id(), row.updatedAt());
+            if (updated > 0) {
+                // An edit since then has written its own, newer row; keep that one
+                jdbcTemplate.update("INSERT IGNORE INTO story_search (story_id, search_text) VALUES (?, ?)",
+                        row.id(), plainText);
+            }
+            updatedRows += updated;
+            lastId = row.id();
+        }
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+}
@@ -0,0 +1,113 @@
+package com.project.inklink.service;
+
+import com.project.inklink.entity.Story;
+import com.project.inklink.entity.StoryRevision;
+import com.project.inklink.entity.User;
+import com.project.inklink.repository.StoryRevisionRepository;
+import com.project.inklink.util.ContentCompression;
+import com.project.inklink.util.ContentHash;
+import com.project.inklink.util.TextDelta;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Content history for stories. Every content change stores a delta against the previous
+ * revision; every {@code app.revisions.snapshot-interval} revisions (or whenever the delta would
+ * be larger) the full text is stored instead, so rebuilding any revision applies at most
+ * interval - 1 deltas.
+ */
+@Service
+@Transactional
+public class StoryRevisionService {
+
+    @Autowired
+    private StoryRevisionRepository storyRevisionRepository;
+
+    @Value("${app.revisions.snapshot-interval:10}")
+    private int snapshotInterval;
+
+    /**
+     * Record a content change. previousContent is the story's content before this save, or null
+     * for a new story.
+     */
+    public StoryRevision recordRevision(Story story, String previousContent, String newContent,
+                                        String newContentHash, User editor) {
+        Integer latest = storyRevisionRepository.findLatestRevisionNumber(story.getId());
+
+        // Stories written before revisions existed get their old content as revision 1
+        if (latest == null && previousContent != null) {
+            storyRevisionRepository.save(new StoryRevision(story, 1, true,
+                    ContentCompression.encode(previousContent), ContentHash.sha256(previousContent), null));
+            latest = 1;
+        }
+
+        int revisionNumber = latest == null ? 1 : latest + 1;
+        byte[] snapshot = ContentCompression.encode(newContent);
+        boolean isSnapshot = previousContent == null || (revisionNumber - 1) % snapshotInterval == 0;
+
+        byte[] data = snapshot;
+        if (!isSnapshot) {
+            byte[] delta = TextDelta.diff(previousContent, newContent);
+            if (delta.length < snapshot.length) {
+                data = delta;
+            } else {
+                isSnapshot = true;
+            }
+        }
+
+        return storyRevisionRepository.save(new StoryRevision(story, revisionNumber, isSnapshot, data,
+                newContentHash, editor));
+    }
+
+    // Revision metadata, newest first
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> listRevisions(Long storyId) {
+        List<Map<String, Object>> revisions = new ArrayList<>();
+        for (Object[] row : storyRevisionRepository.findSummariesByStoryId(storyId)) {
+            Map<String, Object> revision = new HashMap<>();
+            revision.put("revisionNumber", row[0]);
+            revision.put("snapshot", row[1]);
+            revision.put("contentHash", row[2]);
+            revision.put("createdAt", row[3]);
+            revision.put("editorId", row[4]);
+            revisions.add(revision);
+        }
+        return revisions;
+    }
+
+    /**
+     * Rebuild the content of a revision from its nearest snapshot
+     */
+    @Transactional(readOnly = true)
+    public String getRevisionContent(Long storyId, Integer revisionNumber) {
+        StoryRevision snapshot = storyRevisionRepository
+                .findTopByStoryIdAndSnapshotTrueAndRevisionNumberLessThanEqualOrderByRevisionNumberDesc(storyId, revisionNumber)
+                .orElseThrow(() -> new RuntimeException("Revision not found: " + revisionNumber));
+
+        String content = ContentCompression.decode(snapshot.getData());
+        if (snapshot.getRevisionNumber().equals(revisionNumber)) {
+            return content;
+        }
+
+        List<StoryRevision> deltas = storyRevisionRepository
+                .findByStoryIdAndRevisionNumberBetweenOrderByRevisionNumberAsc(
+                        storyId, snapshot.getRevisionNumber() + 1, revisionNumber);
+        if (deltas.isEmpty() || !deltas.get(deltas.size() - 1).getRevisionNumber().equals(revisionNumber)) {
+            throw new RuntimeException("Revision not found: " + revisionNumber);
+        }
+
+        for (StoryRevision revision : deltas) {
+            content = revision.getSnapshot()
+                    ? ContentCompression.decode(revision.getData())
+                    : TextDelta.apply(content, revision.getData());
+        }
+        return content;
+    }
+}
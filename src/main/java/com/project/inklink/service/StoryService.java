@@ -2,21 +2,37 @@ package com.project.inklink.service;
 
 import com.project.inklink.entity.Story;
 import com.project.inklink.entity.StoryLike;
+import com.project.inklink.entity.StorySummary;
+import com.project.inklink.entity.Tag;
 import com.project.inklink.entity.User;
 import com.project.inklink.entity.enums.StoryGenre;
 import com.project.inklink.entity.enums.StoryStatus;
+import com.project.inklink.event.DomainEventBus;
+import com.project.inklink.event.StoryDeleted;
+import com.project.inklink.event.StoryLiked;
+import com.project.inklink.event.StoryPublished;
+import com.project.inklink.event.StoryRead;
+import com.project.inklink.event.StoryUnliked;
+import com.project.inklink.event.StoryUpdated;
 import com.project.inklink.repository.StoryLikeRepository;
 import com.project.inklink.repository.StoryRepository;
+import com.project.inklink.repository.StorySearchRepository;
+import com.project.inklink.repository.StorySummaryRepository;
 import com.project.inklink.repository.UserRepository;
+import com.project.inklink.util.ContentHash;
+import com.project.inklink.util.StoryMetrics;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import static com.project.inklink.util.TransactionCallbacks.afterCommit;
+
 @Service
 @Transactional
 public class StoryService {
@@ -24,25 +40,66 @@ public class StoryService {
     @Autowired
     private StoryRepository storyRepository;
 
+    @Autowired
+    private StorySummaryRepository storySummaryRepository;
+
+    @Autowired
+    private StorySearchRepository storySearchRepository;
+
     @Autowired
     private StoryLikeRepository storyLikeRepository;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private RelatedStoryService relatedStoryService;
+
+    @Autowired
+    private StoryRevisionService storyRevisionService;
+
+    @Autowired
+    private LikeStatusService likeStatusService;
+
+    @Autowired
+    private ListingResponseCache listingResponseCache;
+
+    @Autowired
+    private GenreIndexService genreIndexService;
+
+    @Autowired
+    private BulkDeleteService bulkDeleteService;
+
+    @Autowired
+    private DomainEventBus eventBus;
+
+    @Autowired
+    private StoryCountService storyCountService;
+
     // Get all published stories with pagination
-    public Page<Story> getPublishedStories(Pageable pageable) {
-        return storyRepository.findByStatus(StoryStatus.PUBLISHED, pageable);
+    @Transactional(readOnly = true)
+    public Slice<StorySummary> getPublishedStories(Pageable pageable) {
+        return storySummaryRepository.findByStatus(StoryStatus.PUBLISHED, pageable);
     }
 
     // Search stories
-    public Page<Story> searchStories(String searchTerm, Pageable pageable) {
-        return storyRepository.searchStories(searchTerm, pageable);
+    @Transactional(readOnly = true)
+    public Slice<StorySummary> searchStories(String searchTerm, Pageable pageable) {
+        return storySummaryRepository.searchStories(searchTerm, pageable);
     }
 
     // Get stories by genre
-    public Page<Story> getStoriesByGenre(StoryGenre genre, Pageable pageable) {
-        return storyRepository.findByGenreAndStatus(genre, StoryStatus.PUBLISHED, pageable);
+    @Transactional(readOnly = true)
+    public Slice<StorySummary> getStoriesByGenre(StoryGenre genre, Pageable pageable) {
+        // Served from the in-memory genre index when the sort is indexed
+        return genreIndexService.findPublishedByGenre(genre, pageable)
+                .orElseGet(() -> storySummaryRepository.findByGenreAndStatus(genre, StoryStatus.PUBLISHED, pageable));
+    }
+
+    // Get stories by tag
+    @Transactional(readOnly = true)
+    public Slice<StorySummary> getStoriesByTag(String tagName, Pageable pageable) {
+        return storySummaryRepository.findByTagName(tagName, pageable);
     }
 
     // Get story by ID
@@ -52,24 +109,126 @@ public class StoryService {
 
     // Create story
     public Story createStory(Story story) {
-        return storyRepository.save(story);
+        String plainText = applyContent(story, story.getContent(), ContentHash.sha256(story.getContent()));
+        stampPublishedAt(story);
+        Story saved = storyRepository.save(story);
+        storySearchRepository.upsert(saved.getId(), plainText);
+        storyRevisionService.recordRevision(saved, null, saved.getContent(), saved.getContentHash(), saved.getAuthor());
+        onSaved(saved);
+        return saved;
+    }
+
+    /**
+     * Update story with new content. A revision is recorded only if the content changed; if the
+     * title, status and genre are unchanged too, nothing is saved and no event is published.
+     */
+    public Story updateStory(Story story, String newContent, User editor) {
+        String currentHash = story.getContentHash() != null
+                ? story.getContentHash()
+                : ContentHash.sha256(story.getContent());
+        String newHash = ContentHash.sha256(newContent);
+
+        if (newHash.equals(currentHash)) {
+            if (!story.hasFieldChanges()) {
+                return story;
+            }
+        } else {
+            storyRevisionService.recordRevision(story, story.getContent(), newContent, newHash, editor);
+            storySearchRepository.upsert(story.getId(), applyContent(story, newContent, newHash));
+        }
+        return updateStory(story);
+    }
+
+    // Set content together with everything derived from it, so listings never need the content.
+    // Returns the plain text for story_search, which the caller writes once the story has an id.
+    private String applyContent(Story story, String content, String contentHash) {
+        String plainText = StoryMetrics.plainText(content);
+        int wordCount = StoryMetrics.wordCount(plainText);
+        story.setContent(content);
+        story.setContentHash(contentHash);
+        story.setExcerpt(StoryMetrics.excerpt(plainText));
+        story.setWordCount(wordCount);
+        story.setReadingTimeMinutes(StoryMetrics.readingTimeMinutes(wordCount));
+        return plainText;
+    }
+
+    // Restore an earlier revision as new content (recorded as a new revision)
+    public Story restoreRevision(Story story, Integer revisionNumber, User editor) {
+        String content = storyRevisionService.getRevisionContent(story.getId(), revisionNumber);
+        return updateStory(story, content, editor);
     }
 
     // Update story
     public Story updateStory(Story story) {
-        return storyRepository.save(story);
+        stampPublishedAt(story);
+        Story saved = storyRepository.save(story);
+        onSaved(saved);
+        return saved;
+    }
+
+    // The first publish fixes the story's place in home feeds; later edits or a re-publish keep it
+    private void stampPublishedAt(Story story) {
+        if (story.publishesOnSave() && story.getPublishedAt() == null) {
+            story.setPublishedAt(LocalDateTime.now());
+        }
+    }
+
+    // Feeds, suggestions and related stories follow the published event; the genre index, listing
+    // totals and cached listings are updated directly on commit so the author sees the change at once
+    private void onSaved(Story story) {
+        Long storyId = story.getId();
+        Long authorId = story.getAuthor().getId();
+        if (story.publishesOnSave()) {
+            List<Long> tagIds = story.getTags().stream().map(Tag::getId).toList();
+            eventBus.publish(new StoryPublished(storyId, authorId, tagIds, story.getPublishedAt()));
+        } else {
+            eventBus.publish(new StoryUpdated(storyId, authorId));
+        }
+        updateGenreIndex(story);
+        storyCountService.onStorySaved(story);
+        if (story.affectsPublicListings()) {
+            afterCommit(listingResponseCache::invalidateAll);
+        }
+        story.markPersisted();
+    }
+
+    // Get related stories from the precomputed neighbour lists
+    @Transactional(readOnly = true)
+    public List<StorySummary> getRelatedStories(Long storyId, int limit) {
+        return relatedStoryService.getRelatedStories(storyId, limit);
     }
 
     // Delete story
     public void deleteStory(Long id) {
-        // First, delete all likes for this story
-        storyLikeRepository.deleteByStoryId(id);
-        
-        // Then delete the story itself
-        storyRepository.deleteById(id);
+        storyCountService.onStoriesDeleting(List.of(id));
+        // Likes, comments, revisions and tag links go first in chunked bulk deletes, then the story
+        bulkDeleteService.deleteStory(id);
+        onStoriesDeleted(List.of(id));
+    }
+
+    // Drop deleted stories from the in-memory indexes and caches once the delete commits
+    public void onStoriesDeleted(List<Long> storyIds) {
+        if (storyIds.isEmpty()) {
+            return;
+        }
+        storyIds.forEach(storyId -> eventBus.publish(new StoryDeleted(storyId)));
+        afterCommit(listingResponseCache::invalidateAll);
+        afterCommit(() -> storyIds.forEach(genreIndexService::onStoryDeleted));
+    }
+
+    // Keep the per-genre listing indexes in step with the story's current values
+    private void updateGenreIndex(Story story) {
+        Long storyId = story.getId();
+        StoryGenre genre = story.getGenre();
+        StoryStatus status = story.getStatus();
+        LocalDateTime createdAt = story.getCreatedAt();
+        int readCount = story.getReadCount() != null ? story.getReadCount() : 0;
+        int likeCount = story.getLikeCount() != null ? story.getLikeCount() : 0;
+        afterCommit(() -> genreIndexService.onStoryChanged(storyId, genre, status, createdAt, readCount, likeCount));
     }
 
     // Check if user is story author
+    @Transactional(readOnly = true)
     public boolean isStoryAuthor(Long storyId, Long userId) {
         Optional<Story> story = storyRepository.findById(storyId);
         return story.isPresent() &&
@@ -78,18 +237,21 @@ public class StoryService {
     }
 
     // Get user's stories
-    public List<Story> getUserStories(User author) {
-        return storyRepository.findByAuthor(author);
+    @Transactional(readOnly = true)
+    public List<StorySummary> getUserStories(Long authorId) {
+        return storySummaryRepository.findByAuthorIdOrderByCreatedAtDesc(authorId);
     }
 
     // Get user's published stories
-    public List<Story> getUserPublishedStories(User author) {
-        return storyRepository.findByAuthorAndStatus(author, StoryStatus.PUBLISHED);
+    @Transactional(readOnly = true)
+    public List<StorySummary> getUserPublishedStories(User author) {
+        return storySummaryRepository.findByAuthorIdAndStatusOrderByCreatedAtDesc(author.getId(), StoryStatus.PUBLISHED);
     }
 
     // Get user's draft stories
-    public List<Story> getUserDraftStories(User author) {
-        return storyRepository.findByAuthorAndStatus(author, StoryStatus.DRAFT);
+    @Transactional(readOnly = true)
+    public List<StorySummary> getUserDraftStories(User author) {
+        return storySummaryRepository.findByAuthorIdAndStatusOrderByCreatedAtDesc(author.getId(), StoryStatus.DRAFT);
     }
 
     /**
@@ -122,6 +284,9 @@ public class StoryService {
             Long currentLikeCount = storyLikeRepository.countByStoryId(storyId);
             story.setLikeCount(currentLikeCount.intValue());
             storyRepository.save(story);
+            updateGenreIndex(story);
+            afterCommit(() -> likeStatusService.onLikeChanged(userId, storyId, false));
+            eventBus.publish(new StoryUnliked(storyId, userId, story.getLikeCount()));
 
             return false; // Unliked
         } else {
@@ -133,6 +298,9 @@ public class StoryService {
             Long currentLikeCount = storyLikeRepository.countByStoryId(storyId);
             story.setLikeCount(currentLikeCount.intValue());
             storyRepository.save(story);
+            updateGenreIndex(story);
+            afterCommit(() -> likeStatusService.onLikeChanged(userId, storyId, true));
+            eventBus.publish(new StoryLiked(storyId, userId, story.getLikeCount()));
 
             return true; // Liked
         }
@@ -141,36 +309,65 @@ public class StoryService {
     /**
      * Check if user has liked a story
      */
+    @Transactional(readOnly = true)
     public boolean hasUserLikedStory(Long storyId, Long userId) {
-        return storyLikeRepository.existsByStoryIdAndUserId(storyId, userId);
+        return likeStatusService.isLiked(userId, storyId);
     }
 
     /**
      * Get like count for a story
      */
+    @Transactional(readOnly = true)
     public int getLikeCount(Long storyId) {
         Long count = storyLikeRepository.countByStoryId(storyId);
         return count != null ? count.intValue() : 0;
     }
 
     /**
-     * Increment read count for a story
+     * Increment read count for a story of any status. Like recordRead, the count is updated in
+     * place: the story is not loaded and updatedAt is left alone, since a read is not an edit.
      */
-    public void incrementReadCount(Long storyId) {
-        Optional<Story> storyOpt = storyRepository.findById(storyId);
-        if (storyOpt.isPresent()) {
-            Story story = storyOpt.get();
-            int currentReadCount = story.getReadCount() != null ? story.getReadCount() : 0;
-            story.setReadCount(currentReadCount + 1);
-            storyRepository.save(story);
-        } else {
+    public int incrementReadCount(Long storyId) {
+        if (storyRepository.incrementReadCount(storyId) == 0) {
             throw new RuntimeException("Story not found with id: " + storyId);
         }
+        return onRead(storyId);
+    }
+
+    /**
+     * Count a read of a published story without loading the entity, so the content column is
+     * never read. Returns the new read count, or null when the story is missing or not published.
+     */
+    public Integer recordRead(Long storyId) {
+        if (storyRepository.incrementPublishedReadCount(storyId) == 0) {
+            return null;
+        }
+        return onRead(storyId);
+    }
+
+    // Move the story in the genre indexes by its new read count, which is returned
+    private int onRead(Long storyId) {
+        Object[] row = storyRepository.findSortKeys(storyId).get(0);
+        StoryGenre genre = (StoryGenre) row[0];
+        StoryStatus status = (StoryStatus) row[1];
+        LocalDateTime createdAt = (LocalDateTime) row[2];
+        int readCount = row[3] != null ? (Integer) row[3] : 0;
+        int likeCount = row[4] != null ? (Integer) row[4] : 0;
+        afterCommit(() -> genreIndexService.onStoryChanged(storyId, genre, status, createdAt, readCount, likeCount));
+        eventBus.publish(new StoryRead(storyId, readCount));
+        return readCount;
+    }
+
+    // Existence check that does not load the story
+    @Transactional(readOnly = true)
+    public boolean storyExists(Long storyId) {
+        return storyRepository.existsById(storyId);
     }
 
     /**
      * Get read count for a story
      */
+    @Transactional(readOnly = true)
     public int getReadCount(Long storyId) {
         Optional<Story> storyOpt = storyRepository.findById(storyId);
         if (storyOpt.isPresent()) {
@@ -183,6 +380,7 @@ public class StoryService {
     /**
      * Get story with like information for a specific user
      */
+    @Transactional(readOnly = true)
     public Story getStoryWithLikeInfo(Long storyId, Long userId) {
         Optional<Story> storyOpt = storyRepository.findById(storyId);
         if (storyOpt.isPresent()) {
@@ -0,0 +1,171 @@
+package com.project.inklink.service;
+
+import com.project.inklink.event.DomainEvent;
+import com.project.inklink.event.DomainEventConsumer;
+import com.project.inklink.event.StoryPublished;
+import com.project.inklink.event.UserUpdated;
+import com.project.inklink.repository.TagRepository;
+import com.project.inklink.repository.UserRepository;
+import com.project.inklink.util.PrefixIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Search-box suggestions for tags and usernames.
+ *
+ * Both are served from in-memory prefix indexes instead of LIKE '%...%' scans. Tags are ranked
+ * by how many published stories use them and users by how many stories they have published.
+ * Creates, renames and deletes are applied straight away; publish counts are batched and the
+ * whole index is reloaded periodically to pick up anything missed.
+ */
+@Service
+public class SuggestService implements DomainEventConsumer {
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${app.suggest.max-limit:20}")
+    private int maxLimit;
+
+    private final PrefixIndex tags = new PrefixIndex();
+    private final PrefixIndex users = new PrefixIndex();
+
+    // Weight changes waiting for the next batch, id -> delta
+    private final Map<Long, Long> pendingTagWeights = new ConcurrentHashMap<>();
+    private final Map<Long, Long> pendingUserWeights = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        reload();
+    }
+
+    /**
+     * Reload both indexes from the database
+     */
+    @Scheduled(cron = "${app.suggest.reload-cron:0 30 * * * *}")
+    @Transactional(readOnly = true)
+    public void reload() {
+        // Counts pending now are already in the database totals loaded below
+        pendingTagWeights.clear();
+        pendingUserWeights.clear();
+        tags.replaceAll(toEntries(tagRepository.findAllWithPublishedStoryCount()));
+        users.replaceAll(toEntries(userRepository.findAllWithPublishedStoryCount()));
+    }
+
+    /**
+     * Tag and username suggestions for a prefix, most popular first
+     */
+    public Map<String, Object> suggest(String prefix, int limit) {
+        int validLimit = Math.max(1, Math.min(limit, maxLimit));
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("tags", toMaps(tags.suggest(prefix, validLimit), "name", "storyCount"));
+        result.put("users", toMaps(users.suggest(prefix, validLimit), "username", "storyCount"));
+        return result;
+    }
+
+    // Index maintenance, called by the owning services after their transaction commits
+
+    public void onTagCreated(Long tagId, String name) {
+        tags.put(tagId, name, 0);
+    }
+
+    public void onTagRenamed(Long tagId, String name) {
+        tags.rename(tagId, name);
+    }
+
+    public void onTagDeleted(Long tagId) {
+        tags.remove(tagId);
+    }
+
+    public void onUserCreated(Long userId, String username) {
+        users.put(userId, username, 0);
+    }
+
+    public void onUserRenamed(Long userId, String username) {
+        users.rename(userId, username);
+    }
+
+    public void onUserDeleted(Long userId) {
+        users.remove(userId);
+    }
+
+    /**
+     * A story was published: count it for its author and each of its tags
+     */
+    public void onStoryPublished(Long authorId, Collection<Long> tagIds) {
+        pendingUserWeights.merge(authorId, 1L, Long::sum);
+        for (Long tagId : tagIds) {
+            pendingTagWeights.merge(tagId, 1L, Long::sum);
+        }
+    }
+
+    @Override
+    public boolean accepts(DomainEvent event) {
+        return event instanceof StoryPublished || event instanceof UserUpdated;
+    }
+
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            if (event instanceof StoryPublished published) {
+                onStoryPublished(published.authorId(), published.tagIds());
+            } else if (event instanceof UserUpdated updated) {
+                onUserRenamed(updated.userId(), updated.username());
+            }
+        }
+    }
+
+    // Apply batched weight changes, so a burst of publishes costs one index copy
+    @Scheduled(fixedDelayString = "${app.suggest.weight-flush-ms:10000}")
+    public void flushWeights() {
+        tags.addWeights(drain(pendingTagWeights));
+        users.addWeights(drain(pendingUserWeights));
+    }
+
+    private static Map<Long, Long> drain(Map<Long, Long> pending) {
+        Map<Long, Long> drained = new HashMap<>();
+        for (Long id : pending.keySet()) {
+            Long delta = pending.remove(id);
+            if (delta != null) {
+                drained.put(id, delta);
+            }
+        }
+        return drained;
+    }
+
+    private static List<PrefixIndex.Entry> toEntries(List<Object[]> rows) {
+        List<PrefixIndex.Entry> entries = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            entries.add(new PrefixIndex.Entry((Long) row[0], (String) row[1], ((Number) row[2]).longValue()));
+        }
+        return entries;
+    }
+
+    private static List<Map<String, Object>> toMaps(List<PrefixIndex.Entry> entries, String textKey, String weightKey) {
+        List<Map<String, Object>> result = new ArrayList<>(entries.size());
+        for (PrefixIndex.Entry entry : entries) {
+            Map<String, Object> map = new HashMap<>();
+            map.put("id", entry.id());
+            map.put(textKey, entry.text());
+            map.put(weightKey, entry.weight());
+            result.add(map);
+        }
+        return result;
+    }
+}
@@ -1,23 +1,40 @@
 package com.project.inklink.service;
 
+import com.project.inklink.entity.Story;
 import com.project.inklink.entity.Tag;
 import com.project.inklink.repository.TagRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import static com.project.inklink.util.TransactionCallbacks.afterCommit;
+
 @Service
 public class TagService {
 
     @Autowired
     private TagRepository tagRepository;
 
+    @Autowired
+    private RelatedStoryService relatedStoryService;
+
+    @Autowired
+    private SuggestService suggestService;
+
+    @Autowired
+    private StoryCountService storyCountService;
+
+    @Autowired
+    private ListingResponseCache listingResponseCache;
+
+    @Transactional(readOnly = true)
     public List<Map<String, Object>> getPopularTags(int limit) {
         // Use the fixed repository method
         Pageable pageable = PageRequest.of(0, limit);
@@ -35,4 +52,56 @@ public class TagService {
             return tagMap;
         }).collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    // Tags that co-occur most with the given tag, served from the precomputed matrix
+    public List<Map<String, Object>> getRelatedTags(String name, int limit) {
+        return relatedStoryService.getRelatedTags(name, limit);
+    }
+
+    // Create a tag
+    @Transactional
+    public Tag createTag(String name) {
+        String trimmed = name.trim();
+        if (tagRepository.existsByName(trimmed)) {
+            throw new RuntimeException("Tag already exists: " + trimmed);
+        }
+        Tag saved = tagRepository.save(new Tag(trimmed));
+        afterCommit(() -> suggestService.onTagCreated(saved.getId(), saved.getName()));
+        return saved;
+    }
+
+    // Rename a tag
+    @Transactional
+    public Tag renameTag(Long tagId, String newName) {
+        Tag tag = tagRepository.findById(tagId)
+                .orElseThrow(() -> new RuntimeException("Tag not found with id: " + tagId));
+        String trimmed = newName.trim();
+        if (!trimmed.equals(tag.getName()) && tagRepository.existsByName(trimmed)) {
+            throw new RuntimeException("Tag already exists: " + trimmed);
+        }
+        storyCountService.onTagRenamed(tagId, tag.getName(), trimmed);
+        tag.setName(trimmed);
+        Tag saved = tagRepository.save(tag);
+        afterCommit(() -> suggestService.onTagRenamed(saved.getId(), saved.getName()));
+        afterCommit(() -> relatedStoryService.onTagRenamed(saved.getId(), saved.getName()));
+        afterCommit(listingResponseCache::invalidateAll);
+        return saved;
+    }
+
+    // Delete a tag and detach it from its stories
+    @Transactional
+    public void deleteTag(Long tagId) {
+        Tag tag = tagRepository.findById(tagId)
+                .orElseThrow(() -> new RuntimeException("Tag not found with id: " + tagId));
+        storyCountService.onTagDeleting(tagId, tag.getName());
+        for (Story story : List.copyOf(tag.getStories())) {
+            story.removeTag(tag);
+            Long storyId = story.getId();
+            afterCommit(() -> relatedStoryService.onStoryChanged(storyId));
+        }
+        tagRepository.delete(tag);
+        afterCommit(() -> suggestService.onTagDeleted(tagId));
+        afterCommit(() -> relatedStoryService.onTagDeleted(tagId));
+        afterCommit(listingResponseCache::invalidateAll);
+    }
+}
@@ -2,14 +2,22 @@ package com.project.inklink.service;
 
 import com.project.inklink.entity.User;
 import com.project.inklink.entity.enums.UserRole;
+import com.project.inklink.event.DomainEventBus;
+import com.project.inklink.event.UserUpdated;
 import com.project.inklink.repository.UserRepository;
+import com.project.inklink.security.PrincipalCache;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
+import static com.project.inklink.util.TransactionCallbacks.afterCommit;
+
 @Service
 public class UserService {
 
@@ -17,7 +25,34 @@ public class UserService {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private SuggestService suggestService;
+
+    @Autowired
+    private BulkDeleteService bulkDeleteService;
+
+    @Autowired
+    private StoryService storyService;
+
+    @Autowired
+    private StoryCountService storyCountService;
+
+    @Autowired
+    private FollowService followService;
+
+    @Autowired
+    private DomainEventBus eventBus;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private AccountNameFilter accountNameFilter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
 //    @Autowired
 //    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
@@ -29,6 +64,12 @@ public class UserService {
         return userRepository.findById(id);
     }
 
+    // Unloaded proxy for setting an association (author, editor, commenter) without a users lookup
+    public User getUserReference(Long id) {
+        return userRepository.getReferenceById(id);
+    }
+
+    // Login lookups stay on the primary so a user can sign in right after signing up
     public Optional<User> findByUsername(String username) {
         return userRepository.findByUsername(username);
     }
@@ -39,52 +80,108 @@ public class UserService {
 
     public User createUser(String username, String email, String password) {
         // Validate unique constraints
-        if (userRepository.existsByUsername(username)) {
+        if (!isUsernameAvailable(username)) {
             throw new RuntimeException("Username already exists");
         }
-        if (userRepository.existsByEmail(email)) {
+        if (!isEmailAvailable(email)) {
             throw new RuntimeException("Email already exists");
         }
 
         User user = new User();
         user.setUsername(username);
         user.setEmail(email);
-        user.setPassword(passwordEncoder.encode(password));
+        user.setPassword(passwordHashingService.encode(password));
         user.setRole(UserRole.USER);
 
-        return userRepository.save(user);
+        // Into the filters before the row exists, so they never report a taken name as free
+        accountNameFilter.onUserSaved(username, email);
+        User saved = userRepository.save(user);
+        afterCommit(() -> suggestService.onUserCreated(saved.getId(), saved.getUsername()));
+        return saved;
     }
 
+    @Transactional
     public User updateUser(User user) {
-        return userRepository.save(user);
+        // The row as stored: the entity passed in may already carry the new name
+        if (user.getId() != null) {
+            Map<String, Object> stored = jdbcTemplate.queryForMap(
+                    "SELECT username, email FROM users WHERE id = ?", user.getId());
+            boolean renamed = !Objects.equals(stored.get("username"), user.getUsername());
+            boolean newEmail = !Objects.equals(stored.get("email"), user.getEmail());
+            if (renamed || newEmail) {
+                accountNameFilter.onUserSaved(renamed ? user.getUsername() : null, newEmail ? user.getEmail() : null);
+                accountNameFilter.onNameReleased();
+            }
+        }
+        User saved = userRepository.save(user);
+        eventBus.publish(new UserUpdated(saved.getId(), saved.getUsername()));
+        afterCommit(() -> principalCache.evict(saved.getId()));
+        return saved;
     }
 
+    // Removes the user's stories, likes, comments and follows in chunked bulk deletes
+    @Transactional
     public void deleteUser(Long id) {
-        userRepository.deleteById(id);
+        storyCountService.onStoriesDeleting(
+                jdbcTemplate.queryForList("SELECT id FROM stories WHERE author_id = ?", Long.class, id));
+        List<Long> storyIds = bulkDeleteService.deleteUser(id);
+        storyService.onStoriesDeleted(storyIds);
+        afterCommit(() -> followService.removeUser(id));
+        afterCommit(() -> suggestService.onUserDeleted(id));
+        afterCommit(() -> principalCache.evict(id));
+        afterCommit(accountNameFilter::onNameReleased);
     }
 
     // Authentication methods
+    /**
+     * Look up an account by username or email and check its password on the hashing pool.
+     * Hashes made with an outdated cost are replaced in the background after a match.
+     */
+    public Optional<User> authenticate(String login, String rawPassword) {
+        // One lookup in the common case: try the column the login looks like first
+        boolean looksLikeEmail = login.indexOf('@') >= 0;
+        Optional<User> user = looksLikeEmail ? userRepository.findByEmail(login) : userRepository.findByUsername(login);
+        if (user.isEmpty()) {
+            user = looksLikeEmail ? userRepository.findByUsername(login) : userRepository.findByEmail(login);
+        }
+
+        String encoded = user.map(User::getPassword).orElse(null);
+        if (!passwordHashingService.matches(rawPassword, encoded)) {
+            return Optional.empty();
+        }
+
+        if (passwordHashingService.needsRehash(encoded)) {
+            Long userId = user.get().getId();
+            passwordHashingService.encodeInBackground(rawPassword,
+                    rehashed -> userRepository.replacePassword(userId, encoded, rehashed));
+        }
+        return user;
+    }
+
     public boolean validatePassword(String rawPassword, String encodedPassword) {
-        return passwordEncoder.matches(rawPassword, encodedPassword);
+        return passwordHashingService.matches(rawPassword, encodedPassword);
     }
 
     public User changePassword(Long userId, String newPassword) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(passwordHashingService.encode(newPassword));
         return userRepository.save(user);
     }
 
     // Profile management
+    @Transactional
     public User updateProfile(Long userId, String email, String profilePicture) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         if (email != null && !email.equals(user.getEmail())) {
-            if (userRepository.existsByEmail(email)) {
+            if (!isEmailAvailable(email)) {
                 throw new RuntimeException("Email already exists");
             }
+            accountNameFilter.onUserSaved(null, email);
+            accountNameFilter.onNameReleased();
             user.setEmail(email);
         }
 
@@ -92,7 +189,10 @@ public class UserService {
             user.setProfilePicture(profilePicture);
         }
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventBus.publish(new UserUpdated(saved.getId(), saved.getUsername()));
+        afterCommit(() -> principalCache.evict(saved.getId()));
+        return saved;
     }
 
     // Admin operations
@@ -101,28 +201,33 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         user.setRole(role);
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        afterCommit(() -> principalCache.evict(userId));
+        return saved;
     }
 
+    @Transactional(readOnly = true)
     public List<User> getUsersByRole(UserRole role) {
         return userRepository.findByRole(role.name());
     }
 
-    // Validation methods
+    // Validation methods: a Bloom filter miss is a definite "available" without a query
     public boolean isUsernameAvailable(String username) {
-        return !userRepository.existsByUsername(username);
+        return !accountNameFilter.mightHaveUsername(username) || !userRepository.existsByUsername(username);
     }
 
     public boolean isEmailAvailable(String email) {
-        return !userRepository.existsByEmail(email);
+        return !accountNameFilter.mightHaveEmail(email) || !userRepository.existsByEmail(email);
     }
 
     // Search functionality
+    @Transactional(readOnly = true)
     public List<User> searchUsers(String username) {
         return userRepository.findByUsernameContainingIgnoreCase(username);
     }
 
     // Analytics
+    @Transactional(readOnly = true)
     public Long getTotalUserCount() {
         return userRepository.count();
     }
@@ -0,0 +1,132 @@
+package com.project.inklink.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Storage format for large text columns.
+ *
+ * The first byte says how the rest is stored:
+ * 0x00 - plain UTF-8
+ * 0x01 - 4-byte original length followed by raw DEFLATE data
+ * Anything else is a legacy row written before this format existed and is plain UTF-8 as a whole
+ * (text never starts with a 0x00 or 0x01 control byte).
+ */
+public class ContentCompression {
+
+    public static final byte FORMAT_PLAIN = 0x00;
+    public static final byte FORMAT_DEFLATE = 0x01;
+
+    // Below this many UTF-8 bytes compression is not worth the CPU
+    public static final int DEFAULT_THRESHOLD_BYTES = 1024;
+
+    public static final int DEFAULT_LEVEL = 6;
+
+    /**
+     * Encode text, compressing it when it is at least thresholdBytes long and actually shrinks
+     */
+    public static byte[] encode(String text, int thresholdBytes, int level) {
+        if (text == null) {
+            return null;
+        }
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+
+        if (utf8.length >= thresholdBytes) {
+            byte[] compressed = deflate(utf8, level);
+            if (compressed.length + 5 < utf8.length) {
+                return ByteBuffer.allocate(compressed.length + 5)
+                        .put(FORMAT_DEFLATE)
+                        .putInt(utf8.length)
+                        .put(compressed)
+                        .array();
+            }
+        }
+
+        byte[] plain = new byte[utf8.length + 1];
+        plain[0] = FORMAT_PLAIN;
+        System.arraycopy(utf8, 0, plain, 1, utf8.length);
+        return plain;
+    }
+
+    public static byte[] encode(String text) {
+        return encode(text, DEFAULT_THRESHOLD_BYTES, DEFAULT_LEVEL);
+    }
+
+    /**
+     * Decode any stored value, including legacy rows without a format byte
+     */
+    public static String decode(byte[] stored) {
+        if (stored == null) {
+            return null;
+        }
+        if (stored.length == 0) {
+            return "";
+        }
+
+        switch (stored[0]) {
+            case FORMAT_PLAIN:
+                return new String(stored, 1, stored.length - 1, StandardCharsets.UTF_8);
+            case FORMAT_DEFLATE:
+                int originalLength = ByteBuffer.wrap(stored, 1, 4).getInt();
+                byte[] utf8 = inflate(stored, 5, stored.length - 5, originalLength);
+                return new String(utf8, StandardCharsets.UTF_8);
+            default:
+                return new String(stored, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * True if the value was written before the format byte existed
+     */
+    public static boolean isLegacy(byte[] stored) {
+        return stored != null && stored.length > 0
+                && stored[0] != FORMAT_PLAIN && stored[0] != FORMAT_DEFLATE;
+    }
+
+    private static byte[] deflate(byte[] input, int level) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, input.length / 3));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer);
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input, int offset, int length, int originalLength) {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(input, offset, length);
+            byte[] output = new byte[originalLength];
+            int total = 0;
+            while (total < originalLength && !inflater.finished()) {
+                int count = inflater.inflate(output, total, originalLength - total);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                total += count;
+            }
+            if (total != originalLength) {
+                throw new IllegalStateException("Corrupt compressed content: expected "
+                        + originalLength + " bytes, got " + total);
+            }
+            return total == output.length ? output : Arrays.copyOf(output, total);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed content", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -6,13 +6,20 @@ import com.project.inklink.entity.enums.StoryGenre;
 import com.project.inklink.entity.enums.StoryStatus;
 import com.project.inklink.service.StoryService;
 import com.project.inklink.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
+// Sample data for development; the fast-start profile skips the lookup on every boot
 @Component
+@Profile("!fast-start")
 public class DataSeeder implements CommandLineRunner {
 
+    private static final Logger log = LoggerFactory.getLogger(DataSeeder.class);
+
     @Autowired
     private UserService userService;
 
@@ -21,16 +28,16 @@ public class DataSeeder implements CommandLineRunner {
 
     @Override
     public void run(String... args) throws Exception {
-        System.out.println("DataSeeder started...");
+        log.info("DataSeeder started");
 
         try {
             if (userService.findByUsername("author1").isEmpty()) {
-                System.out.println("Creating sample users...");
+                log.info("Creating sample users");
 
                 User author1 = userService.createUser("author1", "author1@example.com", "password123");
                 User author2 = userService.createUser("author2", "author2@example.com", "password123");
 
-                System.out.println("Creating sample stories...");
+                log.info("Creating sample stories");
 
                 Story story1 = new Story();
                 story1.setTitle("The Mysterious Forest");
@@ -48,13 +55,12 @@ public class DataSeeder implements CommandLineRunner {
                 story2.setAuthor(author2);
                 storyService.createStory(story2);
 
-                System.out.println("Sample data created successfully!");
+                log.info("Sample data created");
             } else {
-                System.out.println("Sample data already exists.");
+                log.info("Sample data already exists");
             }
         } catch (Exception e) {
-            System.err.println("Error in DataSeeder: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error in DataSeeder", e);
         }
     }
 }
\ No newline at end of file
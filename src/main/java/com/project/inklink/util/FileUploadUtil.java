@@ -1,5 +1,7 @@
 package com.project.inklink.util;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -13,6 +15,8 @@ import java.util.UUID;
 
 public class FileUploadUtil {
 
+    private static final Logger log = LoggerFactory.getLogger(FileUploadUtil.class);
+
     // Configuration constants
     public static final long MAX_FILE_SIZE = 2 * 1024 * 1024; // 2MB
     public static final List<String> ALLOWED_IMAGE_TYPES = Arrays.asList(
@@ -191,13 +195,13 @@ public class FileUploadUtil {
                                 Files.delete(path);
                             } catch (IOException e) {
                                 // Log warning but continue
-                                System.err.println("Failed to delete temp file: " + path);
+                                log.warn("Failed to delete temp file: {}", path);
                             }
                         });
             }
         } catch (IOException e) {
             // Log warning but don't throw
-            System.err.println("Failed to cleanup temp files: " + e.getMessage());
+            log.warn("Failed to cleanup temp files", e);
         }
     }
 
@@ -0,0 +1,87 @@
+package com.project.inklink.util;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compact adjacency lists keyed by id. Each neighbour set is a sorted long[] that is replaced
+ * copy-on-write, so readers never lock and never see a partially updated array.
+ */
+public class LongAdjacencyList {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final Map<Long, long[]> edges = new ConcurrentHashMap<>();
+
+    /**
+     * Add an edge, returns false if it was already present
+     */
+    public boolean add(long from, long to) {
+        boolean[] added = {false};
+        edges.compute(from, (key, current) -> {
+            long[] array = current != null ? current : EMPTY;
+            int index = Arrays.binarySearch(array, to);
+            if (index >= 0) {
+                return array;
+            }
+            int insertAt = -index - 1;
+            long[] next = new long[array.length + 1];
+            System.arraycopy(array, 0, next, 0, insertAt);
+            next[insertAt] = to;
+            System.arraycopy(array, insertAt, next, insertAt + 1, array.length - insertAt);
+            added[0] = true;
+            return next;
+        });
+        return added[0];
+    }
+
+    /**
+     * Remove an edge, returns false if it was not present
+     */
+    public boolean remove(long from, long to) {
+        boolean[] removed = {false};
+        edges.computeIfPresent(from, (key, current) -> {
+            int index = Arrays.binarySearch(current, to);
+            if (index < 0) {
+                return current;
+            }
+            removed[0] = true;
+            if (current.length == 1) {
+                return null;
+            }
+            long[] next = new long[current.length - 1];
+            System.arraycopy(current, 0, next, 0, index);
+            System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+            return next;
+        });
+        return removed[0];
+    }
+
+    public boolean contains(long from, long to) {
+        return Arrays.binarySearch(neighbours(from), to) >= 0;
+    }
+
+    /**
+     * Sorted neighbours of a node. The returned array must not be modified.
+     */
+    public long[] neighbours(long from) {
+        long[] array = edges.get(from);
+        return array != null ? array : EMPTY;
+    }
+
+    public int degree(long from) {
+        return neighbours(from).length;
+    }
+
+    /**
+     * Drop a node and all of its outgoing edges
+     */
+    public void removeNode(long from) {
+        edges.remove(from);
+    }
+
+    public void clear() {
+        edges.clear();
+    }
+}
@@ -3,6 +3,7 @@ package com.project.inklink.util;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 
 import java.util.Map;
@@ -76,6 +77,41 @@ public class PaginationUtil {
         return metadata;
     }
 
+    /**
+     * Create pagination metadata for a Slice. A Page gets exact totals as above; a plain Slice
+     * only knows hasNext, and gets totals only if an approximate total is supplied.
+     */
+    public static Map<String, Object> createPaginationMetadata(Slice<?> slice, Long approximateTotal) {
+        if (slice instanceof Page<?> page) {
+            return createPaginationMetadata(page);
+        }
+
+        Map<String, Object> metadata = new HashMap<>();
+
+        metadata.put("currentPage", slice.getNumber());
+        metadata.put("pageSize", slice.getSize());
+        metadata.put("hasNext", slice.hasNext());
+        metadata.put("hasPrevious", slice.hasPrevious());
+        metadata.put("isFirst", slice.isFirst());
+        metadata.put("isLast", slice.isLast());
+
+        if (approximateTotal != null) {
+            // Counters lag behind writes, never report fewer items than we have already seen
+            long seen = (long) slice.getNumber() * slice.getSize() + slice.getNumberOfElements()
+                    + (slice.hasNext() ? 1 : 0);
+            long total = Math.max(approximateTotal, seen);
+            metadata.put("totalItems", total);
+            metadata.put("totalPages", calculateTotalPages(total, slice.getSize()));
+            metadata.put("approximateTotal", true);
+        }
+
+        return metadata;
+    }
+
+    public static Map<String, Object> createPaginationMetadata(Slice<?> slice) {
+        return createPaginationMetadata(slice, null);
+    }
+
     /**
      * Create pagination links for HATEOAS
      */
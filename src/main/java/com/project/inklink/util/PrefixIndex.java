@@ -0,0 +1,238 @@
+package com.project.inklink.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Weighted prefix index over short names (tags, usernames).
+ *
+ * Names are kept in a lowercase-sorted array, so the matches for a prefix are one contiguous
+ * range found by binary search. A max-weight segment tree over that array returns the heaviest
+ * matches of any range in O(limit * log n) without scanning it. Readers use an immutable
+ * snapshot; writers copy the arrays, which is O(n) per change and fine for names that change
+ * rarely.
+ */
+public class PrefixIndex {
+
+    /**
+     * One indexed name with its id and ranking weight
+     */
+    public record Entry(long id, String text, long weight) {}
+
+    private static final class Snapshot {
+        final String[] keys;
+        final Entry[] entries;
+        final long[] weights;
+        final int[] tree; // tree[size + i] = i, inner nodes hold the index of the heavier child
+        final int size;
+
+        Snapshot(String[] keys, Entry[] entries) {
+            this.keys = keys;
+            this.entries = entries;
+            this.size = entries.length;
+            this.weights = new long[size];
+            this.tree = new int[Math.max(2 * size, 2)];
+            for (int i = 0; i < size; i++) {
+                tree[size + i] = i;
+                weights[i] = entries[i].weight();
+            }
+            for (int node = size - 1; node > 0; node--) {
+                tree[node] = heavier(tree[2 * node], tree[2 * node + 1]);
+            }
+        }
+
+        int heavier(int a, int b) {
+            long wa = weights[a];
+            long wb = weights[b];
+            return wa > wb || (wa == wb && a < b) ? a : b;
+        }
+
+        // Index of the heaviest entry in [from, to), or -1 if the range is empty
+        int maxIn(int from, int to) {
+            int best = -1;
+            for (int lo = from + size, hi = to + size; lo < hi; lo >>= 1, hi >>= 1) {
+                if ((lo & 1) == 1) {
+                    best = best < 0 ? tree[lo] : heavier(best, tree[lo]);
+                    lo++;
+                }
+                if ((hi & 1) == 1) {
+                    hi--;
+                    best = best < 0 ? tree[hi] : heavier(best, tree[hi]);
+                }
+            }
+            return best;
+        }
+    }
+
+    private volatile Snapshot snapshot = new Snapshot(new String[0], new Entry[0]);
+
+    // id -> current key, used to find an entry's position when it changes
+    private final Map<Long, String> keysById = new HashMap<>();
+
+    /**
+     * Replace the whole index
+     */
+    public synchronized void replaceAll(List<Entry> entries) {
+        Entry[] sorted = entries.toArray(new Entry[0]);
+        Arrays.sort(sorted, (a, b) -> {
+            int byKey = normalize(a.text()).compareTo(normalize(b.text()));
+            return byKey != 0 ? byKey : Long.compare(a.id(), b.id());
+        });
+        String[] keys = new String[sorted.length];
+        keysById.clear();
+        for (int i = 0; i < sorted.length; i++) {
+            keys[i] = normalize(sorted[i].text());
+            keysById.put(sorted[i].id(), keys[i]);
+        }
+        snapshot = new Snapshot(keys, sorted);
+    }
+
+    /**
+     * Add an entry, or replace the existing entry with the same id (rename or new weight)
+     */
+    public synchronized void put(long id, String text, long weight) {
+        Snapshot current = snapshot;
+        String[] keys = current.keys;
+        Entry[] entries = current.entries;
+        int existing = positionOf(current, id);
+        if (existing >= 0) {
+            keys = without(keys, existing);
+            entries = without(entries, existing);
+        }
+
+        String key = normalize(text);
+        int insertAt = lowerBound(keys, key);
+        keysById.put(id, key);
+        snapshot = new Snapshot(with(keys, insertAt, key), with(entries, insertAt, new Entry(id, text, weight)));
+    }
+
+    /**
+     * Change an entry's text, keeping its weight. Ignored if the id is not indexed or the text is unchanged.
+     */
+    public synchronized void rename(long id, String text) {
+        int position = positionOf(snapshot, id);
+        if (position >= 0 && !snapshot.entries[position].text().equals(text)) {
+            put(id, text, snapshot.entries[position].weight());
+        }
+    }
+
+    /**
+     * Add to the weights of several entries in one copy, unknown ids are ignored
+     */
+    public synchronized void addWeights(Map<Long, Long> deltas) {
+        Snapshot current = snapshot;
+        Entry[] entries = current.entries.clone();
+        boolean changed = false;
+        for (Map.Entry<Long, Long> delta : deltas.entrySet()) {
+            int position = positionOf(current, delta.getKey());
+            if (position >= 0) {
+                Entry entry = entries[position];
+                entries[position] = new Entry(entry.id(), entry.text(), Math.max(0, entry.weight() + delta.getValue()));
+                changed = true;
+            }
+        }
+        if (changed) {
+            snapshot = new Snapshot(current.keys, entries);
+        }
+    }
+
+    public synchronized void remove(long id) {
+        Snapshot current = snapshot;
+        int position = positionOf(current, id);
+        if (position < 0) {
+            return;
+        }
+        keysById.remove(id);
+        snapshot = new Snapshot(without(current.keys, position), without(current.entries, position));
+    }
+
+    /**
+     * Heaviest entries whose name starts with the prefix (case-insensitive), heaviest first
+     */
+    public List<Entry> suggest(String prefix, int limit) {
+        Snapshot current = snapshot;
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        int from = lowerBound(current.keys, key);
+        int to = lowerBound(current.keys, key + Character.MAX_VALUE);
+        if (from >= to) {
+            return List.of();
+        }
+
+        // Best-first search: pop the heaviest range maximum, then split its range around it
+        PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) ->
+                current.heavier(a[0], b[0]) == a[0] ? -1 : 1);
+        ranges.add(new int[]{current.maxIn(from, to), from, to});
+
+        List<Entry> result = new ArrayList<>(Math.min(limit, to - from));
+        while (!ranges.isEmpty() && result.size() < limit) {
+            int[] range = ranges.poll();
+            int best = range[0];
+            result.add(current.entries[best]);
+            if (range[1] < best) {
+                ranges.add(new int[]{current.maxIn(range[1], best), range[1], best});
+            }
+            if (best + 1 < range[2]) {
+                ranges.add(new int[]{current.maxIn(best + 1, range[2]), best + 1, range[2]});
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return snapshot.size;
+    }
+
+    // Current position of an id, or -1 if it is not indexed. Caller holds the lock.
+    private int positionOf(Snapshot current, long id) {
+        String key = keysById.get(id);
+        if (key == null) {
+            return -1;
+        }
+        for (int i = lowerBound(current.keys, key); i < current.size && current.keys[i].equals(key); i++) {
+            if (current.entries[i].id() == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static <T> T[] with(T[] array, int position, T value) {
+        T[] copy = Arrays.copyOf(array, array.length + 1);
+        System.arraycopy(array, position, copy, position + 1, array.length - position);
+        copy[position] = value;
+        return copy;
+    }
+
+    private static <T> T[] without(T[] array, int position) {
+        T[] copy = Arrays.copyOf(array, array.length - 1);
+        System.arraycopy(array, position + 1, copy, position, copy.length - position);
+        return copy;
+    }
+
+    private static int lowerBound(String[] keys, String key) {
+        int lo = 0;
+        int hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+}
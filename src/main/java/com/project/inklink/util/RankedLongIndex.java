@@ -0,0 +1,131 @@
+package com.project.inklink.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Ids ordered by a long score, highest score first (ties: highest id first), kept in parallel
+ * primitive arrays. A page of the ordering is an array copy. Changing a score moves the id
+ * with one arraycopy over the distance it travels, which is short for counters that tick up
+ * by one.
+ */
+public class RankedLongIndex {
+
+    private long[] ids;
+    private long[] scores;
+    private int size;
+    private final Map<Long, Long> scoreById = new HashMap<>();
+
+    public RankedLongIndex() {
+        this(16);
+    }
+
+    public RankedLongIndex(int initialCapacity) {
+        ids = new long[Math.max(initialCapacity, 1)];
+        scores = new long[ids.length];
+    }
+
+    /**
+     * Insert an id or change its score
+     */
+    public synchronized void put(long id, long score) {
+        Long previous = scoreById.put(id, score);
+        if (previous == null) {
+            ensureCapacity(size + 1);
+            int position = insertionPoint(score, id);
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            System.arraycopy(scores, position, scores, position + 1, size - position);
+            ids[position] = id;
+            scores[position] = score;
+            size++;
+            return;
+        }
+        if (previous == score) {
+            return;
+        }
+
+        int from = indexOf(previous, id);
+        int to = insertionPoint(score, id);
+        // insertionPoint counts the entry itself when it sits before the target
+        if (to > from) {
+            to--;
+            System.arraycopy(ids, from + 1, ids, from, to - from);
+            System.arraycopy(scores, from + 1, scores, from, to - from);
+        } else if (to < from) {
+            System.arraycopy(ids, to, ids, to + 1, from - to);
+            System.arraycopy(scores, to, scores, to + 1, from - to);
+        }
+        ids[to] = id;
+        scores[to] = score;
+    }
+
+    public synchronized void remove(long id) {
+        Long score = scoreById.remove(id);
+        if (score == null) {
+            return;
+        }
+        int position = indexOf(score, id);
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        System.arraycopy(scores, position + 1, scores, position, size - position - 1);
+        size--;
+    }
+
+    /**
+     * Up to limit ids starting at offset, in descending order or (ascending) from the other end
+     */
+    public synchronized long[] slice(int offset, int limit, boolean ascending) {
+        if (offset >= size || limit <= 0) {
+            return new long[0];
+        }
+        int count = Math.min(limit, size - offset);
+        if (!ascending) {
+            return Arrays.copyOfRange(ids, offset, offset + count);
+        }
+        long[] result = new long[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = ids[size - 1 - offset - i];
+        }
+        return result;
+    }
+
+    public synchronized Long scoreOf(long id) {
+        return scoreById.get(id);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    // Position of an entry known to be present
+    private int indexOf(long score, long id) {
+        int position = insertionPoint(score, id);
+        if (position >= size || ids[position] != id) {
+            throw new IllegalStateException("Index out of sync for id " + id);
+        }
+        return position;
+    }
+
+    // First position whose (score, id) does not rank above the given pair
+    private int insertionPoint(long score, long id) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (scores[mid] > score || (scores[mid] == score && ids[mid] > id)) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > ids.length) {
+            int grown = Math.max(capacity, ids.length * 2);
+            ids = Arrays.copyOf(ids, grown);
+            scores = Arrays.copyOf(scores, grown);
+        }
+    }
+}
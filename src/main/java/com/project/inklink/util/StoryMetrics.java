@@ -0,0 +1,70 @@
+package com.project.inklink.util;
+
+import java.util.regex.Pattern;
+
+/**
+ * Derived values for story content (excerpt, word count, reading time), computed once when the
+ * content is saved so listings never need the content itself.
+ */
+public class StoryMetrics {
+
+    public static final int EXCERPT_LENGTH = 200;
+    public static final int WORDS_PER_MINUTE = 200;
+
+    private static final Pattern TAGS = Pattern.compile("<[^>]*>");
+    private static final Pattern ENTITIES = Pattern.compile("&(nbsp|amp|lt|gt|quot|#39);");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * Content as plain text: markup removed and whitespace collapsed
+     */
+    public static String plainText(String content) {
+        if (content == null) {
+            return "";
+        }
+        String text = TAGS.matcher(content).replaceAll(" ");
+        text = ENTITIES.matcher(text).replaceAll(match -> switch (match.group(1)) {
+            case "amp" -> "&";
+            case "lt" -> "<";
+            case "gt" -> ">";
+            case "quot" -> "\"";
+            case "#39" -> "'";
+            default -> " ";
+        });
+        return WHITESPACE.matcher(text).replaceAll(" ").trim();
+    }
+
+    /**
+     * First EXCERPT_LENGTH characters of the plain text, cut at a word boundary
+     */
+    public static String excerpt(String plainText) {
+        if (plainText.length() <= EXCERPT_LENGTH) {
+            return plainText;
+        }
+        int cut = plainText.lastIndexOf(' ', EXCERPT_LENGTH);
+        if (cut < EXCERPT_LENGTH / 2) {
+            cut = EXCERPT_LENGTH;
+        }
+        return plainText.substring(0, cut).trim() + "...";
+    }
+
+    public static int wordCount(String plainText) {
+        if (plainText.isEmpty()) {
+            return 0;
+        }
+        int words = 1;
+        for (int i = 0; i < plainText.length(); i++) {
+            if (plainText.charAt(i) == ' ') {
+                words++;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Estimated minutes to read, at least one
+     */
+    public static int readingTimeMinutes(int wordCount) {
+        return Math.max(1, (wordCount + WORDS_PER_MINUTE - 1) / WORDS_PER_MINUTE);
+    }
+}
@@ -0,0 +1,180 @@
+package com.project.inklink.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Line-based delta between two versions of a text.
+ *
+ * A delta is a list of operations that rebuild the target from the base:
+ * COPY(first base line, line count) and INSERT(text). Lines keep their '\n' terminator, so
+ * applying a delta reproduces the target exactly. Unchanged paragraphs, including moved ones,
+ * become a few bytes of COPY.
+ */
+public class TextDelta {
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final byte OP_COPY = 'C';
+    private static final byte OP_INSERT = 'I';
+
+    // Shorter lines are inserted rather than starting a new copy (blank lines, "* * *")
+    private static final int MIN_COPY_START_LENGTH = 8;
+
+    /**
+     * Compute the delta that turns base into target
+     */
+    public static byte[] diff(String base, String target) {
+        List<String> baseLines = splitLines(base);
+        List<String> targetLines = splitLines(target);
+
+        Map<String, List<Integer>> positions = new HashMap<>();
+        for (int i = 0; i < baseLines.size(); i++) {
+            positions.computeIfAbsent(baseLines.get(i), line -> new ArrayList<>()).add(i);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+
+            StringBuilder pendingInsert = new StringBuilder();
+            int copyStart = -1;
+            int copyLength = 0;
+            int nextExpected = 0;
+
+            for (String line : targetLines) {
+                // Extend the current copy while base and target keep matching
+                if (copyLength > 0 && copyStart + copyLength < baseLines.size()
+                        && baseLines.get(copyStart + copyLength).equals(line)) {
+                    copyLength++;
+                    continue;
+                }
+                if (copyLength > 0) {
+                    writeCopy(out, copyStart, copyLength);
+                    nextExpected = copyStart + copyLength;
+                    copyLength = 0;
+                }
+
+                List<Integer> candidates = line.length() >= MIN_COPY_START_LENGTH ? positions.get(line) : null;
+                if (candidates == null) {
+                    pendingInsert.append(line);
+                    continue;
+                }
+
+                // Prefer the first occurrence after the last copy so in-order text stays one run
+                int start = candidates.get(0);
+                for (int candidate : candidates) {
+                    if (candidate >= nextExpected) {
+                        start = candidate;
+                        break;
+                    }
+                }
+                writeInsert(out, pendingInsert);
+                copyStart = start;
+                copyLength = 1;
+            }
+
+            if (copyLength > 0) {
+                writeCopy(out, copyStart, copyLength);
+            }
+            writeInsert(out, pendingInsert);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode delta", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Rebuild the target text from the base and a delta produced by diff
+     */
+    public static String apply(String base, byte[] delta) {
+        List<String> baseLines = splitLines(base);
+        StringBuilder result = new StringBuilder(base.length() + 64);
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(delta))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalStateException("Unsupported delta format: " + version);
+            }
+            while (in.available() > 0) {
+                byte op = in.readByte();
+                if (op == OP_COPY) {
+                    int start = readVarInt(in);
+                    int count = readVarInt(in);
+                    for (int i = start; i < start + count; i++) {
+                        result.append(baseLines.get(i));
+                    }
+                } else if (op == OP_INSERT) {
+                    byte[] text = new byte[readVarInt(in)];
+                    in.readFully(text);
+                    result.append(new String(text, StandardCharsets.UTF_8));
+                } else {
+                    throw new IllegalStateException("Corrupt delta, unknown operation: " + op);
+                }
+            }
+        } catch (IOException | IndexOutOfBoundsException e) {
+            throw new IllegalStateException("Corrupt delta", e);
+        }
+        return result.toString();
+    }
+
+    // Split into lines, each keeping its trailing '\n' (the last line may have none)
+    private static List<String> splitLines(String text) {
+        List<String> lines = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                lines.add(text.substring(start, i + 1));
+                start = i + 1;
+            }
+        }
+        if (start < text.length()) {
+            lines.add(text.substring(start));
+        }
+        return lines;
+    }
+
+    private static void writeCopy(DataOutputStream out, int start, int count) throws IOException {
+        out.writeByte(OP_COPY);
+        writeVarInt(out, start);
+        writeVarInt(out, count);
+    }
+
+    private static void writeInsert(DataOutputStream out, StringBuilder pending) throws IOException {
+        if (pending.length() == 0) {
+            return;
+        }
+        byte[] text = pending.toString().getBytes(StandardCharsets.UTF_8);
+        out.writeByte(OP_INSERT);
+        writeVarInt(out, text.length);
+        out.write(text);
+        pending.setLength(0);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
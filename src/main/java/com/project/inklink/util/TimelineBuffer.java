@@ -0,0 +1,91 @@
+package com.project.inklink.util;
+
+/**
+ * Fixed-capacity buffer of (time, id) entries, kept newest first: by time, then by id for equal
+ * times. Entries may arrive out of order and are inserted at their place. Once full, a new entry
+ * drops the oldest one, and an entry older than everything kept is ignored. Ids are unique.
+ */
+public class TimelineBuffer {
+
+    private final long[] times;
+    private final long[] ids;
+    private int size;
+
+    public TimelineBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.times = new long[capacity];
+        this.ids = new long[capacity];
+    }
+
+    /**
+     * Insert an entry, ignoring it if the id is already buffered
+     */
+    public synchronized void add(long time, long id) {
+        if (contains(id)) {
+            return;
+        }
+        int position = position(time, id);
+        if (size == ids.length) {
+            if (position == size) {
+                return;
+            }
+            size--;
+        }
+        System.arraycopy(times, position, times, position + 1, size - position);
+        System.arraycopy(ids, position, ids, position + 1, size - position);
+        times[position] = time;
+        ids[position] = id;
+        size++;
+    }
+
+    public synchronized boolean contains(long id) {
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Copy of the buffered entries, newest first: [0] holds the times, [1] the ids
+     */
+    public synchronized long[][] snapshot() {
+        long[][] copy = new long[2][size];
+        System.arraycopy(times, 0, copy[0], 0, size);
+        System.arraycopy(ids, 0, copy[1], 0, size);
+        return copy;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return ids.length;
+    }
+
+    // First index whose entry is older than (time, id)
+    private int position(long time, long id) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (isNewer(times[mid], ids[mid], time, id)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * True if (timeA, idA) sorts before (timeB, idB) in newest-first order
+     */
+    public static boolean isNewer(long timeA, long idA, long timeB, long idB) {
+        return timeA != timeB ? timeA > timeB : idA > idB;
+    }
+}
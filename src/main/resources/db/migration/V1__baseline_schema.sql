@@ -0,0 +1,71 @@
+-- The schema ddl-auto=update built from the entities before versioned migrations were introduced.
+-- Databases created that way are baselined at this version (spring.flyway.baseline-on-migrate)
+-- and receive everything added since from V2 on, so this file must not change.
+-- Keep the migrations portable between MySQL 8 and H2 in MySQL mode (used by the tests).
+
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role ENUM('USER', 'ADMIN') NOT NULL,
+    profile_picture VARCHAR(255),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE stories (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    title VARCHAR(255) NOT NULL,
+    like_count INTEGER,
+    content TEXT NOT NULL,
+    genre ENUM('FICTION', 'NON_FICTION', 'FANTASY', 'SCI_FI', 'MYSTERY', 'ROMANCE', 'HORROR',
+               'POETRY', 'BIOGRAPHY', 'HISTORICAL', 'OTHER') NOT NULL,
+    status ENUM('DRAFT', 'PUBLISHED', 'ARCHIVED') NOT NULL,
+    read_count INTEGER NOT NULL,
+    author_id BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_stories_author FOREIGN KEY (author_id) REFERENCES users (id)
+);
+
+CREATE TABLE tags (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_tags_name UNIQUE (name)
+);
+
+CREATE TABLE story_tags (
+    story_id BIGINT NOT NULL,
+    tag_id BIGINT NOT NULL,
+    PRIMARY KEY (story_id, tag_id),
+    CONSTRAINT fk_story_tags_story FOREIGN KEY (story_id) REFERENCES stories (id),
+    CONSTRAINT fk_story_tags_tag FOREIGN KEY (tag_id) REFERENCES tags (id)
+);
+
+CREATE TABLE comments (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    content TEXT NOT NULL,
+    user_id BIGINT NOT NULL,
+    story_id BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_comments_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_comments_story FOREIGN KEY (story_id) REFERENCES stories (id)
+);
+
+CREATE TABLE story_likes (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    story_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    liked_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_story_likes_story_user UNIQUE (story_id, user_id),
+    CONSTRAINT fk_story_likes_story FOREIGN KEY (story_id) REFERENCES stories (id),
+    CONSTRAINT fk_story_likes_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
@@ -0,0 +1,11 @@
+-- Follow graph: who follows whom (FollowService, home feed fan-out)
+CREATE TABLE follows (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    follower_id BIGINT NOT NULL,
+    followee_id BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_follows_follower_followee UNIQUE (follower_id, followee_id),
+    CONSTRAINT fk_follows_follower FOREIGN KEY (follower_id) REFERENCES users (id),
+    CONSTRAINT fk_follows_followee FOREIGN KEY (followee_id) REFERENCES users (id)
+);
@@ -0,0 +1,6 @@
+-- Story content moves from TEXT to LONGBLOB so it can be stored compressed
+-- (see ContentCompression). Existing text is kept byte-for-byte and is read as
+-- a legacy row until ContentCompressionMigrator rewrites it.
+-- Changing a column type copies the table; on large tables apply this step with an
+-- online schema change tool (gh-ost, pt-online-schema-change) ahead of the deploy.
+ALTER TABLE stories MODIFY content LONGBLOB NOT NULL;
@@ -0,0 +1,19 @@
+-- Revision history: a delta against the previous revision, or a full snapshot every few
+-- revisions. content_hash on stories lets a save with unchanged content skip the write;
+-- rows saved before this have none and get one on their next save.
+ALTER TABLE stories ADD COLUMN content_hash VARCHAR(64);
+
+CREATE TABLE story_revisions (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    story_id BIGINT NOT NULL,
+    revision_number INTEGER NOT NULL,
+    snapshot BIT NOT NULL,
+    data LONGBLOB NOT NULL,
+    content_hash VARCHAR(64) NOT NULL,
+    editor_id BIGINT,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_story_revisions_story_revision UNIQUE (story_id, revision_number),
+    CONSTRAINT fk_story_revisions_story FOREIGN KEY (story_id) REFERENCES stories (id),
+    CONSTRAINT fk_story_revisions_editor FOREIGN KEY (editor_id) REFERENCES users (id)
+);
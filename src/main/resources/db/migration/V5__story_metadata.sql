@@ -0,0 +1,5 @@
+-- Excerpt, word count and reading time, computed when content is saved so listings never read
+-- the content column. StoryMetadataBackfill fills them in for existing rows.
+ALTER TABLE stories ADD COLUMN excerpt VARCHAR(300);
+ALTER TABLE stories ADD COLUMN word_count INTEGER;
+ALTER TABLE stories ADD COLUMN reading_time_minutes INTEGER;
@@ -0,0 +1,17 @@
+-- Transactional outbox: domain events stored with the change that caused them, relayed to the
+-- event bus by OutboxService after commit
+CREATE TABLE outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    idempotency_key VARCHAR(36) NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload TEXT NOT NULL,
+    attempts INTEGER NOT NULL,
+    next_attempt_at DATETIME(6) NOT NULL,
+    delivered_at DATETIME(6),
+    last_error VARCHAR(500),
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_outbox_idempotency_key UNIQUE (idempotency_key)
+);
+
+CREATE INDEX idx_outbox_pending ON outbox (delivered_at, next_attempt_at);
@@ -0,0 +1,42 @@
+-- Indexes for the repository queries. Equality columns come first, then the sort column, so
+-- listings read rows in order instead of filesorting; InnoDB appends the primary key to every
+-- secondary index, which makes "... ORDER BY id" and "SELECT id ..." covered as well.
+-- QueryIndexTest checks each query against these on H2.
+-- MySQL may drop the implicit foreign key indexes that these make redundant.
+-- On a large existing database, build them with an online schema change tool or at low traffic.
+
+-- StoryRepository/StorySummaryRepository.findByStatus (default sort createdAt), findRecentStories,
+-- findByStatusAndCreatedAtAfter, countByStatus, countGroupedByStatus
+CREATE INDEX idx_stories_status_created ON stories (status, created_at);
+
+-- findPopularStories and listings sorted by readCount
+CREATE INDEX idx_stories_status_read_count ON stories (status, read_count);
+
+-- findTopStoriesByLikes and listings sorted by likeCount
+CREATE INDEX idx_stories_status_like_count ON stories (status, like_count);
+
+-- findByGenreAndStatus/findByStatusAndGenre sorted by createdAt, findByGenres; covers
+-- countPublishedGroupedByGenre and findPublishedSortKeys (the genre index load)
+CREATE INDEX idx_stories_status_genre ON stories (status, genre, created_at, read_count, like_count);
+
+-- findByAuthor*, findByAuthorAndStatus, countPublishedStoriesByAuthor, existsByTitleAndAuthor,
+-- findPublishedIdsByAuthorIds (feed), the author's own listings
+CREATE INDEX idx_stories_author_status_created ON stories (author_id, status, created_at);
+
+-- Tag -> stories (findByTagName, countPublishedStoriesByTag, findUnusedTags, related tags);
+-- story -> tags is the primary key (story_id, tag_id)
+CREATE INDEX idx_story_tags_tag ON story_tags (tag_id, story_id);
+
+-- findByStoryOrderByCreatedAtDesc, findByStoryWithUser, findByStory, findByStories,
+-- countByStory, deleteByStory
+CREATE INDEX idx_comments_story_created ON comments (story_id, created_at);
+
+-- findByUser, countByUser, findByUserAndStory, existsByUserAndStory, deleteByUser
+CREATE INDEX idx_comments_user_story ON comments (user_id, story_id);
+
+-- findRecentComments, findByCreatedAtAfter
+CREATE INDEX idx_comments_created ON comments (created_at);
+
+-- findLikedStoryIds, findRecentLikedStoryIds (covered: story_id and id are both in the index);
+-- lookups by story go through uk_story_likes_story_user
+CREATE INDEX idx_story_likes_user_story ON story_likes (user_id, story_id);
@@ -0,0 +1,8 @@
+-- When a story was first published. Home feeds are ordered by it, so a draft written long ago
+-- and published today shows up as new. Existing published stories take their creation time.
+ALTER TABLE stories ADD COLUMN published_at DATETIME(6);
+
+UPDATE stories SET published_at = created_at WHERE status = 'PUBLISHED';
+
+-- StoryRepository.findPublishedFeedEntriesByAuthorIds (timeline hydration)
+CREATE INDEX idx_stories_author_status_published ON stories (author_id, status, published_at);
@@ -0,0 +1,10 @@
+-- Plain text of each story's content for search. content is stored compressed and cannot be
+-- matched with LIKE. The text lives in its own table so story rows stay small and loading a
+-- Story never reads it. Written when content is saved, and by StoryMetadataBackfill for older
+-- stories.
+CREATE TABLE story_search (
+    story_id BIGINT NOT NULL,
+    search_text MEDIUMTEXT NOT NULL,
+    PRIMARY KEY (story_id),
+    CONSTRAINT fk_story_search_story FOREIGN KEY (story_id) REFERENCES stories (id)
+);
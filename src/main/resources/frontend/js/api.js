@@ -27,10 +27,13 @@ class InkLinkAPI {
             // Handle non-JSON responses
             const contentType = response.headers.get('content-type');
             const isJson = contentType && contentType.includes('application/json');
+            const isCbor = contentType && contentType.includes('application/cbor');
 
             let data;
             if (isJson) {
                 data = await response.json();
+            } else if (isCbor) {
+                data = CBOR.decode(await response.arrayBuffer());
             } else if (response.status === 204) {
                 data = null; // No content
             } else {
@@ -61,6 +64,16 @@ class InkLinkAPI {
         }
     }
 
+    // Ask for CBOR instead of JSON. Responses keep the same shape; listings and stories are
+    // smaller on the wire. The server falls back to JSON if it cannot produce CBOR.
+    useBinaryResponses(enabled = true) {
+        if (enabled) {
+            this.defaultHeaders.Accept = 'application/cbor, application/json;q=0.9';
+        } else {
+            delete this.defaultHeaders.Accept;
+        }
+    }
+
     // Authentication API
     // Authentication API
     auth = {
@@ -88,6 +101,13 @@ class InkLinkAPI {
             return await this.request('/auth/me');
         },
 
+        checkAvailability: async ({ username, email } = {}) => {
+            const params = new URLSearchParams();
+            if (username) params.append('username', username);
+            if (email) params.append('email', email);
+            return await this.request(`/auth/availability?${params.toString()}`);
+        },
+
         verifySession: async () => {
             try {
                 await this.request('/auth/me');
@@ -170,6 +190,26 @@ class InkLinkAPI {
             return await this.request(`/stories/tag/${encodeURIComponent(tagName)}?${params}`);
         },
 
+        // Get related stories
+        getRelated: async (id, limit = 5) => {
+            return await this.request(`/stories/${id}/related?limit=${limit}`);
+        },
+
+        // Revision history (author only)
+        getRevisions: async (id) => {
+            return await this.request(`/stories/${id}/revisions`);
+        },
+
+        getRevision: async (id, revisionNumber) => {
+            return await this.request(`/stories/${id}/revisions/${revisionNumber}`);
+        },
+
+        restoreRevision: async (id, revisionNumber) => {
+            return await this.request(`/stories/${id}/revisions/${revisionNumber}/restore`, {
+                method: 'POST'
+            });
+        },
+
         // Filter stories by category
         getByCategory: async (category, page = 0, size = 12) => {
             const params = new URLSearchParams({
@@ -266,6 +306,56 @@ class InkLinkAPI {
         // Get user statistics
         getStats: async (userId) => {
             return await this.request(`/users/${userId}/stats`);
+        },
+
+        // Follow a user
+        follow: async (userId) => {
+            const response = await this.request(`/users/${userId}/follow`, {
+                method: 'POST'
+            });
+            this.invalidateCache?.(`/users/${userId}`);
+            return response;
+        },
+
+        // Unfollow a user
+        unfollow: async (userId) => {
+            const response = await this.request(`/users/${userId}/follow`, {
+                method: 'DELETE'
+            });
+            this.invalidateCache?.(`/users/${userId}`);
+            return response;
+        },
+
+        // Check whether the current user follows a user
+        getFollowStatus: async (userId) => {
+            return await this.request(`/users/${userId}/follow`);
+        },
+
+        // Link for downloading the current user's data ('ndjson' or 'zip'); the browser streams it to disk
+        getExportUrl: (format = 'ndjson') => {
+            return `${this.baseUrl}/users/me/export?format=${format}`;
+        }
+    };
+
+    // Feed API
+    feed = {
+        // Get the personalized home feed, pass the previous page's nextCursor to continue
+        get: async (cursor = null, size = 20) => {
+            const params = new URLSearchParams({ size: size.toString() });
+            if (cursor !== null) {
+                params.append('cursor', cursor.toString());
+            }
+
+            return await this.request(`/feed?${params}`);
+        }
+    };
+
+    // Suggest API
+    suggest = {
+        // Tag and username completions for the search box
+        get: async (prefix, limit = 5) => {
+            const params = new URLSearchParams({ prefix, limit: limit.toString() });
+            return await this.request(`/suggest?${params}`);
         }
     };
 
@@ -281,6 +371,11 @@ class InkLinkAPI {
             return await this.request(`/tags/popular?limit=${limit}`);
         },
 
+        // Get tags that often appear together with a tag
+        getRelated: async (tagName, limit = 10) => {
+            return await this.request(`/tags/${encodeURIComponent(tagName)}/related?limit=${limit}`);
+        },
+
         // Create tag (admin only)
         create: async (tagName) => {
             return await this.request('/tags', {
@@ -350,26 +445,122 @@ class InkLinkAPI {
         }
     };
 
-    // Batch operations
+    // Batch operations. The response data is { items, missing }: items in the order the ids
+    // were given, missing lists the ids that were not found. At most app.batch.max-ids per call.
     batch = {
         // Batch get stories
         getStories: async (storyIds) => {
-            return await this.request('/batch/stories', {
-                method: 'POST',
-                body: JSON.stringify({ ids: storyIds })
-            });
+            const params = new URLSearchParams({ ids: storyIds.join(',') });
+            return await this.request(`/stories/batch?${params}`);
         },
 
         // Batch get users
         getUsers: async (userIds) => {
-            return await this.request('/batch/users', {
-                method: 'POST',
-                body: JSON.stringify({ ids: userIds })
-            });
+            const params = new URLSearchParams({ ids: userIds.join(',') });
+            return await this.request(`/users/batch?${params}`);
         }
     };
 }
 
+// Minimal CBOR (RFC 8949) decoder for API responses: maps, arrays, strings, byte strings,
+// integers, floats, booleans and null, with definite or indefinite lengths (Jackson writes
+// objects as indefinite-length maps). Tags are skipped and the tagged value returned.
+const CBOR = {
+    decode(buffer) {
+        const view = new DataView(buffer);
+        const bytes = new Uint8Array(buffer);
+        const utf8 = new TextDecoder();
+        const BREAK = Symbol('break');
+        let offset = 0;
+
+        const readLength = (info) => {
+            let value;
+            if (info < 24) return info;
+            if (info === 31) return -1; // indefinite
+            if (info === 24) { value = view.getUint8(offset); offset += 1; }
+            else if (info === 25) { value = view.getUint16(offset); offset += 2; }
+            else if (info === 26) { value = view.getUint32(offset); offset += 4; }
+            else if (info === 27) { value = Number(view.getBigUint64(offset)); offset += 8; }
+            else throw new Error(`Invalid CBOR length encoding ${info}`);
+            return value;
+        };
+
+        const readHalf = () => {
+            const half = view.getUint16(offset);
+            offset += 2;
+            const exponent = (half >> 10) & 0x1f;
+            const fraction = half & 0x3ff;
+            const value = exponent === 0 ? fraction * 2 ** -24
+                : exponent === 31 ? (fraction ? NaN : Infinity)
+                : (fraction + 1024) * 2 ** (exponent - 25);
+            return half & 0x8000 ? -value : value;
+        };
+
+        const readItem = () => {
+            const initial = view.getUint8(offset);
+            offset += 1;
+            const major = initial >> 5;
+            const info = initial & 0x1f;
+
+            if (major === 7) {
+                let value;
+                switch (info) {
+                    case 20: return false;
+                    case 21: return true;
+                    case 22: return null;
+                    case 23: return undefined;
+                    case 25: return readHalf();
+                    case 26: value = view.getFloat32(offset); offset += 4; return value;
+                    case 27: value = view.getFloat64(offset); offset += 8; return value;
+                    case 31: return BREAK;
+                    default: return info < 24 ? undefined : readLength(info);
+                }
+            }
+
+            const length = readLength(info);
+            switch (major) {
+                case 0: return length;
+                case 1: return -1 - length;
+                case 2:
+                case 3: {
+                    if (length < 0) {
+                        const chunks = [];
+                        for (let chunk = readItem(); chunk !== BREAK; chunk = readItem()) chunks.push(chunk);
+                        if (major === 3) return chunks.join('');
+                        const joined = new Uint8Array(chunks.reduce((total, chunk) => total + chunk.length, 0));
+                        chunks.reduce((position, chunk) => { joined.set(chunk, position); return position + chunk.length; }, 0);
+                        return joined;
+                    }
+                    const chunk = bytes.subarray(offset, offset + length);
+                    offset += length;
+                    return major === 3 ? utf8.decode(chunk) : chunk.slice();
+                }
+                case 4: {
+                    const array = [];
+                    if (length < 0) {
+                        for (let item = readItem(); item !== BREAK; item = readItem()) array.push(item);
+                    } else {
+                        for (let i = 0; i < length; i++) array.push(readItem());
+                    }
+                    return array;
+                }
+                case 5: {
+                    const object = {};
+                    for (let i = 0; length < 0 || i < length; i++) {
+                        const key = readItem();
+                        if (key === BREAK) break;
+                        object[key] = readItem();
+                    }
+                    return object;
+                }
+                default: return readItem(); // tag 6
+            }
+        };
+
+        return readItem();
+    }
+};
+
 // Custom Error Class for API errors
 class APIError extends Error {
     constructor(message, status, data = null) {
@@ -656,6 +847,7 @@ if (typeof module !== 'undefined' && module.exports) {
         InkLinkAPIServiceWithCache,
         APIError,
         APICache,
+        CBOR,
         api
     };
 } else {
@@ -663,6 +855,7 @@ if (typeof module !== 'undefined' && module.exports) {
     window.InkLinkAPI = InkLinkAPI;
     window.InkLinkAPIService = InkLinkAPIService;
     window.APIError = APIError;
+    window.CBOR = CBOR;
     window.api = api;
 }
 
@@ -178,7 +178,7 @@ class InkLinkApp {
                         <div class="author-avatar">${story.author?.username?.charAt(0)?.toUpperCase() || 'U'}</div>
                         <span>${this.escapeHtml(story.author?.username || 'Unknown Author')}</span>
                     </div>
-                    <p class="story-excerpt">${this.escapeHtml(story.content?.substring(0, 150) || '')}...</p>
+                    <p class="story-excerpt">${this.escapeHtml(story.excerpt || '')}</p>
                     <div class="story-tags">
                         <span class="tag">${story.genre || 'Unknown'}</span>
                     </div>
@@ -225,9 +225,10 @@ class ProfilePage {
     }
 
     async checkIfFollowing() {
-        // Implement follow check logic
-        // This would typically call an API endpoint
-        return false; // Mock response
+        if (!this.currentUser || !this.profileUser) return false;
+
+        const response = await api.users.getFollowStatus(this.profileUser.id);
+        return response?.data?.following === true;
     }
 
     setupEventListeners() {
@@ -454,7 +455,7 @@ class ProfilePage {
                 </div>
                 <div class="story-content">
                     <h3 class="story-title">${this.escapeHtml(story.title)}</h3>
-                    <p class="story-excerpt">${this.escapeHtml(story.summary || story.content.substring(0, 150) + '...')}</p>
+                    <p class="story-excerpt">${this.escapeHtml(story.summary || story.excerpt || '')}</p>
                     <div class="story-meta">
                         <div class="story-stats">
                             <span><i class="fas fa-eye"></i> ${this.formatNumber(story.viewCount || 0)}</span>
@@ -362,7 +362,9 @@ class StoriesPage {
             if (responseData && responseData.content && Array.isArray(responseData.content)) {
                 // If data is a Page object with content array
                 stories = responseData.content;
-                totalPages = responseData.totalPages || 1;
+                // Listings are count-free by default: hasNext says whether another page exists
+                totalPages = responseData.totalPages
+                    || (responseData.hasNext ? this.currentPage + 2 : this.currentPage + 1);
                 console.log(`✅ Loaded ${stories.length} stories, total pages: ${totalPages}`);
             } else if (Array.isArray(responseData)) {
                 // If data is directly an array
@@ -480,9 +482,7 @@ class StoriesPage {
         }
 
         const isLiked = story.liked || false;
-        const excerpt = story.content ?
-            story.content.substring(0, 150) + (story.content.length > 150 ? '...' : '') :
-            'No content available';
+        const excerpt = story.excerpt || 'No content available';
 
         // Safe property access with fallbacks
         const authorName = story.author?.username || 'Unknown Author';
@@ -864,9 +864,9 @@ class StoryPage {
     }
 
     calculateReadingTime() {
-        const content = this.story?.content || '';
-        const words = content.split(/\s+/).length;
-        const readingTime = Math.ceil(words / 200); // 200 words per minute
+        // Computed by the server when the story is saved, 200 words per minute
+        const readingTime = this.story?.readingTimeMinutes
+            || Math.ceil((this.story?.content || '').split(/\s+/).length / 200);
 
         const readingTimeElement = document.getElementById('readingTime');
         if (readingTimeElement) {
@@ -0,0 +1,184 @@
+package com.project.inklink.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.project.inklink.dto.ApiResponse;
+import com.project.inklink.entity.Comment;
+import com.project.inklink.entity.Story;
+import com.project.inklink.entity.StorySummary;
+import com.project.inklink.entity.Tag;
+import com.project.inklink.entity.User;
+import com.project.inklink.entity.enums.StoryGenre;
+import com.project.inklink.entity.enums.StoryStatus;
+import com.project.inklink.util.PaginationUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Response size and encode/decode time of JSON, Smile and CBOR for a full story (8k words of
+ * content, 40 comments, tags) and a 20-story listing page, wrapped in ApiResponse as the
+ * controllers return them. Mappers are configured like the spring.jackson.* settings.
+ * Run with: mvn test -Dtest=BinaryFormatBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BinaryFormatBenchmark {
+
+    private static final String[] WORDS = (
+            "the a and of to in was he she it that her his they with as for had on at by " +
+            "said looked into from through forest night light dark village river old young " +
+            "door window voice heart hand eyes silence moment remembered whispered walked"
+    ).split(" ");
+
+    @Test
+    void compareFormats() throws IOException {
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("json", mapper().build());
+        mappers.put("smile", mapper().factory(new SmileFactory()).build());
+        mappers.put("cbor", mapper().factory(new CBORFactory()).build());
+
+        Map<String, Object> payloads = new LinkedHashMap<>();
+        payloads.put("story", new ApiResponse(true, "Story retrieved successfully", story()));
+        payloads.put("listing", new ApiResponse(true, "Stories retrieved successfully", listing()));
+
+        System.out.printf("%-8s %-6s %10s %10s %12s %12s%n",
+                "payload", "format", "bytes", "gzipped", "encode us", "decode us");
+
+        for (Map.Entry<String, Object> payload : payloads.entrySet()) {
+            JsonNode expected = null;
+            for (Map.Entry<String, ObjectMapper> format : mappers.entrySet()) {
+                ObjectMapper mapper = format.getValue();
+                byte[] encoded = mapper.writeValueAsBytes(payload.getValue());
+                JsonNode decoded = mapper.readTree(encoded);
+                if (expected == null) {
+                    expected = decoded;
+                }
+                assertEquals(expected, decoded, "same shape in every format");
+
+                int iterations = 2_000;
+                for (int i = 0; i < iterations; i++) {
+                    mapper.readTree(mapper.writeValueAsBytes(payload.getValue()));
+                }
+
+                long start = System.nanoTime();
+                for (int i = 0; i < iterations; i++) {
+                    mapper.writeValueAsBytes(payload.getValue());
+                }
+                long encodeNanos = (System.nanoTime() - start) / iterations;
+
+                start = System.nanoTime();
+                for (int i = 0; i < iterations; i++) {
+                    mapper.readTree(encoded);
+                }
+                long decodeNanos = (System.nanoTime() - start) / iterations;
+
+                System.out.printf("%-8s %-6s %10d %10d %12.1f %12.1f%n",
+                        payload.getKey(), format.getKey(), encoded.length, gzip(encoded).length,
+                        encodeNanos / 1000.0, decodeNanos / 1000.0);
+            }
+        }
+    }
+
+    private static Jackson2ObjectMapperBuilder mapper() {
+        return new Jackson2ObjectMapperBuilder()
+                .simpleDateFormat("yyyy-MM-dd HH:mm:ss")
+                .timeZone("UTC")
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                        SerializationFeature.FAIL_ON_EMPTY_BEANS);
+    }
+
+    private static Story story() {
+        Random random = new Random(1);
+        Story story = new Story("The Lighthouse Keeper", prose(8_000, random), StoryGenre.FICTION, user(1));
+        story.setId(1L);
+        story.setStatus(StoryStatus.PUBLISHED);
+        story.setExcerpt(prose(40, random));
+        story.setWordCount(8_000);
+        story.setReadingTimeMinutes(32);
+        story.setLikeCount(412);
+        story.setReadCount(9_310);
+        story.setCreatedAt(LocalDateTime.of(2024, 3, 1, 9, 30));
+        story.setUpdatedAt(LocalDateTime.of(2024, 3, 2, 18, 5));
+        for (String name : new String[]{"sea", "mystery", "family"}) {
+            story.addTag(new Tag(name));
+        }
+        for (int i = 0; i < 40; i++) {
+            Comment comment = new Comment(prose(30, random), user(100 + i), story);
+            comment.setId((long) i + 1);
+            comment.setCreatedAt(LocalDateTime.of(2024, 3, 3, 12, 0).plusMinutes(i * 17L));
+            story.addComment(comment);
+        }
+        return story;
+    }
+
+    // Same shape as StoryController.getStories: pagination fields plus the page's summaries
+    private static Map<String, Object> listing() {
+        Random random = new Random(2);
+        List<StorySummary> content = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            StorySummary summary = BeanUtils.instantiateClass(StorySummary.class);
+            ReflectionTestUtils.setField(summary, "id", (long) i + 1);
+            ReflectionTestUtils.setField(summary, "title", "Story number " + (i + 1));
+            ReflectionTestUtils.setField(summary, "excerpt", prose(40, random));
+            ReflectionTestUtils.setField(summary, "wordCount", 500 + random.nextInt(9_000));
+            ReflectionTestUtils.setField(summary, "readingTimeMinutes", 2 + random.nextInt(35));
+            ReflectionTestUtils.setField(summary, "likeCount", random.nextInt(500));
+            ReflectionTestUtils.setField(summary, "readCount", random.nextInt(10_000));
+            ReflectionTestUtils.setField(summary, "genre", StoryGenre.values()[i % StoryGenre.values().length]);
+            ReflectionTestUtils.setField(summary, "status", StoryStatus.PUBLISHED);
+            ReflectionTestUtils.setField(summary, "author", user(i % 7 + 1));
+            ReflectionTestUtils.setField(summary, "createdAt", LocalDateTime.of(2024, 3, 1, 9, 30).minusHours(i * 5L));
+            ReflectionTestUtils.setField(summary, "updatedAt", LocalDateTime.of(2024, 3, 1, 9, 30).minusHours(i * 4L));
+            summary.getTags().add(new Tag("tag" + i % 5));
+            content.add(summary);
+        }
+        Map<String, Object> data = PaginationUtil.createPaginationMetadata(
+                new SliceImpl<>(content, PageRequest.of(0, 20), true), null);
+        data.put("content", content);
+        return data;
+    }
+
+    private static User user(long id) {
+        User user = new User("reader" + id, "reader" + id + "@example.com", "not-serialized");
+        user.setId(id);
+        user.setProfilePicture("/uploads/profiles/" + id + ".png");
+        user.setCreatedAt(LocalDateTime.of(2023, 1, 1, 0, 0).plusDays(id));
+        user.setUpdatedAt(LocalDateTime.of(2023, 6, 1, 0, 0).plusDays(id));
+        return user;
+    }
+
+    private static String prose(int words, Random random) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(i % 12 == 11 ? ". " : " ");
+        }
+        return text.toString().trim();
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
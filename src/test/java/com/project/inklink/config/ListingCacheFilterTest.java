@@ -0,0 +1,59 @@
+package com.project.inklink.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Listing cache keys: normalized query parameters, and one entry per response format however
+ * the Accept header is spelled.
+ */
+class ListingCacheFilterTest {
+
+    private static MockHttpServletRequest listing(String accept) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/stories");
+        if (accept != null) {
+            request.addHeader(HttpHeaders.ACCEPT, accept);
+        }
+        return request;
+    }
+
+    private static String key(MockHttpServletRequest request) {
+        return ListingCacheFilter.cacheKey(request, ListingCacheFilter.negotiatedFormat(request));
+    }
+
+    @Test
+    void acceptHeaderVariantsShareTheEntryOfTheirFormat() {
+        String json = key(listing(null));
+        assertEquals("/api/stories#application/json", json);
+        assertEquals(json, key(listing("*/*")));
+        assertEquals(json, key(listing("application/json, text/plain;q=0.5")));
+        assertEquals(json, key(listing("application/*;q=0.9, x-anything/" + System.nanoTime())));
+
+        String smile = key(listing("application/x-jackson-smile"));
+        assertEquals("/api/stories#application/x-jackson-smile", smile);
+        assertEquals(smile, key(listing("application/json;q=0.2, application/x-jackson-smile")));
+        assertEquals("/api/stories#application/cbor", key(listing("application/cbor, */*;q=0.1")));
+    }
+
+    @Test
+    void unsupportedOrMalformedAcceptIsNotCached() {
+        assertNull(ListingCacheFilter.negotiatedFormat(listing("text/html")));
+        assertNull(ListingCacheFilter.negotiatedFormat(listing("application/json;q=0")));
+        assertNull(ListingCacheFilter.negotiatedFormat(listing("not a media type")));
+    }
+
+    @Test
+    void queryParametersAreNormalized() {
+        MockHttpServletRequest request = listing(null);
+        request.addParameter("sort", "createdAt");
+        request.addParameter("genre", " FANTASY ");
+        request.addParameter("tag", "");
+        assertEquals("/api/stories?genre=FANTASY&sort=createdAt#application/json",
+                ListingCacheFilter.cacheKey(request, MediaType.APPLICATION_JSON));
+    }
+}
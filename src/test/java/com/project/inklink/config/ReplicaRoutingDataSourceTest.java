@@ -0,0 +1,100 @@
+package com.project.inklink.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReplicaRoutingDataSourceTest {
+
+    private ReplicaRoutingProperties properties;
+    private ReplicaRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readTransaction;
+    private TransactionTemplate writeTransaction;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = embeddedDatabase("primary");
+        DataSource replica = embeddedDatabase("replica");
+
+        properties = new ReplicaRoutingProperties();
+        properties.setLagQuery("");
+        properties.setReadYourWritesSeconds(60);
+
+        routingDataSource = new ReplicaRoutingDataSource(primary, Map.of("replica-0", replica), properties);
+        routingDataSource.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+        writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.clearUser();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplica() {
+        assertEquals("replica", readTransaction.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void writeTransactionsGoToPrimary() {
+        assertEquals("primary", writeTransaction.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void userReadsFromPrimaryAfterOwnWrite() {
+        ReplicaRoutingDataSource.bindUser(1L);
+        writeTransaction.executeWithoutResult(status ->
+                jdbcTemplate.update("UPDATE marker SET name = name"));
+
+        assertEquals("primary", readTransaction.execute(status -> currentDatabase()));
+
+        ReplicaRoutingDataSource.bindUser(2L);
+        assertEquals("replica", readTransaction.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void laggingReplicaIsSkipped() {
+        properties.setLagQuery("SELECT 60 AS lag_seconds");
+        properties.setLagColumn("lag_seconds");
+        properties.setMaxLagSeconds(5);
+        routingDataSource.checkReplicas();
+
+        assertEquals("primary", readTransaction.execute(status -> currentDatabase()));
+
+        properties.setMaxLagSeconds(120);
+        routingDataSource.checkReplicas();
+
+        assertEquals("replica", readTransaction.execute(status -> currentDatabase()));
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private static DataSource embeddedDatabase(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS marker (name VARCHAR(20))");
+        jdbc.execute("DELETE FROM marker");
+        jdbc.update("INSERT INTO marker (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,97 @@
+package com.project.inklink.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Routing through JPA with open-in-view: one EntityManager spans the request, as
+ * OpenEntityManagerInViewInterceptor binds it, and a read-only transaction followed by a write
+ * must not leave the write on the replica connection the read picked.
+ */
+class ReplicaRoutingJpaTest {
+
+    private EntityManagerFactory entityManagerFactory;
+    private TransactionTemplate readTransaction;
+    private TransactionTemplate writeTransaction;
+
+    @BeforeEach
+    void setUp() {
+        ReplicaRoutingProperties properties = new ReplicaRoutingProperties();
+        properties.setLagQuery("");
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(embeddedDatabase("jpa-primary"),
+                Map.of("replica-0", embeddedDatabase("jpa-replica")), properties);
+        routingDataSource.afterPropertiesSet();
+
+        // The Hibernate settings Spring Boot would apply with routing enabled
+        Map<String, Object> hibernateProperties = new HashMap<>();
+        new ReplicaRoutingConfig().releaseConnectionsAfterTransaction().customize(hibernateProperties);
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(new LazyConnectionDataSourceProxy(routingDataSource));
+        factory.setPackagesToScan("com.project.inklink.entity");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(hibernateProperties);
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+        writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.hasResource(entityManagerFactory)) {
+            EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            EntityManagerFactoryUtils.closeEntityManager(holder.getEntityManager());
+        }
+        entityManagerFactory.close();
+    }
+
+    @Test
+    void writeAfterReadOnlyCallInTheSameSessionGoesToPrimary() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+
+        assertEquals("jpa-replica", readTransaction.execute(status -> currentDatabase(entityManager)));
+        assertEquals("jpa-primary", writeTransaction.execute(status -> {
+            entityManager.createNativeQuery("UPDATE marker SET hits = hits + 1").executeUpdate();
+            return currentDatabase(entityManager);
+        }));
+        assertEquals("jpa-replica", readTransaction.execute(status -> currentDatabase(entityManager)));
+    }
+
+    private static String currentDatabase(EntityManager entityManager) {
+        return (String) entityManager.createNativeQuery("SELECT name FROM marker").getSingleResult();
+    }
+
+    private static DataSource embeddedDatabase(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS marker (name VARCHAR(20), hits INT)");
+        jdbc.execute("DELETE FROM marker");
+        jdbc.update("INSERT INTO marker (name, hits) VALUES (?, 0)", name);
+        return dataSource;
+    }
+}
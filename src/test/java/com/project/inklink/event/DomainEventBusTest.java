@@ -0,0 +1,193 @@
+package com.project.inklink.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the bus the way the outbox relay does: per-consumer publish order (also when a full
+ * queue makes the relay deliver itself), futures that complete once consumers have the
+ * events, and a shutdown that drains the lanes before returning.
+ */
+class DomainEventBusTest {
+
+    private DomainEventBus bus;
+
+    @AfterEach
+    void stop() {
+        if (bus != null) {
+            bus.shutdown();
+        }
+    }
+
+    private static DomainEventBus bus(int queueCapacity, long offerTimeoutMs, long shutdownTimeoutMs,
+                                      DomainEventConsumer... consumers) {
+        DomainEventBus bus = new DomainEventBus();
+        ReflectionTestUtils.setField(bus, "consumers", List.of(consumers));
+        ReflectionTestUtils.setField(bus, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(bus, "batchSize", 4);
+        ReflectionTestUtils.setField(bus, "lingerMs", 1L);
+        ReflectionTestUtils.setField(bus, "offerTimeoutMs", offerTimeoutMs);
+        ReflectionTestUtils.setField(bus, "shutdownTimeoutMs", shutdownTimeoutMs);
+        bus.start();
+        return bus;
+    }
+
+    private static List<CompletableFuture<Void>> publish(DomainEventBus bus, int from, int to) {
+        List<OutboxMessage> messages = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            messages.add(new OutboxMessage(i, "key-" + i, new StoryRead((long) i, i)));
+        }
+        return bus.handle(messages);
+    }
+
+    private static void awaitAll(List<CompletableFuture<Void>> futures) throws Exception {
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+    }
+
+    private static List<Long> storyIds(List<DomainEvent> events) {
+        return events.stream().map(event -> ((StoryRead) event).storyId()).toList();
+    }
+
+    private static List<Long> range(int from, int to) {
+        List<Long> ids = new ArrayList<>();
+        for (long i = from; i < to; i++) {
+            ids.add(i);
+        }
+        return ids;
+    }
+
+    @Test
+    void eachConsumerGetsItsEventsInPublishOrder() throws Exception {
+        RecordingConsumer all = new RecordingConsumer("all", event -> true, 0);
+        RecordingConsumer even = new RecordingConsumer("even", event -> ((StoryRead) event).storyId() % 2 == 0, 0);
+        bus = bus(1000, 100, 5000, all, even);
+
+        awaitAll(publish(bus, 0, 500));
+
+        assertEquals(range(0, 500), storyIds(all.events));
+        assertEquals(range(0, 500).stream().filter(id -> id % 2 == 0).toList(), storyIds(even.events));
+        assertTrue(all.batchSizes.stream().allMatch(size -> size <= 4), all.batchSizes.toString());
+        assertTrue(bus.handles(new StoryRead(1L, 1)));
+    }
+
+    @Test
+    void relayDeliveringOnAFullQueueKeepsPublishOrder() throws Exception {
+        RecordingConsumer slow = new RecordingConsumer("slow", event -> true, 2);
+        bus = bus(2, 1, 5000, slow);
+
+        awaitAll(publish(bus, 0, 200));
+
+        assertEquals(range(0, 200), storyIds(slow.events));
+        assertTrue(((Number) bus.stats().get("slow").get("callerRuns")).longValue() > 0);
+        assertEquals(200L, ((Number) bus.stats().get("slow").get("delivered")).longValue());
+    }
+
+    @Test
+    void failedBatchesFailTheirFutures() {
+        DomainEventConsumer broken = new RecordingConsumer("broken", event -> true, 0) {
+            @Override
+            public void onEvents(List<DomainEvent> events) {
+                throw new IllegalStateException("down");
+            }
+        };
+        bus = bus(100, 100, 5000, broken);
+
+        CompletableFuture<Void> future = publish(bus, 0, 1).get(0);
+        assertTrue(future.handle((ok, error) -> error != null).join());
+        assertEquals(1L, ((Number) bus.stats().get("broken").get("failed")).longValue());
+    }
+
+    @Test
+    void shutdownWaitsForQueuedEventsToBeDelivered() {
+        RecordingConsumer slow = new RecordingConsumer("slow", event -> true, 5);
+        bus = bus(1000, 100, 5000, slow);
+        List<CompletableFuture<Void>> futures = publish(bus, 0, 40);
+
+        bus.shutdown();
+
+        assertEquals(range(0, 40), storyIds(slow.events));
+        assertTrue(futures.stream().allMatch(CompletableFuture::isDone));
+        assertFalse(slow.thread.isAlive());
+    }
+
+    @Test
+    void shutdownGivesUpOnAStuckConsumerAfterTheTimeout() throws Exception {
+        CountDownLatch never = new CountDownLatch(1);
+        RecordingConsumer stuck = new RecordingConsumer("stuck", event -> true, 0) {
+            @Override
+            public void onEvents(List<DomainEvent> events) {
+                thread = Thread.currentThread();
+                try {
+                    never.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        bus = bus(100, 100, 200, stuck);
+        publish(bus, 0, 3);
+        Thread.sleep(50);
+
+        long started = System.nanoTime();
+        bus.shutdown();
+        long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        assertTrue(tookMs >= 100 && tookMs < 5000, tookMs + " ms");
+        stuck.thread.join(5000);
+        assertFalse(stuck.thread.isAlive());
+    }
+
+    private static class RecordingConsumer implements DomainEventConsumer {
+        final String name;
+        final Predicate<DomainEvent> accepts;
+        final long sleepMs;
+        final List<DomainEvent> events = Collections.synchronizedList(new ArrayList<>());
+        final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        volatile Thread thread;
+
+        RecordingConsumer(String name, Predicate<DomainEvent> accepts, long sleepMs) {
+            this.name = name;
+            this.accepts = accepts;
+            this.sleepMs = sleepMs;
+        }
+
+        @Override
+        public String consumerName() {
+            return name;
+        }
+
+        @Override
+        public boolean accepts(DomainEvent event) {
+            return accepts.test(event);
+        }
+
+        @Override
+        public void onEvents(List<DomainEvent> events) {
+            if (Thread.currentThread().getName().startsWith("events-")) {
+                thread = Thread.currentThread();
+            }
+            this.events.addAll(events);
+            batchSizes.add(events.size());
+            if (sleepMs > 0) {
+                try {
+                    Thread.sleep(sleepMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.project.inklink.repository;
+
+import com.project.inklink.entity.Story;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.dialect.H2Dialect;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.sql.DataSource;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Upgrades a database the way production gets it: the schema ddl-auto=update built from the
+ * entities before the migrations existed, with data in it, is baselined at V1, migrated, and
+ * then has to pass Hibernate's schema validation (what ddl-auto=validate does at boot).
+ */
+class MigrationUpgradeTest {
+
+    // What Hibernate generated for the original User, Story, Tag, Comment and StoryLike entities
+    private static final String[] DDL_AUTO_SCHEMA = {
+            "create table users (id bigint not null auto_increment, created_at datetime(6) not null, " +
+                    "email varchar(255) not null, password varchar(255) not null, profile_picture varchar(255), " +
+                    "role enum ('USER','ADMIN') not null, updated_at datetime(6) not null, " +
+                    "username varchar(255) not null, primary key (id))",
+            "create table stories (id bigint not null auto_increment, content TEXT not null, " +
+                    "created_at datetime(6) not null, genre enum ('FICTION','NON_FICTION','FANTASY','SCI_FI'," +
+                    "'MYSTERY','ROMANCE','HORROR','POETRY','BIOGRAPHY','HISTORICAL','OTHER') not null, " +
+                    "like_count integer, read_count integer not null, " +
+                    "status enum ('DRAFT','PUBLISHED','ARCHIVED') not null, title varchar(255) not null, " +
+                    "updated_at datetime(6) not null, author_id bigint not null, primary key (id))",
+            "create table tags (id bigint not null auto_increment, name varchar(255) not null, primary key (id))",
+            "create table story_tags (story_id bigint not null, tag_id bigint not null, " +
+                    "primary key (story_id, tag_id))",
+            "create table comments (id bigint not null auto_increment, content TEXT not null, " +
+                    "created_at datetime(6) not null, story_id bigint not null, user_id bigint not null, " +
+                    "primary key (id))",
+            "create table story_likes (id bigint not null auto_increment, liked_at datetime(6) not null, " +
+                    "story_id bigint not null, user_id bigint not null, primary key (id))",
+            "alter table users add constraint UK_r43af9ap4edm43mmtq01oddj6 unique (username)",
+            "alter table users add constraint UK_6dotkott2kjsp8vw4d0m25fb7 unique (email)",
+            "alter table tags add constraint UK_t48xdq560gs3gap9g7jg36kgc unique (name)",
+            "alter table story_likes add constraint UKfk8nbbaxh0r4o0fwl1j0spsnx unique (story_id, user_id)",
+            "alter table stories add constraint FKd1yk0ow0h7ea7adcl4sr9ed0p foreign key (author_id) references users (id)",
+            "alter table story_tags add constraint FK4uqs0ovnb0arrq7aq0d1nwx15 foreign key (tag_id) references tags (id)",
+            "alter table story_tags add constraint FKnv1iijbskl8y9b6w4lw2pmy0u foreign key (story_id) references stories (id)",
+            "alter table comments add constraint FKh4c7lvsc298whoyd4w9ta25cr foreign key (story_id) references stories (id)",
+            "alter table comments add constraint FK8omq0tc18jd43bu5tjh6jvraq foreign key (user_id) references users (id)",
+            "alter table story_likes add constraint FK2nxl0ximq2phg9eh1k2qq0t8n foreign key (story_id) references stories (id)",
+            "alter table story_likes add constraint FKe3h6tb8nyo3al0g3n7cxl2xcw foreign key (user_id) references users (id)",
+    };
+
+    @Test
+    void ddlAutoDatabaseBaselinesMigratesAndValidates() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:upgrade;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP ALL OBJECTS");
+        jdbc.batchUpdate(DDL_AUTO_SCHEMA);
+        jdbc.update("INSERT INTO users (id, username, email, password, role, created_at, updated_at) " +
+                "VALUES (1, 'writer', 'writer@example.com', 'x', 'USER', NOW(), NOW())");
+        jdbc.update("INSERT INTO stories (id, title, content, genre, status, read_count, like_count, author_id, " +
+                "created_at, updated_at) VALUES (10, 'Old story', 'Written before the migrations.', 'FICTION', " +
+                "'PUBLISHED', 4, 1, 1, TIMESTAMP '2023-05-01 10:00:00', NOW())");
+        jdbc.update("INSERT INTO tags (id, name) VALUES (1, 'night')");
+        jdbc.update("INSERT INTO story_tags (story_id, tag_id) VALUES (10, 1)");
+
+        // The same settings as spring.flyway.baseline-on-migrate / baseline-version
+        Flyway flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+        flyway.migrate();
+
+        MigrationInfo[] applied = flyway.info().applied();
+        assertEquals(MigrationState.BASELINE, applied[0].getState());
+        assertEquals("1", applied[0].getVersion().getVersion());
+        List<String> migrated = Arrays.stream(applied).skip(1).map(info -> info.getVersion().getVersion()).toList();
+        assertEquals("2", migrated.get(0));
+        assertTrue(Arrays.stream(applied).skip(1).allMatch(info -> info.getState() == MigrationState.SUCCESS),
+                migrated.toString());
+        assertEquals(0, flyway.info().pending().length);
+
+        // Existing rows come through: legacy plain-text content, publish time from creation time
+        assertEquals(LocalDateTime.of(2023, 5, 1, 10, 0),
+                jdbc.queryForObject("SELECT published_at FROM stories WHERE id = 10", LocalDateTime.class));
+
+        EntityManagerFactory entityManagerFactory = validatingEntityManagerFactory(dataSource);
+        try {
+            EntityManager entityManager = entityManagerFactory.createEntityManager();
+            Story loaded = entityManager.find(Story.class, 10L);
+            assertEquals("Written before the migrations.", loaded.getContent());
+            assertEquals(1, loaded.getTags().size());
+            entityManager.close();
+        } finally {
+            entityManagerFactory.close();
+        }
+    }
+
+    // Fails to build if a mapped table or column is missing, as ddl-auto=validate does at boot
+    private static EntityManagerFactory validatingEntityManagerFactory(DataSource dataSource) {
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan("com.project.inklink.entity");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "validate",
+                "hibernate.dialect", H2WithMySqlTypes.class.getName(),
+                "hibernate.physical_naming_strategy", new CamelCaseToUnderscoresNamingStrategy(),
+                "hibernate.implicit_naming_strategy", new SpringImplicitNamingStrategy()));
+        factory.afterPropertiesSet();
+        return factory.getObject();
+    }
+
+    // H2's dialect expects VARCHAR for enums and reads TEXT and binary columns back under other
+    // type codes than MySQL does; tolerate those differences and nothing else
+    public static class H2WithMySqlTypes extends H2Dialect {
+        @Override
+        public boolean equivalentTypes(int typeCode1, int typeCode2) {
+            return super.equivalentTypes(typeCode1, typeCode2)
+                    || (isText(typeCode1) && isText(typeCode2))
+                    || (isBinary(typeCode1) && isBinary(typeCode2));
+        }
+
+        private static boolean isText(int typeCode) {
+            return typeCode == Types.VARCHAR || typeCode == Types.LONGVARCHAR || typeCode == Types.CLOB
+                    || typeCode == Types.OTHER; // ENUM
+        }
+
+        private static boolean isBinary(int typeCode) {
+            return typeCode == Types.VARBINARY || typeCode == Types.LONGVARBINARY || typeCode == Types.BLOB;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.project.inklink.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the Flyway migrations on H2 (MySQL mode) and checks with EXPLAIN that the SQL behind each
+ * Story, Comment, StoryLike and Tag repository query reads through an index instead of scanning.
+ * The statements mirror what Hibernate generates for the repository methods each test is named after.
+ * Queries that read a whole table by design (findRecentComments, the all-tag aggregates, the
+ * tag-name substring search) are left out.
+ */
+class QueryIndexTest {
+
+    // "from public.stories s\n    /* public.idx_stories_status_created: status = 'published' */"
+    private static final Pattern ACCESS = Pattern.compile("public\\.(\\w+)(?:\\s+\\w+)?\\s+/\\*\\s*(.*?)\\s*\\*/", Pattern.DOTALL);
+
+    private static JdbcTemplate jdbc;
+
+    @BeforeAll
+    static void migrate() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:queryindex;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .cleanDisabled(false)
+                .load();
+        flyway.clean();
+        flyway.migrate();
+        jdbc = new JdbcTemplate(dataSource);
+        seed();
+    }
+
+    // H2 costs plans from table statistics; with empty tables a single-column foreign key index
+    // ties with the composite ones, so give it a realistic spread of authors, statuses and genres
+    private static void seed() {
+        // SYSTEM_RANGE's column is upper-case X, which DATABASE_TO_LOWER would otherwise fold
+        jdbc.update("INSERT INTO users (username, email, password, role, created_at, updated_at) " +
+                "SELECT 'user' || \"X\", 'user' || \"X\" || '@example.com', 'x', 'USER', NOW(), NOW() " +
+                "FROM SYSTEM_RANGE(1, 200)");
+        jdbc.update("INSERT INTO stories (title, like_count, content, genre, status, read_count, author_id, " +
+                "created_at, updated_at) " +
+                "SELECT 'Story ' || \"X\", MOD(\"X\", 97), X'00', " +
+                "ARRAY['FICTION', 'NON_FICTION', 'FANTASY', 'SCI_FI', 'MYSTERY', 'ROMANCE', 'HORROR', " +
+                "'POETRY', 'BIOGRAPHY', 'HISTORICAL', 'OTHER'][MOD(\"X\", 11) + 1], " +
+                "ARRAY['DRAFT', 'ARCHIVED', 'PUBLISHED', 'PUBLISHED', 'PUBLISHED'][MOD(\"X\", 5) + 1], " +
+                "MOD(\"X\", 1000), MOD(\"X\", 200) + 1, " +
+                "DATEADD('MINUTE', \"X\", TIMESTAMP '2024-01-01 00:00:00'), NOW() " +
+                "FROM SYSTEM_RANGE(1, 5000)");
+        jdbc.execute("ANALYZE");
+    }
+
+    // StoryRepository / StorySummaryRepository
+
+    @Test
+    void findByStatus() {
+        assertIndexed("SELECT * FROM stories WHERE status = 'PUBLISHED' ORDER BY created_at DESC LIMIT 11",
+                "stories.status");
+        assertIndexed("SELECT COUNT(*) FROM stories WHERE status = 'DRAFT'", "stories.status");
+    }
+
+    @Test
+    void findPopularAndTopLikedStories() {
+        assertIndexed("SELECT * FROM stories WHERE status = 'PUBLISHED' ORDER BY read_count DESC LIMIT 10",
+                "stories.status");
+        assertIndexed("SELECT * FROM stories WHERE status = 'PUBLISHED' ORDER BY like_count DESC LIMIT 10",
+                "stories.status");
+    }
+
+    @Test
+    void findByStatusAndCreatedAtAfter() {
+        assertIndexed("SELECT * FROM stories WHERE status = 'PUBLISHED' " +
+                        "AND created_at > TIMESTAMP '2024-01-01 00:00:00' ORDER BY created_at DESC LIMIT 10",
+                "stories.status", "stories.created_at");
+    }
+
+    @Test
+    void findByGenreAndStatus() {
+        assertIndexed("SELECT * FROM stories WHERE genre = 'FANTASY' AND status = 'PUBLISHED' " +
+                "ORDER BY created_at DESC LIMIT 11", "stories.status", "stories.genre");
+        assertIndexed("SELECT * FROM stories WHERE status = 'PUBLISHED' AND genre IN ('FANTASY', 'HORROR') " +
+                "LIMIT 10", "stories.status");
+        assertIndexed("SELECT genre, COUNT(*) FROM stories WHERE status = 'PUBLISHED' GROUP BY genre",
+                "stories.status");
+        assertIndexed("SELECT id, genre, created_at, read_count, like_count FROM stories WHERE status = 'PUBLISHED'",
+                "stories.status");
+    }
+
+    @Test
+    void findByAuthor() {
+        assertIndexed("SELECT * FROM stories WHERE author_id = 1", "stories.author_id");
+        assertIndexed("SELECT * FROM stories WHERE author_id = 1 AND status = 'PUBLISHED' ORDER BY created_at DESC",
+                "stories.author_id", "stories.status");
+        assertIndexed("SELECT COUNT(*) FROM stories WHERE author_id = 1 AND status = 'PUBLISHED'",
+                "stories.author_id", "stories.status");
+        assertIndexed("SELECT id FROM stories WHERE title = 'Title' AND author_id = 1 LIMIT 1",
+                "stories.author_id");
+    }
+
+    @Test
+    void findPublishedFeedEntriesByAuthorIds() {
+        assertIndexed("SELECT id, published_at FROM stories WHERE author_id IN (1, 2, 3) AND status = 'PUBLISHED' " +
+                "ORDER BY published_at DESC, id DESC LIMIT 50", "stories.author_id");
+    }
+
+    @Test
+    void searchStoriesFiltersOnStatus() {
+        // The title substring match cannot use an index; only the status filter does
+        assertIndexed("SELECT * FROM stories WHERE status = 'PUBLISHED' AND LOWER(title) LIKE '%dragon%' LIMIT 11",
+                "stories.status");
+    }
+
+    @Test
+    void findByTagName() {
+        assertIndexed("SELECT s.* FROM stories s JOIN story_tags st ON st.story_id = s.id " +
+                        "JOIN tags t ON t.id = st.tag_id WHERE s.status = 'PUBLISHED' AND t.name = 'fantasy' LIMIT 11",
+                "tags.name", "story_tags.tag_id");
+    }
+
+    @Test
+    void findStoriesWithCommentCount() {
+        assertIndexed("SELECT s.id, COUNT(c.id) FROM stories s LEFT JOIN comments c ON c.story_id = s.id " +
+                        "WHERE s.status = 'PUBLISHED' GROUP BY s.id ORDER BY 2 DESC LIMIT 10",
+                "stories.status", "comments.story_id");
+    }
+
+    // CommentRepository
+
+    @Test
+    void findCommentsByStory() {
+        assertIndexed("SELECT c.*, u.* FROM comments c JOIN users u ON u.id = c.user_id " +
+                "WHERE c.story_id = 1 ORDER BY c.created_at DESC", "comments.story_id", "users.id");
+        assertIndexed("SELECT * FROM comments WHERE story_id = 1 LIMIT 20", "comments.story_id");
+        assertIndexed("SELECT COUNT(*) FROM comments WHERE story_id = 1", "comments.story_id");
+        assertIndexed("SELECT * FROM comments WHERE story_id IN (1, 2, 3) ORDER BY created_at DESC",
+                "comments.story_id");
+    }
+
+    @Test
+    void findCommentsByUser() {
+        assertIndexed("SELECT * FROM comments WHERE user_id = 1", "comments.user_id");
+        assertIndexed("SELECT COUNT(*) FROM comments WHERE user_id = 1", "comments.user_id");
+        assertIndexed("SELECT COUNT(*) FROM comments WHERE user_id = 1 AND story_id = 2",
+                "comments.user_id", "comments.story_id");
+    }
+
+    @Test
+    void findCommentsCreatedAfter() {
+        assertIndexed("SELECT * FROM comments WHERE created_at > TIMESTAMP '2024-01-01 00:00:00'",
+                "comments.created_at");
+    }
+
+    // StoryLikeRepository
+
+    @Test
+    void findLikeByStoryAndUser() {
+        assertIndexed("SELECT * FROM story_likes WHERE story_id = 1 AND user_id = 2",
+                "story_likes.story_id", "story_likes.user_id");
+        assertIndexed("SELECT COUNT(*) FROM story_likes WHERE story_id = 1", "story_likes.story_id");
+    }
+
+    @Test
+    void findLikedStoryIds() {
+        assertIndexed("SELECT story_id FROM story_likes WHERE user_id = 1 AND story_id IN (1, 2, 3)",
+                "story_likes.user_id");
+        assertIndexed("SELECT story_id FROM story_likes WHERE user_id = 1 ORDER BY id DESC LIMIT 50",
+                "story_likes.user_id");
+    }
+
+    // TagRepository
+
+    @Test
+    void findTagsByName() {
+        assertIndexed("SELECT * FROM tags WHERE name = 'fantasy'", "tags.name");
+        assertIndexed("SELECT * FROM tags WHERE name IN ('fantasy', 'horror')", "tags.name");
+    }
+
+    @Test
+    void findTagsByStory() {
+        assertIndexed("SELECT t.* FROM tags t JOIN story_tags st ON st.tag_id = t.id WHERE st.story_id = 1",
+                "story_tags.story_id", "tags.id");
+        assertIndexed("SELECT DISTINCT t.* FROM stories s JOIN story_tags st ON st.story_id = s.id " +
+                "JOIN tags t ON t.id = st.tag_id WHERE s.author_id = 1", "stories.author_id");
+    }
+
+    @Test
+    void findStoriesByTag() {
+        assertIndexed("SELECT COUNT(*) FROM stories s JOIN story_tags st ON st.story_id = s.id " +
+                "WHERE st.tag_id = 1 AND s.status = 'PUBLISHED'", "story_tags.tag_id");
+        assertIndexed("SELECT DISTINCT t2.* FROM story_tags st1 JOIN story_tags st2 ON st2.story_id = st1.story_id " +
+                "JOIN tags t2 ON t2.id = st2.tag_id WHERE st1.tag_id = 1 AND st2.tag_id <> 1", "story_tags.tag_id");
+        // Every tag is read, but the story lookup per tag is indexed
+        assertIndexed("SELECT t.* FROM tags t WHERE NOT EXISTS " +
+                "(SELECT 1 FROM story_tags st WHERE st.tag_id = t.id)", "story_tags.tag_id");
+    }
+
+    /**
+     * Each "table.column" must be read through an index with a condition on that column,
+     * and none of the named tables may be scanned
+     */
+    private static void assertIndexed(String sql, String... accesses) {
+        String plan = jdbc.queryForObject("EXPLAIN " + sql, String.class)
+                .toLowerCase(Locale.ROOT)
+                .replace("\"", "");
+
+        List<String[]> paths = new ArrayList<>();
+        Matcher matcher = ACCESS.matcher(plan);
+        while (matcher.find()) {
+            paths.add(new String[]{matcher.group(1), matcher.group(2)});
+        }
+
+        for (String access : accesses) {
+            String table = access.substring(0, access.indexOf('.'));
+            String column = access.substring(access.indexOf('.') + 1);
+            Pattern condition = Pattern.compile("\\b" + column + "\\b");
+            boolean indexed = false;
+            for (String[] path : paths) {
+                if (!path[0].equals(table)) {
+                    continue;
+                }
+                assertFalse(path[1].endsWith(".tablescan"), table + " is scanned:\n" + plan);
+                int colon = path[1].indexOf(':');
+                if (colon >= 0 && condition.matcher(path[1].substring(colon)).find()) {
+                    indexed = true;
+                }
+            }
+            assertTrue(indexed, "no index on " + access + ":\n" + plan);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.project.inklink.service;
+
+import com.project.inklink.entity.StorySummary;
+import com.project.inklink.entity.enums.StoryStatus;
+import com.project.inklink.repository.StorySummaryRepository;
+import com.project.inklink.util.ContentCompression;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs the story and user multi-get through Hibernate on H2: request order, repeated ids, the
+ * missing list, draft visibility, the id limit, and that authors (and, for the multi-get, tags)
+ * arrive with the stories instead of one select per author, there and in the listing queries.
+ */
+class BatchLookupServiceTest {
+
+    private static H2Jpa h2;
+
+    private EntityManager entityManager;
+    private BatchLookupService service;
+    private LikeStatusService likeStatusService;
+
+    @BeforeAll
+    static void setUp() {
+        h2 = new H2Jpa("batchlookup");
+        JdbcTemplate jdbc = new JdbcTemplate(h2.dataSource);
+        jdbc.update("INSERT INTO users (id, username, email, password, role, created_at, updated_at) VALUES " +
+                "(1, 'ada', 'ada@example.com', 'x', 'USER', NOW(), NOW()), " +
+                "(2, 'bo', 'bo@example.com', 'x', 'USER', NOW(), NOW()), " +
+                "(3, 'cy', 'cy@example.com', 'x', 'ADMIN', NOW(), NOW())");
+        insertStory(jdbc, 10, "Ada's story", "PUBLISHED", 1);
+        insertStory(jdbc, 11, "Bo's story", "PUBLISHED", 2);
+        insertStory(jdbc, 12, "Cy's story", "PUBLISHED", 3);
+        insertStory(jdbc, 13, "Ada's draft", "DRAFT", 1);
+        jdbc.update("INSERT INTO tags (id, name) VALUES (1, 'night'), (2, 'calm')");
+        jdbc.update("INSERT INTO story_tags (story_id, tag_id) VALUES (10, 1), (10, 2), (12, 2)");
+    }
+
+    private static void insertStory(JdbcTemplate jdbc, long id, String title, String status, long authorId) {
+        jdbc.update("INSERT INTO stories (id, title, content, genre, status, read_count, like_count, author_id, " +
+                        "created_at, updated_at) VALUES (?, ?, ?, 'FICTION', ?, 0, 0, ?, NOW(), NOW())",
+                id, title, ContentCompression.encode(title), status, authorId);
+    }
+
+    @BeforeEach
+    void createService() {
+        entityManager = h2.entityManagerFactory.createEntityManager();
+        likeStatusService = mock(LikeStatusService.class);
+        service = new BatchLookupService();
+        ReflectionTestUtils.setField(service, "entityManager", entityManager);
+        ReflectionTestUtils.setField(service, "likeStatusService", likeStatusService);
+        ReflectionTestUtils.setField(service, "maxIds", 5);
+        h2.statements.clear();
+    }
+
+    @AfterEach
+    void closeEntityManager() {
+        entityManager.close();
+    }
+
+    private static List<Long> ids(List<StorySummary> stories) {
+        return stories.stream().map(StorySummary::getId).toList();
+    }
+
+    @Test
+    void storiesComeBackInRequestOrderWithRepeatsCollapsed() {
+        BatchLookupService.BatchResult<StorySummary> result = service.getStories(List.of(12L, 10L, 12L, 11L, 10L), null);
+
+        assertEquals(List.of(12L, 10L, 11L), ids(result.items()));
+        assertEquals(List.of(), result.missing());
+        verify(likeStatusService).markLiked(result.items(), null);
+    }
+
+    @Test
+    void unknownIdsAndOtherUsersDraftsAreListedAsMissing() {
+        BatchLookupService.BatchResult<StorySummary> anonymous = service.getStories(List.of(13L, 99L, 10L), null);
+        assertEquals(List.of(10L), ids(anonymous.items()));
+        assertEquals(List.of(13L, 99L), anonymous.missing());
+
+        BatchLookupService.BatchResult<StorySummary> someoneElse = service.getStories(List.of(13L, 10L), 2L);
+        assertEquals(List.of(10L), ids(someoneElse.items()));
+        assertEquals(List.of(13L), someoneElse.missing());
+
+        BatchLookupService.BatchResult<StorySummary> author = service.getStories(List.of(13L, 10L), 1L);
+        assertEquals(List.of(13L, 10L), ids(author.items()));
+        assertEquals(List.of(), author.missing());
+    }
+
+    @Test
+    void authorsAndTagsAreFetchedWithTheStories() {
+        List<StorySummary> stories = service.getStories(List.of(10L, 11L, 12L), null).items();
+
+        assertEquals(1, h2.statements.size(), String.join("\n", h2.statements));
+        for (StorySummary story : stories) {
+            assertTrue(Hibernate.isInitialized(story.getAuthor()));
+            assertTrue(Hibernate.isInitialized(story.getTags()));
+        }
+        assertEquals(List.of("ada", "bo", "cy"), stories.stream().map(story -> story.getAuthor().getUsername()).toList());
+        assertEquals(2, stories.get(0).getTags().size());
+        assertEquals(0, stories.get(1).getTags().size());
+        assertEquals(1, stories.get(2).getTags().size());
+    }
+
+    @Test
+    void listingsJoinTheAuthorInsteadOfASelectPerAuthor() {
+        StorySummaryRepository repository = new JpaRepositoryFactory(entityManager).getRepository(StorySummaryRepository.class);
+
+        List<StorySummary> published = repository.findByStatus(StoryStatus.PUBLISHED, PageRequest.of(0, 10)).getContent();
+        assertEquals(3, published.size());
+        assertEquals(1, h2.statements.size(), String.join("\n", h2.statements));
+        assertTrue(h2.statements.get(0).contains("join users"), h2.statements.get(0));
+        for (StorySummary story : published) {
+            assertTrue(Hibernate.isInitialized(story.getAuthor()));
+        }
+
+        h2.statements.clear();
+        assertEquals(List.of(10L, 12L), ids(repository.findByTagName("calm", PageRequest.of(0, 10, Sort.by("id"))).getContent()));
+        assertEquals(1, h2.statements.size(), String.join("\n", h2.statements));
+    }
+
+    @Test
+    void usersKeepRequestOrderAndLeaveOutTheEmail() {
+        BatchLookupService.BatchResult<Map<String, Object>> result = service.getUsers(List.of(3L, 42L, 1L, 3L));
+
+        assertEquals(List.of(3L, 1L), result.items().stream().map(user -> user.get("id")).toList());
+        assertEquals(List.of(42L), result.missing());
+        assertEquals(List.of("id", "username", "role", "profilePicture", "createdAt"),
+                List.copyOf(result.items().get(0).keySet()));
+    }
+
+    @Test
+    void emptyAndOversizedRequestsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> service.getStories(List.of(), null));
+        assertThrows(IllegalArgumentException.class, () -> service.getUsers(Arrays.asList(null, null)));
+        assertThrows(IllegalArgumentException.class, () -> service.getStories(List.of(1L, 2L, 3L, 4L, 5L, 6L), null));
+
+        // Repeats do not count against the limit
+        assertEquals(List.of(10L), ids(service.getStories(List.of(10L, 10L, 10L, 10L, 10L, 10L), null).items()));
+        verify(likeStatusService, atLeastOnce()).markLiked(anyCollection(), eq(null));
+    }
+}
@@ -0,0 +1,141 @@
+package com.project.inklink.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Deleting a story with 50k likes: the old entity-by-entity path against the chunked bulk deletes.
+ * The old path is replayed with the statements Hibernate issued for it (load every row, then
+ * DELETE by id in JDBC batches of 20, the configured hibernate.jdbc.batch_size).
+ * Run with: mvn test -Dtest=BulkDeleteBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BulkDeleteBenchmark {
+
+    private static final int LIKES = 50_000;
+    private static final int COMMENTS = 2_000;
+    private static final int HIBERNATE_BATCH_SIZE = 20;
+
+    private JdbcTemplate jdbc;
+    private BulkDeleteService bulkDeleteService;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:bulkdelete;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbc.execute("DROP ALL OBJECTS");
+        jdbc.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, username VARCHAR(50))");
+        jdbc.execute("CREATE TABLE stories (id BIGINT PRIMARY KEY, author_id BIGINT NOT NULL REFERENCES users(id), " +
+                "like_count INT NOT NULL DEFAULT 0)");
+        jdbc.execute("CREATE TABLE story_likes (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "story_id BIGINT NOT NULL REFERENCES stories(id), user_id BIGINT NOT NULL REFERENCES users(id), " +
+                "liked_at TIMESTAMP NOT NULL)");
+        jdbc.execute("CREATE INDEX idx_likes_story ON story_likes(story_id)");
+        jdbc.execute("CREATE INDEX idx_likes_user ON story_likes(user_id)");
+        jdbc.execute("CREATE TABLE comments (id BIGINT AUTO_INCREMENT PRIMARY KEY, content TEXT, " +
+                "story_id BIGINT NOT NULL REFERENCES stories(id), user_id BIGINT NOT NULL REFERENCES users(id), " +
+                "created_at TIMESTAMP NOT NULL)");
+        jdbc.execute("CREATE INDEX idx_comments_story ON comments(story_id)");
+        jdbc.execute("CREATE TABLE story_revisions (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "story_id BIGINT NOT NULL REFERENCES stories(id), editor_id BIGINT REFERENCES users(id))");
+        jdbc.execute("CREATE TABLE story_tags (story_id BIGINT NOT NULL REFERENCES stories(id), tag_id BIGINT NOT NULL)");
+        jdbc.execute("CREATE TABLE story_search (story_id BIGINT PRIMARY KEY REFERENCES stories(id), search_text TEXT)");
+        jdbc.execute("CREATE TABLE follows (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "follower_id BIGINT NOT NULL, followee_id BIGINT NOT NULL)");
+
+        bulkDeleteService = new BulkDeleteService();
+        ReflectionTestUtils.setField(bulkDeleteService, "jdbcTemplate", jdbc);
+        ReflectionTestUtils.setField(bulkDeleteService, "entityManager", mock(EntityManager.class));
+        ReflectionTestUtils.setField(bulkDeleteService, "chunkSize", 5000);
+        ReflectionTestUtils.setField(bulkDeleteService, "storyBatchSize", 100);
+    }
+
+    @Test
+    void deleteStoryWithFiftyThousandLikes() {
+        System.out.printf("%-28s %10s%n", "path", "ms");
+
+        seed();
+        long start = System.nanoTime();
+        deleteEntityByEntity(1L);
+        long legacyMillis = (System.nanoTime() - start) / 1_000_000;
+        assertEquals(0, count("stories"));
+        System.out.printf("%-28s %10d%n", "load + delete by id", legacyMillis);
+
+        seed();
+        start = System.nanoTime();
+        bulkDeleteService.deleteStory(1L);
+        long bulkMillis = (System.nanoTime() - start) / 1_000_000;
+        assertEquals(0, count("stories"));
+        assertEquals(0, count("story_likes"));
+        assertEquals(0, count("comments"));
+        System.out.printf("%-28s %10d%n", "chunked bulk delete", bulkMillis);
+    }
+
+    // What deleteByStoryId plus the comments cascade did: read every row, then delete each by id
+    private void deleteEntityByEntity(long storyId) {
+        List<Long> likeIds = jdbc.query("SELECT id, story_id, user_id, liked_at FROM story_likes WHERE story_id = ?",
+                (rs, rowNum) -> rs.getLong("id"), storyId);
+        deleteById("DELETE FROM story_likes WHERE id = ?", likeIds);
+
+        List<Long> commentIds = jdbc.query("SELECT id, content, story_id, user_id, created_at FROM comments WHERE story_id = ?",
+                (rs, rowNum) -> rs.getLong("id"), storyId);
+        deleteById("DELETE FROM comments WHERE id = ?", commentIds);
+
+        jdbc.update("DELETE FROM story_revisions WHERE story_id = ?", storyId);
+        jdbc.update("DELETE FROM story_tags WHERE story_id = ?", storyId);
+        jdbc.update("DELETE FROM stories WHERE id = ?", storyId);
+    }
+
+    private void deleteById(String sql, List<Long> ids) {
+        for (int from = 0; from < ids.size(); from += HIBERNATE_BATCH_SIZE) {
+            List<Object[]> batch = new ArrayList<>();
+            for (Long id : ids.subList(from, Math.min(from + HIBERNATE_BATCH_SIZE, ids.size()))) {
+                batch.add(new Object[]{id});
+            }
+            jdbc.batchUpdate(sql, batch);
+        }
+    }
+
+    private void seed() {
+        jdbc.execute("DELETE FROM story_likes");
+        jdbc.execute("DELETE FROM comments");
+        jdbc.execute("DELETE FROM stories");
+        jdbc.execute("DELETE FROM users");
+
+        List<Object[]> users = new ArrayList<>();
+        for (long id = 1; id <= LIKES; id++) {
+            users.add(new Object[]{id, "user" + id});
+        }
+        jdbc.batchUpdate("INSERT INTO users (id, username) VALUES (?, ?)", users);
+        jdbc.update("INSERT INTO stories (id, author_id, like_count) VALUES (1, 1, ?)", LIKES);
+
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Object[]> likes = new ArrayList<>();
+        for (long userId = 1; userId <= LIKES; userId++) {
+            likes.add(new Object[]{userId, now});
+        }
+        jdbc.batchUpdate("INSERT INTO story_likes (story_id, user_id, liked_at) VALUES (1, ?, ?)", likes);
+
+        List<Object[]> comments = new ArrayList<>();
+        for (long userId = 1; userId <= COMMENTS; userId++) {
+            comments.add(new Object[]{"Comment " + userId, userId, now});
+        }
+        jdbc.batchUpdate("INSERT INTO comments (content, story_id, user_id, created_at) VALUES (?, 1, ?, ?)", comments);
+    }
+
+    private int count(String table) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+}
@@ -0,0 +1,170 @@
+package com.project.inklink.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.inklink.util.ContentCompression;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the account export against H2 (MySQL mode) after the Flyway migrations and checks both
+ * output formats: the NDJSON record stream and the ZIP of Markdown files.
+ */
+class ExportServiceTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final long AUTHOR_ID = 1;
+
+    private static ExportService exportService;
+
+    @BeforeAll
+    static void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:export;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .cleanDisabled(false)
+                .load();
+        flyway.clean();
+        flyway.migrate();
+        seed(new JdbcTemplate(dataSource));
+
+        exportService = new ExportService();
+        ReflectionTestUtils.setField(exportService, "dataSource", dataSource);
+        ReflectionTestUtils.setField(exportService, "transactionManager", new DataSourceTransactionManager(dataSource));
+        ReflectionTestUtils.setField(exportService, "objectMapper", MAPPER);
+        ReflectionTestUtils.setField(exportService, "fetchSize", 1);
+    }
+
+    // Two stories by the author (one tagged), one by someone else; a comment and a like each way
+    private static void seed(JdbcTemplate jdbc) {
+        jdbc.update("INSERT INTO users (id, username, email, password, role, created_at, updated_at) VALUES " +
+                "(1, 'writer', 'writer@example.com', 'x', 'USER', NOW(), NOW()), " +
+                "(2, 'reader', 'reader@example.com', 'x', 'USER', NOW(), NOW())");
+        insertStory(jdbc, 10, "A \"Quiet\" Night", "It was quiet.\nThen it was not.", "PUBLISHED", 1);
+        insertStory(jdbc, 11, "Draft!", "Unfinished.", "DRAFT", 1);
+        insertStory(jdbc, 12, "Someone else's", "Not mine.", "PUBLISHED", 2);
+        jdbc.update("INSERT INTO tags (id, name) VALUES (1, 'night'), (2, 'calm')");
+        jdbc.update("INSERT INTO story_tags (story_id, tag_id) VALUES (10, 1), (10, 2), (12, 1)");
+        jdbc.update("INSERT INTO comments (id, content, user_id, story_id, created_at) VALUES " +
+                "(100, 'Lovely', 1, 12, TIMESTAMP '2024-02-01 10:00:00'), " +
+                "(101, 'Thanks', 2, 10, TIMESTAMP '2024-02-01 11:00:00')");
+        jdbc.update("INSERT INTO story_likes (id, story_id, user_id, liked_at) VALUES " +
+                "(200, 12, 1, TIMESTAMP '2024-02-02 09:00:00'), " +
+                "(201, 10, 2, TIMESTAMP '2024-02-02 09:30:00')");
+    }
+
+    private static void insertStory(JdbcTemplate jdbc, long id, String title, String content, String status,
+                                    long authorId) {
+        jdbc.update("INSERT INTO stories (id, title, content, genre, status, read_count, like_count, author_id, " +
+                        "created_at, updated_at) VALUES (?, ?, ?, 'FICTION', ?, 3, 1, ?, " +
+                        "TIMESTAMP '2024-01-01 12:00:00', TIMESTAMP '2024-01-02 12:00:00')",
+                id, title, ContentCompression.encode(content), status, authorId);
+    }
+
+    @Test
+    void ndjsonListsStoriesThenCommentsThenLikes() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(AUTHOR_ID, ExportService.Format.NDJSON, out);
+
+        List<JsonNode> records = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isBlank()) {
+                records.add(MAPPER.readTree(line));
+            }
+        }
+        assertEquals(4, records.size());
+
+        JsonNode story = records.get(0);
+        assertEquals("story", story.get("type").asText());
+        assertEquals(10, story.get("id").asLong());
+        assertEquals("A \"Quiet\" Night", story.get("title").asText());
+        assertEquals("It was quiet.\nThen it was not.", story.get("content").asText());
+        assertEquals("PUBLISHED", story.get("status").asText());
+        assertEquals(List.of("calm", "night"), sorted(story.get("tags")));
+        assertEquals("2024-01-01T12:00", story.get("createdAt").asText());
+
+        JsonNode draft = records.get(1);
+        assertEquals(11, draft.get("id").asLong());
+        assertEquals("DRAFT", draft.get("status").asText());
+        assertEquals(0, draft.get("tags").size());
+
+        JsonNode comment = records.get(2);
+        assertEquals("comment", comment.get("type").asText());
+        assertEquals(100, comment.get("id").asLong());
+        assertEquals(12, comment.get("storyId").asLong());
+        assertEquals("Someone else's", comment.get("storyTitle").asText());
+        assertEquals("Lovely", comment.get("content").asText());
+
+        JsonNode like = records.get(3);
+        assertEquals("like", like.get("type").asText());
+        assertEquals(12, like.get("storyId").asLong());
+        assertEquals("2024-02-02T09:00", like.get("likedAt").asText());
+    }
+
+    @Test
+    void zipHoldsOneMarkdownFilePerStoryAndTheActivityFiles() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(AUTHOR_ID, ExportService.Format.ZIP, out);
+
+        Map<String, String> files = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()), StandardCharsets.UTF_8)) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                files.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        assertEquals(List.of("stories/10-a-quiet-night.md", "stories/11-draft.md", "comments.ndjson", "likes.ndjson"),
+                List.copyOf(files.keySet()));
+
+        String markdown = files.get("stories/10-a-quiet-night.md");
+        assertTrue(markdown.startsWith("---\ntitle: \"A \\\"Quiet\\\" Night\"\n"), markdown);
+        assertTrue(markdown.contains("status: PUBLISHED\n"), markdown);
+        assertTrue(markdown.endsWith("---\n\n# A \"Quiet\" Night\n\nIt was quiet.\nThen it was not.\n"), markdown);
+
+        List<String> comments = nonBlankLines(files.get("comments.ndjson"));
+        assertEquals(1, comments.size());
+        assertEquals(100, MAPPER.readTree(comments.get(0)).get("id").asLong());
+
+        List<String> likes = nonBlankLines(files.get("likes.ndjson"));
+        assertEquals(1, likes.size());
+        assertEquals(12, MAPPER.readTree(likes.get(0)).get("storyId").asLong());
+    }
+
+    @Test
+    void emptyAccountExportsNoRecords() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(999L, ExportService.Format.NDJSON, out);
+        assertTrue(out.toString(StandardCharsets.UTF_8).isBlank());
+    }
+
+    private static List<String> sorted(JsonNode array) {
+        List<String> values = new ArrayList<>();
+        array.forEach(value -> values.add(value.asText()));
+        values.sort(null);
+        return values;
+    }
+
+    private static List<String> nonBlankLines(String text) {
+        return text.lines().filter(line -> !line.isBlank()).toList();
+    }
+}
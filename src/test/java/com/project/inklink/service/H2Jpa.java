@@ -0,0 +1,54 @@
+package com.project.inklink.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * H2 (MySQL mode) with the Flyway schema and a Hibernate EntityManagerFactory over the entities,
+ * named the way Spring Boot names them, for service tests that run JPQL without a Spring context.
+ * Every SQL statement Hibernate prepares is recorded in {@link #statements}.
+ */
+class H2Jpa {
+
+    final DataSource dataSource;
+    final EntityManagerFactory entityManagerFactory;
+    final List<String> statements = Collections.synchronizedList(new ArrayList<>());
+
+    H2Jpa(String databaseName) {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + databaseName + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .cleanDisabled(false)
+                .load();
+        flyway.clean();
+        flyway.migrate();
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan("com.project.inklink.entity");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.physical_naming_strategy", new CamelCaseToUnderscoresNamingStrategy(),
+                "hibernate.implicit_naming_strategy", new SpringImplicitNamingStrategy(),
+                "hibernate.session_factory.statement_inspector", (StatementInspector) sql -> {
+                    statements.add(sql);
+                    return sql;
+                }));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+    }
+}
@@ -0,0 +1,285 @@
+package com.project.inklink.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.inklink.entity.OutboxEntry;
+import com.project.inklink.event.DomainEvent;
+import com.project.inklink.event.OutboxHandler;
+import com.project.inklink.event.OutboxMessage;
+import com.project.inklink.event.StoryDeleted;
+import com.project.inklink.event.StoryRead;
+import com.project.inklink.event.UserUpdated;
+import com.project.inklink.repository.OutboxRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs the outbox relay against H2 (MySQL mode) after the Flyway migrations: claiming due
+ * entries, marking them delivered only once handlers finish, and retrying failures with backoff.
+ */
+class OutboxServiceTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().findAndRegisterModules();
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static DriverManagerDataSource dataSource;
+    private static JdbcTemplate jdbc;
+
+    private OutboxRepository outboxRepository;
+
+    @BeforeAll
+    static void migrate() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:outbox;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .cleanDisabled(false)
+                .load();
+        flyway.clean();
+        flyway.migrate();
+        jdbc = new JdbcTemplate(dataSource);
+    }
+
+    @BeforeEach
+    void clear() {
+        jdbc.update("DELETE FROM outbox");
+        outboxRepository = mock(OutboxRepository.class);
+    }
+
+    private OutboxService service(long claimTimeoutMs, OutboxHandler... handlers) {
+        Map<String, Object> beans = new LinkedHashMap<>();
+        for (OutboxHandler handler : handlers) {
+            beans.put(handler.handlerName(), handler);
+        }
+        OutboxService service = new OutboxService();
+        ReflectionTestUtils.setField(service, "outboxRepository", outboxRepository);
+        ReflectionTestUtils.setField(service, "jdbcTemplate", h2JdbcTemplate());
+        ReflectionTestUtils.setField(service, "transactionManager", new DataSourceTransactionManager(dataSource));
+        ReflectionTestUtils.setField(service, "objectMapper", MAPPER);
+        ReflectionTestUtils.setField(service, "handlers",
+                new StaticListableBeanFactory(beans).getBeanProvider(OutboxHandler.class));
+        ReflectionTestUtils.setField(service, "batchSize", 100);
+        ReflectionTestUtils.setField(service, "maxAttempts", MAX_ATTEMPTS);
+        ReflectionTestUtils.setField(service, "retryBackoffMs", 60_000L);
+        ReflectionTestUtils.setField(service, "claimTimeoutMs", claimTimeoutMs);
+        ReflectionTestUtils.setField(service, "retentionHours", 24);
+        return service;
+    }
+
+    // H2 2.1 has no SKIP LOCKED; with a single relay a plain FOR UPDATE claims the same rows
+    private static JdbcTemplate h2JdbcTemplate() {
+        return new JdbcTemplate(dataSource) {
+            @Override
+            public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+                return super.query(sql.replace(" SKIP LOCKED", ""), rowMapper, args);
+            }
+        };
+    }
+
+    private static long insert(DomainEvent event) throws Exception {
+        jdbc.update("INSERT INTO outbox (idempotency_key, event_type, payload, attempts, next_attempt_at, created_at) " +
+                        "VALUES (?, ?, ?, 0, ?, ?)",
+                UUID.randomUUID().toString(), event.getClass().getSimpleName(), MAPPER.writeValueAsString(event),
+                Timestamp.valueOf(LocalDateTime.now().minusSeconds(1)), Timestamp.valueOf(LocalDateTime.now()));
+        return jdbc.queryForObject("SELECT MAX(id) FROM outbox", Long.class);
+    }
+
+    private static Map<String, Object> row(long id) {
+        return jdbc.queryForMap("SELECT attempts, next_attempt_at, delivered_at, last_error FROM outbox WHERE id = ?", id);
+    }
+
+    // Make a waiting retry due now
+    private static void makeDue(long id) {
+        jdbc.update("UPDATE outbox SET next_attempt_at = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusSeconds(1)), id);
+    }
+
+    @Test
+    void appendSkipsEventsNoHandlerTakes() {
+        OutboxService service = service(1000, new TestHandler("deletes", event -> event instanceof StoryDeleted,
+                message -> CompletableFuture.completedFuture(null)));
+
+        service.append(new StoryRead(1L, 5));
+        verify(outboxRepository, never()).save(any(OutboxEntry.class));
+
+        service.append(new StoryDeleted(1L));
+        verify(outboxRepository, times(1)).save(any(OutboxEntry.class));
+    }
+
+    @Test
+    void relayMarksEntriesDeliveredOnlyOnceTheHandlerFinishes() throws Exception {
+        long id = insert(new StoryDeleted(7L));
+        List<Map<String, Object>> seenWhileHandling = new ArrayList<>();
+        TestHandler handler = new TestHandler("async", event -> true, message -> {
+            // The claim has committed: the row is hidden behind the claim timeout, counts the
+            // attempt, is not delivered yet, and holds no lock (this update would wait for it)
+            seenWhileHandling.add(row(message.id()));
+            jdbc.update("UPDATE outbox SET last_error = NULL WHERE id = ?", message.id());
+            return CompletableFuture.runAsync(() -> sleep(50));
+        });
+        OutboxService service = service(5000, handler);
+
+        assertEquals(1, service.relayBatch());
+
+        Map<String, Object> during = seenWhileHandling.get(0);
+        assertEquals(1, ((Number) during.get("attempts")).intValue());
+        assertNull(during.get("delivered_at"));
+        assertTrue(((Timestamp) during.get("next_attempt_at")).toLocalDateTime().isAfter(LocalDateTime.now()));
+
+        Map<String, Object> after = row(id);
+        assertNotNull(after.get("delivered_at"));
+        assertEquals(1, ((Number) after.get("attempts")).intValue());
+        assertEquals(List.of(new StoryDeleted(7L)), handler.events);
+        assertEquals(0, service.relayBatch());
+    }
+
+    @Test
+    void entriesNotHandledInTimeStayPendingAndAreNotReclaimedEarly() throws Exception {
+        long id = insert(new StoryDeleted(8L));
+        OutboxService service = service(100, new TestHandler("stuck", event -> true, message -> new CompletableFuture<>()));
+
+        assertEquals(1, service.relayBatch());
+
+        Map<String, Object> after = row(id);
+        assertNull(after.get("delivered_at"));
+        assertEquals(1, ((Number) after.get("attempts")).intValue());
+        assertTrue(((String) after.get("last_error")).contains("claim timeout"));
+        assertEquals(0, service.relayBatch());
+    }
+
+    @Test
+    void failedEntriesBackOffAndGiveUpAfterMaxAttempts() throws Exception {
+        long failing = insert(new StoryDeleted(1L));
+        long fine = insert(new StoryDeleted(2L));
+        TestHandler handler = new TestHandler("picky", event -> true, message ->
+                message.event().equals(new StoryDeleted(1L))
+                        ? CompletableFuture.failedFuture(new IllegalStateException("boom"))
+                        : CompletableFuture.completedFuture(null));
+        OutboxService service = service(1000, handler);
+
+        assertEquals(2, service.relayBatch());
+        assertNotNull(row(fine).get("delivered_at"));
+        Map<String, Object> failed = row(failing);
+        assertNull(failed.get("delivered_at"));
+        assertEquals("picky: boom", failed.get("last_error"));
+        assertTrue(((Timestamp) failed.get("next_attempt_at")).toLocalDateTime()
+                .isAfter(LocalDateTime.now().plusSeconds(30)));
+
+        // Not due during the backoff
+        assertEquals(0, service.relayBatch());
+
+        for (int attempt = 2; attempt <= MAX_ATTEMPTS; attempt++) {
+            makeDue(failing);
+            assertEquals(1, service.relayBatch());
+            assertEquals(attempt, ((Number) row(failing).get("attempts")).intValue());
+        }
+        makeDue(failing);
+        assertEquals(0, service.relayBatch());
+        assertEquals(MAX_ATTEMPTS + 1, handler.events.size());
+    }
+
+    @Test
+    void retrySkipsHandlersThatAlreadyTookTheEntry() throws Exception {
+        long id = insert(new UserUpdated(3L, "ada"));
+        TestHandler steady = new TestHandler("steady", event -> true, message -> CompletableFuture.completedFuture(null));
+        boolean[] fail = {true};
+        TestHandler flaky = new TestHandler("flaky", event -> true, message -> fail[0]
+                ? CompletableFuture.failedFuture(new IllegalStateException("down"))
+                : CompletableFuture.completedFuture(null));
+        OutboxService service = service(1000, steady, flaky);
+
+        service.relayBatch();
+        assertNull(row(id).get("delivered_at"));
+
+        fail[0] = false;
+        makeDue(id);
+        service.relayBatch();
+        assertNotNull(row(id).get("delivered_at"));
+        assertEquals(1, steady.events.size());
+        assertEquals(2, flaky.events.size());
+    }
+
+    @Test
+    void undecodableEntriesCountAsFailures() {
+        jdbc.update("INSERT INTO outbox (idempotency_key, event_type, payload, attempts, next_attempt_at, created_at) " +
+                        "VALUES (?, 'NoSuchEvent', '{}', 0, ?, ?)",
+                UUID.randomUUID().toString(), Timestamp.valueOf(LocalDateTime.now().minusSeconds(1)),
+                Timestamp.valueOf(LocalDateTime.now()));
+        TestHandler handler = new TestHandler("any", event -> true, message -> CompletableFuture.completedFuture(null));
+
+        assertEquals(1, service(1000, handler).relayBatch());
+        String error = jdbc.queryForObject("SELECT last_error FROM outbox", String.class);
+        assertTrue(error.startsWith("Undecodable entry"), error);
+        assertTrue(handler.events.isEmpty());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class TestHandler implements OutboxHandler {
+        final String name;
+        final Predicate<DomainEvent> accepts;
+        final Function<OutboxMessage, CompletableFuture<Void>> outcome;
+        final List<DomainEvent> events = new ArrayList<>();
+
+        TestHandler(String name, Predicate<DomainEvent> accepts, Function<OutboxMessage, CompletableFuture<Void>> outcome) {
+            this.name = name;
+            this.accepts = accepts;
+            this.outcome = outcome;
+        }
+
+        @Override
+        public String handlerName() {
+            return name;
+        }
+
+        @Override
+        public boolean handles(DomainEvent event) {
+            return accepts.test(event);
+        }
+
+        @Override
+        public List<CompletableFuture<Void>> handle(List<OutboxMessage> messages) {
+            List<CompletableFuture<Void>> results = new ArrayList<>();
+            for (OutboxMessage message : messages) {
+                events.add(message.event());
+                results.add(outcome.apply(message));
+            }
+            return results;
+        }
+    }
+}
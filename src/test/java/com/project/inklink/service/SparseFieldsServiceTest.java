@@ -0,0 +1,162 @@
+package com.project.inklink.service;
+
+import com.project.inklink.controller.StoryController;
+import com.project.inklink.util.ContentCompression;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the sparse fieldset queries through Hibernate on H2 and checks the select lists they
+ * produce: id always first, nested author/user objects, tags and liked filled in afterwards,
+ * unknown names rejected, and story content read only when it is asked for.
+ */
+class SparseFieldsServiceTest {
+
+    // "s1_0.content" in a select list or condition; search_text (in story_search) does not match
+    private static final Pattern CONTENT_COLUMN = Pattern.compile("\\.content\\b");
+
+    private static H2Jpa h2;
+    private static EntityManager entityManager;
+
+    private SparseFieldsService service;
+    private LikeStatusService likeStatusService;
+
+    @BeforeAll
+    static void setUp() {
+        h2 = new H2Jpa("sparsefields");
+        JdbcTemplate jdbc = new JdbcTemplate(h2.dataSource);
+        jdbc.update("INSERT INTO users (id, username, email, password, role, profile_picture, created_at, updated_at) VALUES " +
+                "(1, 'writer', 'writer@example.com', 'x', 'USER', 'writer.png', NOW(), NOW()), " +
+                "(2, 'reader', 'reader@example.com', 'x', 'USER', NULL, NOW(), NOW())");
+        insertStory(jdbc, 10, "Alpha", "A secret in the attic.", "PUBLISHED", 1);
+        insertStory(jdbc, 11, "Beta", "Nothing to hide.", "PUBLISHED", 2);
+        insertStory(jdbc, 12, "Gamma", "A secret draft.", "DRAFT", 1);
+        jdbc.update("INSERT INTO tags (id, name) VALUES (1, 'night'), (2, 'calm')");
+        jdbc.update("INSERT INTO story_tags (story_id, tag_id) VALUES (10, 1), (10, 2)");
+        jdbc.update("INSERT INTO comments (id, content, user_id, story_id, created_at) VALUES " +
+                "(100, 'Lovely', 2, 10, TIMESTAMP '2024-02-01 10:00:00')");
+        entityManager = h2.entityManagerFactory.createEntityManager();
+    }
+
+    private static void insertStory(JdbcTemplate jdbc, long id, String title, String content, String status, long authorId) {
+        jdbc.update("INSERT INTO stories (id, title, content, genre, status, read_count, like_count, " +
+                        "author_id, created_at, updated_at) VALUES (?, ?, ?, 'FICTION', ?, 0, 0, ?, NOW(), NOW())",
+                id, title, ContentCompression.encode(content), status, authorId);
+        jdbc.update("INSERT INTO story_search (story_id, search_text) VALUES (?, ?)", id, content);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        entityManager.close();
+        h2.entityManagerFactory.close();
+    }
+
+    @BeforeEach
+    void createService() {
+        likeStatusService = mock(LikeStatusService.class);
+        service = new SparseFieldsService();
+        ReflectionTestUtils.setField(service, "entityManager", entityManager);
+        ReflectionTestUtils.setField(service, "likeStatusService", likeStatusService);
+        h2.statements.clear();
+    }
+
+    private Slice<Map<String, Object>> published(String fields, String search, Long userId) {
+        return service.getPublishedStories(fields, search, null, null, PageRequest.of(0, 10, Sort.by("title")), userId);
+    }
+
+    @Test
+    void unknownFieldIsRejectedAndTheEndpointAnswers400() {
+        assertThrows(IllegalArgumentException.class, () -> service.getStory(10L, "title,password", null));
+        assertThrows(IllegalArgumentException.class, () -> service.getUser(1L, "password"));
+        assertThrows(IllegalArgumentException.class, () -> service.getPublishedStories("title", null, null, null,
+                PageRequest.of(0, 10, Sort.by("content")), null));
+
+        StoryController controller = new StoryController();
+        ReflectionTestUtils.setField(controller, "sparseFieldsService", service);
+        assertEquals(400, controller.getStory(10L, "title,bogus", null).getStatusCode().value());
+    }
+
+    @Test
+    void idIsAlwaysIncludedFirst() {
+        assertEquals(List.of("id", "title"), List.copyOf(service.getStory(10L, "title", null).orElseThrow().keySet()));
+        assertEquals(List.of("id", "genre", "title"),
+                List.copyOf(service.getStory(10L, " genre, id,title,genre ", null).orElseThrow().keySet()));
+        assertEquals(Map.of("id", 10L), service.getStory(10L, "", null).orElseThrow());
+        assertEquals(List.of("id", "username"), List.copyOf(service.getUser(1L, "username").orElseThrow().keySet()));
+        assertTrue(service.getStory(999L, "title", null).isEmpty());
+    }
+
+    @Test
+    void authorAndUserAreSelectedAsNestedObjects() {
+        Map<String, Object> story = service.getStory(10L, "author", null).orElseThrow();
+        assertEquals(Map.of("id", 1L, "username", "writer", "profilePicture", "writer.png"), story.get("author"));
+
+        List<Map<String, Object>> comments = service.getStoryComments(10L, "content,user");
+        assertEquals(1, comments.size());
+        assertEquals("Lovely", comments.get(0).get("content"));
+        @SuppressWarnings("unchecked")
+        Map<String, Object> user = (Map<String, Object>) comments.get(0).get("user");
+        assertEquals(2L, user.get("id"));
+        assertEquals("reader", user.get("username"));
+    }
+
+    @Test
+    void tagsAndLikedAreFilledInForEveryRow() {
+        when(likeStatusService.findLiked(eq(2L), anyCollection())).thenReturn(Set.of(10L));
+
+        List<Map<String, Object>> rows = published("title,tags,liked", null, 2L).getContent();
+        assertEquals(List.of(10L, 11L), rows.stream().map(row -> row.get("id")).toList());
+        assertEquals(List.of(Map.of("id", 2L, "name", "calm"), Map.of("id", 1L, "name", "night")),
+                rows.get(0).get("tags"));
+        assertEquals(List.of(), rows.get(1).get("tags"));
+        assertEquals(true, rows.get(0).get("liked"));
+        assertEquals(false, rows.get(1).get("liked"));
+
+        // Signed out: nothing is liked and no lookup is made
+        List<Map<String, Object>> anonymous = published("liked", null, null).getContent();
+        assertEquals(false, anonymous.get(0).get("liked"));
+        verify(likeStatusService, never()).findLiked(eq(null), any());
+    }
+
+    @Test
+    void contentIsOnlyReadWhenRequested() {
+        service.getStory(10L, "title,excerpt,author,tags,liked", 2L);
+        published("title,author,tags", null, null);
+        List<Map<String, Object>> found = published("title", "SECRET", null).getContent();
+        assertEquals(List.of("Alpha"), found.stream().map(row -> row.get("title")).toList());
+        assertFalse(h2.statements.isEmpty());
+        for (String sql : h2.statements) {
+            assertFalse(CONTENT_COLUMN.matcher(sql).find(), sql);
+        }
+
+        h2.statements.clear();
+        Map<String, Object> story = service.getStory(10L, "content", null).orElseThrow();
+        assertEquals("A secret in the attic.", story.get("content"));
+        assertTrue(h2.statements.stream().anyMatch(sql -> CONTENT_COLUMN.matcher(sql).find()));
+    }
+}
@@ -0,0 +1,83 @@
+package com.project.inklink.service;
+
+import com.project.inklink.entity.Story;
+import com.project.inklink.entity.User;
+import com.project.inklink.entity.enums.StoryGenre;
+import com.project.inklink.entity.enums.StoryStatus;
+import com.project.inklink.event.DomainEventBus;
+import com.project.inklink.event.StoryUpdated;
+import com.project.inklink.repository.StoryRepository;
+import com.project.inklink.repository.StorySearchRepository;
+import com.project.inklink.util.ContentHash;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Saving a story through the edit path: an edit that changes nothing writes nothing and
+ * publishes nothing, while a title-only edit still saves and publishes StoryUpdated.
+ */
+class StoryServiceTest {
+
+    private static final String CONTENT = "The lighthouse keeper counted ships.";
+
+    private StoryRepository storyRepository;
+    private DomainEventBus eventBus;
+    private StoryRevisionService storyRevisionService;
+    private StoryService storyService;
+    private Story story;
+    private User author;
+
+    @BeforeEach
+    void setUp() {
+        storyRepository = mock(StoryRepository.class);
+        eventBus = mock(DomainEventBus.class);
+        storyRevisionService = mock(StoryRevisionService.class);
+        when(storyRepository.save(any(Story.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        storyService = new StoryService();
+        ReflectionTestUtils.setField(storyService, "storyRepository", storyRepository);
+        ReflectionTestUtils.setField(storyService, "storySearchRepository", mock(StorySearchRepository.class));
+        ReflectionTestUtils.setField(storyService, "storyRevisionService", storyRevisionService);
+        ReflectionTestUtils.setField(storyService, "eventBus", eventBus);
+        ReflectionTestUtils.setField(storyService, "genreIndexService", mock(GenreIndexService.class));
+        ReflectionTestUtils.setField(storyService, "storyCountService", mock(StoryCountService.class));
+        ReflectionTestUtils.setField(storyService, "listingResponseCache", mock(ListingResponseCache.class));
+
+        author = new User();
+        author.setId(1L);
+        story = new Story("Lighthouse", CONTENT, StoryGenre.FICTION, author);
+        story.setId(10L);
+        story.setStatus(StoryStatus.PUBLISHED);
+        story.setContentHash(ContentHash.sha256(CONTENT));
+        // As loaded from the database
+        story.markPersisted();
+    }
+
+    @Test
+    void unchangedEditSavesAndPublishesNothing() {
+        storyService.updateStory(story, CONTENT, author);
+
+        verify(storyRepository, never()).save(any());
+        verifyNoInteractions(eventBus, storyRevisionService);
+    }
+
+    @Test
+    void titleOnlyEditIsSavedWithoutARevision() {
+        story.setTitle("The Lighthouse");
+
+        storyService.updateStory(story, CONTENT, author);
+
+        verify(storyRepository).save(story);
+        verify(eventBus).publish(eq(new StoryUpdated(10L, 1L)));
+        verifyNoInteractions(storyRevisionService);
+    }
+}
@@ -0,0 +1,81 @@
+package com.project.inklink.service;
+
+import com.project.inklink.entity.Tag;
+import com.project.inklink.entity.enums.StoryGenre;
+import com.project.inklink.repository.StoryRepository;
+import com.project.inklink.repository.TagRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tag renames and deletes reach the related-tags index, so the new name resolves and the old
+ * or deleted one does not. Outside a transaction the after-commit hooks run at once.
+ */
+class TagServiceTest {
+
+    private TagRepository tagRepository;
+    private RelatedStoryService relatedStoryService;
+    private TagService tagService;
+    private Tag night;
+
+    @BeforeEach
+    void setUp() {
+        tagRepository = mock(TagRepository.class);
+        StoryRepository storyRepository = mock(StoryRepository.class);
+        when(tagRepository.findAllIdAndName()).thenReturn(List.of(
+                new Object[]{1L, "night"}, new Object[]{2L, "calm"}));
+        when(storyRepository.findPublishedStoryTagRows()).thenReturn(List.of(
+                new Object[]{10L, StoryGenre.FICTION, 1L}, new Object[]{10L, StoryGenre.FICTION, 2L},
+                new Object[]{11L, StoryGenre.POETRY, 1L}, new Object[]{11L, StoryGenre.POETRY, 2L}));
+
+        relatedStoryService = new RelatedStoryService();
+        ReflectionTestUtils.setField(relatedStoryService, "storyRepository", storyRepository);
+        ReflectionTestUtils.setField(relatedStoryService, "tagRepository", tagRepository);
+        ReflectionTestUtils.setField(relatedStoryService, "neighbourCount", 10);
+        ReflectionTestUtils.setField(relatedStoryService, "maxPostingScan", 2000);
+        ReflectionTestUtils.setField(relatedStoryService, "genreWeight", 0.5);
+        relatedStoryService.rebuild();
+
+        tagService = new TagService();
+        ReflectionTestUtils.setField(tagService, "tagRepository", tagRepository);
+        ReflectionTestUtils.setField(tagService, "relatedStoryService", relatedStoryService);
+        ReflectionTestUtils.setField(tagService, "suggestService", mock(SuggestService.class));
+        ReflectionTestUtils.setField(tagService, "storyCountService", mock(StoryCountService.class));
+        ReflectionTestUtils.setField(tagService, "listingResponseCache", mock(ListingResponseCache.class));
+
+        night = new Tag("night");
+        night.setId(1L);
+        when(tagRepository.findById(1L)).thenReturn(Optional.of(night));
+        when(tagRepository.save(any(Tag.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void renamedTagResolvesUnderItsNewNameOnly() {
+        tagService.renameTag(1L, " Midnight ");
+
+        assertEquals(List.of(Map.of("name", "calm", "sharedStoryCount", 2)),
+                tagService.getRelatedTags("midnight", 5));
+        assertEquals(List.of(Map.of("name", "Midnight", "sharedStoryCount", 2)),
+                tagService.getRelatedTags("calm", 5));
+        assertThrows(RuntimeException.class, () -> tagService.getRelatedTags("night", 5));
+    }
+
+    @Test
+    void deletedTagNoLongerResolvesOrAppears() {
+        tagService.deleteTag(1L);
+
+        assertThrows(RuntimeException.class, () -> tagService.getRelatedTags("night", 5));
+        assertEquals(List.of(), tagService.getRelatedTags("calm", 5));
+    }
+}
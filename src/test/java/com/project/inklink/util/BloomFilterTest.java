@@ -0,0 +1,37 @@
+package com.project.inklink.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    private static final int INSERTIONS = 100_000;
+
+    @Test
+    void neverMissesAnAddedValue() {
+        BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+        for (int i = 0; i < INSERTIONS; i++) {
+            filter.add("user" + i + "@example.com");
+        }
+        for (int i = 0; i < INSERTIONS; i++) {
+            assertTrue(filter.mightContain("user" + i + "@example.com"), "missed value " + i);
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+        for (int i = 0; i < INSERTIONS; i++) {
+            filter.add("taken" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < INSERTIONS; i++) {
+            if (filter.mightContain("free" + i)) {
+                falsePositives++;
+            }
+        }
+        double rate = (double) falsePositives / INSERTIONS;
+        assertTrue(rate < 0.02, "false positive rate " + rate);
+    }
+}
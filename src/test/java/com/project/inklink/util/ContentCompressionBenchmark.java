@@ -0,0 +1,81 @@
+package com.project.inklink.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compression ratio and CPU cost of the story content format.
+ * Run with: mvn test -Dtest=ContentCompressionBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ContentCompressionBenchmark {
+
+    private static final String[] WORDS = (
+            "the a and of to in was he she it that her his they with as for had on at by " +
+            "said looked into from through forest night light dark village river old young " +
+            "door window voice heart hand eyes silence moment remembered whispered walked " +
+            "ship stars galaxy captain engine signal planet cold morning letter mother father " +
+            "secret castle shadow storm road journey home again never always before after"
+    ).split(" ");
+
+    @Test
+    void reportRatioAndCost() {
+        System.out.printf("%-10s %10s %10s %8s %12s %12s%n",
+                "size", "raw bytes", "stored", "ratio", "encode us", "decode us");
+
+        for (int size : new int[]{2_000, 20_000, 200_000, 1_000_000}) {
+            String text = prose(size, size);
+            byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+            byte[] stored = ContentCompression.encode(text);
+            assertEquals(text, ContentCompression.decode(stored));
+
+            int iterations = Math.max(20, 20_000_000 / size);
+            for (int i = 0; i < iterations; i++) {
+                ContentCompression.decode(ContentCompression.encode(text));
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                ContentCompression.encode(text);
+            }
+            long encodeNanos = (System.nanoTime() - start) / iterations;
+
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                ContentCompression.decode(stored);
+            }
+            long decodeNanos = (System.nanoTime() - start) / iterations;
+
+            System.out.printf("%-10d %10d %10d %8.2f %12.1f %12.1f%n",
+                    size, raw.length, stored.length, (double) raw.length / stored.length,
+                    encodeNanos / 1000.0, decodeNanos / 1000.0);
+        }
+    }
+
+    // Word salad with sentence structure, close enough to fiction for DEFLATE
+    private static String prose(int length, long seed) {
+        Random random = new Random(seed);
+        StringBuilder text = new StringBuilder(length + 32);
+        int wordsInSentence = 0;
+        while (text.length() < length) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            if (wordsInSentence == 0) {
+                word = Character.toUpperCase(word.charAt(0)) + word.substring(1);
+            }
+            text.append(word);
+            wordsInSentence++;
+            if (wordsInSentence > 6 + random.nextInt(14)) {
+                text.append(random.nextInt(5) == 0 ? ".\n\n" : ". ");
+                wordsInSentence = 0;
+            } else {
+                text.append(random.nextInt(9) == 0 ? ", " : " ");
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,64 @@
+package com.project.inklink.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Suggest latency of the prefix index over 500k synthetic names, for 1 to 3 letter prefixes.
+ * Run with: mvn test -Dtest=PrefixIndexBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PrefixIndexBenchmark {
+
+    private static final int NAMES = 500_000;
+    private static final int QUERIES = 200_000;
+    private static final int LIMIT = 10;
+
+    @Test
+    void reportSuggestLatency() {
+        Random random = new Random(42);
+        List<PrefixIndex.Entry> entries = new ArrayList<>(NAMES);
+        for (int i = 0; i < NAMES; i++) {
+            entries.add(new PrefixIndex.Entry(i, randomName(random), random.nextInt(100_000)));
+        }
+        PrefixIndex index = new PrefixIndex();
+        index.replaceAll(entries);
+
+        System.out.printf("%-8s %12s%n", "prefix", "suggest us");
+        for (int length = 1; length <= 3; length++) {
+            String[] prefixes = new String[1024];
+            for (int i = 0; i < prefixes.length; i++) {
+                prefixes[i] = randomName(random).substring(0, length);
+            }
+
+            int hits = 0;
+            for (int i = 0; i < QUERIES; i++) {
+                hits += index.suggest(prefixes[i & 1023], LIMIT).size();
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < QUERIES; i++) {
+                hits += index.suggest(prefixes[i & 1023], LIMIT).size();
+            }
+            double micros = (System.nanoTime() - start) / 1000.0 / QUERIES;
+            System.out.printf("%-8d %12.2f%n", length, micros);
+
+            // Every short prefix of a 6+ letter name has at least LIMIT matches among 500k names
+            assertEquals(2L * QUERIES * LIMIT, hits);
+        }
+    }
+
+    private static String randomName(Random random) {
+        StringBuilder name = new StringBuilder();
+        int length = 6 + random.nextInt(8);
+        for (int i = 0; i < length; i++) {
+            name.append((char) ('a' + random.nextInt(26)));
+        }
+        return name.toString();
+    }
+}
@@ -0,0 +1,85 @@
+package com.project.inklink.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrefixIndexTest {
+
+    private static PrefixIndex index() {
+        PrefixIndex index = new PrefixIndex();
+        index.replaceAll(List.of(
+                new PrefixIndex.Entry(1, "Fantasy", 40),
+                new PrefixIndex.Entry(2, "fanfic", 90),
+                new PrefixIndex.Entry(3, "Fable", 10),
+                new PrefixIndex.Entry(4, "horror", 70),
+                new PrefixIndex.Entry(5, "fan", 90)));
+        return index;
+    }
+
+    private static List<Long> ids(List<PrefixIndex.Entry> entries) {
+        return entries.stream().map(PrefixIndex.Entry::id).toList();
+    }
+
+    @Test
+    void prefixHitsComeHeaviestFirstIgnoringCase() {
+        PrefixIndex index = index();
+        // Equal weights keep name order: "fan" sorts before "fanfic"
+        assertEquals(List.of(5L, 2L, 1L, 3L), ids(index.suggest("FA", 10)));
+        assertEquals(List.of(5L, 2L), ids(index.suggest("fa", 2)));
+        assertEquals(List.of(5L, 2L, 1L), ids(index.suggest("fan", 10)));
+        assertEquals(List.of(1L), ids(index.suggest(" fant ", 10)));
+    }
+
+    @Test
+    void missesReturnNothing() {
+        PrefixIndex index = index();
+        assertTrue(index.suggest("z", 10).isEmpty());
+        assertTrue(index.suggest("fantasyx", 10).isEmpty());
+        assertTrue(index.suggest("", 10).isEmpty());
+        assertTrue(index.suggest("f", 0).isEmpty());
+        assertTrue(new PrefixIndex().suggest("f", 10).isEmpty());
+    }
+
+    @Test
+    void renameMovesTheEntryAndKeepsItsWeight() {
+        PrefixIndex index = index();
+        index.rename(2, "Thriller");
+
+        assertEquals(List.of(5L, 1L, 3L), ids(index.suggest("f", 10)));
+        List<PrefixIndex.Entry> renamed = index.suggest("thr", 10);
+        assertEquals(1, renamed.size());
+        assertEquals(new PrefixIndex.Entry(2, "Thriller", 90), renamed.get(0));
+        assertEquals(5, index.size());
+
+        // Unknown ids are ignored
+        index.rename(99, "ghost");
+        assertTrue(index.suggest("gh", 10).isEmpty());
+    }
+
+    @Test
+    void removedEntriesAreNoLongerSuggested() {
+        PrefixIndex index = index();
+        index.remove(5);
+        index.remove(4);
+        index.remove(99);
+
+        assertEquals(List.of(2L, 1L, 3L), ids(index.suggest("f", 10)));
+        assertTrue(index.suggest("hor", 10).isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void putAndWeightChangesReorderMatches() {
+        PrefixIndex index = index();
+        index.put(6, "Fairy tale", 100);
+        index.addWeights(Map.of(3L, 200L, 99L, 5L));
+
+        assertEquals(List.of(3L, 6L, 5L, 2L, 1L), ids(index.suggest("f", 10)));
+        assertEquals(6, index.size());
+    }
+}
@@ -0,0 +1,92 @@
+package com.project.inklink.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RankedLongIndexTest {
+
+    @Test
+    void ordersByScoreThenIdHighestFirst() {
+        RankedLongIndex index = new RankedLongIndex(1);
+        index.put(1, 10);
+        index.put(2, 30);
+        index.put(3, 20);
+        // Same score: the higher id ranks first
+        index.put(4, 20);
+
+        assertArrayEquals(new long[]{2, 4, 3, 1}, index.slice(0, 10, false));
+        assertArrayEquals(new long[]{1, 3, 4, 2}, index.slice(0, 10, true));
+        assertArrayEquals(new long[]{4, 3}, index.slice(1, 2, false));
+        assertArrayEquals(new long[]{3, 4}, index.slice(1, 2, true));
+        assertArrayEquals(new long[0], index.slice(4, 10, false));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void changingAScoreMovesTheIdBothWays() {
+        RankedLongIndex index = new RankedLongIndex();
+        for (long id = 1; id <= 5; id++) {
+            index.put(id, id * 10);
+        }
+        index.put(1, 45);
+        assertArrayEquals(new long[]{5, 1, 4, 3, 2}, index.slice(0, 10, false));
+        index.put(5, 0);
+        assertArrayEquals(new long[]{1, 4, 3, 2, 5}, index.slice(0, 10, false));
+        // Unchanged score and a tie with a neighbour
+        index.put(4, 40);
+        index.put(3, 40);
+        assertArrayEquals(new long[]{1, 4, 3, 2, 5}, index.slice(0, 10, false));
+        assertEquals(40L, index.scoreOf(3));
+    }
+
+    @Test
+    void removeClosesTheGap() {
+        RankedLongIndex index = new RankedLongIndex();
+        index.put(1, 1);
+        index.put(2, 2);
+        index.put(3, 3);
+        index.remove(2);
+        index.remove(99);
+
+        assertArrayEquals(new long[]{3, 1}, index.slice(0, 10, false));
+        assertNull(index.scoreOf(2));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void randomUpdatesKeepTheArraysSorted() {
+        Random random = new Random(7);
+        RankedLongIndex index = new RankedLongIndex(4);
+        Map<Long, Long> expected = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            long id = random.nextInt(500);
+            int action = random.nextInt(10);
+            if (action == 0) {
+                index.remove(id);
+                expected.remove(id);
+            } else {
+                // Mostly counter-style ticks, sometimes a jump
+                long score = action < 8 ? expected.getOrDefault(id, 0L) + 1 : random.nextInt(100);
+                index.put(id, score);
+                expected.put(id, score);
+            }
+        }
+
+        List<Long> order = expected.keySet().stream()
+                .sorted(Comparator.comparing((Long id) -> expected.get(id)).thenComparing(id -> id).reversed())
+                .toList();
+        long[] slice = index.slice(0, Integer.MAX_VALUE, false);
+        assertEquals(order, Arrays.stream(slice).boxed().toList());
+        expected.forEach((id, score) -> assertEquals(score, index.scoreOf(id)));
+    }
+}
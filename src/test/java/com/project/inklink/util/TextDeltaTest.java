@@ -0,0 +1,91 @@
+package com.project.inklink.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextDeltaTest {
+
+    private static final String BASE = """
+            The lighthouse keeper counted the ships every night.
+            Most nights there were none at all.
+            * * *
+            In spring the gulls came back to the cliffs.
+            She wrote their names in the margin of the log.
+            """;
+
+    private static void assertRoundTrip(String base, String target) {
+        assertEquals(target, TextDelta.apply(base, TextDelta.diff(base, target)));
+    }
+
+    @Test
+    void rebuildsEditsInsertsDeletesAndMovedParagraphs() {
+        assertRoundTrip(BASE, BASE);
+        assertRoundTrip(BASE, BASE.replace("Most nights", "Some nights"));
+        assertRoundTrip(BASE, "A new opening line.\n" + BASE + "And a closing one, without a newline");
+        assertRoundTrip(BASE, BASE.replace("* * *\n", ""));
+        // Last paragraph moved to the top
+        String[] parts = BASE.split("\\* \\* \\*\n");
+        assertRoundTrip(BASE, parts[1] + "* * *\n" + parts[0]);
+        assertRoundTrip(BASE, "Entirely different text.\nNothing in common.");
+    }
+
+    @Test
+    void handlesEmptyTextsAndMissingTrailingNewlines() {
+        assertRoundTrip("", "");
+        assertRoundTrip("", BASE);
+        assertRoundTrip(BASE, "");
+        assertRoundTrip("no newline at all", "no newline at all, edited");
+        assertRoundTrip("line one is long enough\nline two is long enough", "line one is long enough\n");
+        assertRoundTrip("\n\n\n", "\n\nüñíçødé – ✓\n\n");
+    }
+
+    @Test
+    void unchangedTextBecomesASmallCopy() {
+        String longText = BASE.repeat(50);
+        byte[] delta = TextDelta.diff(longText, longText + "One more line at the end.\n");
+        assertTrue(delta.length < 64, delta.length + " bytes");
+    }
+
+    @Test
+    void randomEditsRoundTrip() {
+        Random random = new Random(42);
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            lines.add("Paragraph " + random.nextInt(50) + " of a story that goes on for a while.\n");
+        }
+        String base = String.join("", lines);
+        for (int round = 0; round < 100; round++) {
+            List<String> edited = new ArrayList<>(lines);
+            for (int change = 0; change < 10; change++) {
+                int at = random.nextInt(edited.size());
+                switch (random.nextInt(3)) {
+                    case 0 -> edited.remove(at);
+                    case 1 -> edited.add(at, "Inserted " + random.nextInt() + "\n");
+                    default -> edited.add(random.nextInt(edited.size()), edited.remove(at));
+                }
+            }
+            assertRoundTrip(base, String.join("", edited));
+        }
+    }
+
+    @Test
+    void rejectsCorruptDeltas() {
+        byte[] delta = TextDelta.diff(BASE, BASE + "More.\n");
+        byte[] wrongVersion = delta.clone();
+        wrongVersion[0] = 9;
+        assertThrows(IllegalStateException.class, () -> TextDelta.apply(BASE, wrongVersion));
+        assertThrows(IllegalStateException.class, () -> TextDelta.apply(BASE, new byte[]{1, 'X'}));
+        // A copy past the end of a different base
+        assertThrows(IllegalStateException.class, () -> TextDelta.apply("short\n", delta));
+        assertThrows(IllegalStateException.class,
+                () -> TextDelta.apply(BASE, "\u0001I\u0010ab".getBytes(StandardCharsets.ISO_8859_1)));
+    }
+}
@@ -0,0 +1,57 @@
+package com.project.inklink.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TimelineBufferTest {
+
+    @Test
+    void keepsEntriesNewestFirstWhateverTheArrivalOrder() {
+        TimelineBuffer buffer = new TimelineBuffer(10);
+        buffer.add(300, 1);
+        buffer.add(100, 2);
+        buffer.add(200, 3);
+        // Same time: the higher id is newer
+        buffer.add(200, 4);
+
+        long[][] snapshot = buffer.snapshot();
+        assertArrayEquals(new long[]{300, 200, 200, 100}, snapshot[0]);
+        assertArrayEquals(new long[]{1, 4, 3, 2}, snapshot[1]);
+    }
+
+    @Test
+    void draftPublishedLaterSortsByPublishTimeNotId() {
+        TimelineBuffer buffer = new TimelineBuffer(10);
+        buffer.add(1_000, 50);
+        buffer.add(2_000, 60);
+        // Story 10 was created first but published last
+        buffer.add(3_000, 10);
+
+        assertArrayEquals(new long[]{10, 60, 50}, buffer.snapshot()[1]);
+    }
+
+    @Test
+    void dropsTheOldestEntryWhenFull() {
+        TimelineBuffer buffer = new TimelineBuffer(3);
+        buffer.add(100, 1);
+        buffer.add(200, 2);
+        buffer.add(300, 3);
+        buffer.add(400, 4);
+        // Older than everything kept
+        buffer.add(50, 5);
+
+        assertArrayEquals(new long[]{4, 3, 2}, buffer.snapshot()[1]);
+        assertEquals(3, buffer.size());
+    }
+
+    @Test
+    void ignoresRepeatedIds() {
+        TimelineBuffer buffer = new TimelineBuffer(3);
+        buffer.add(100, 1);
+        buffer.add(500, 1);
+
+        assertArrayEquals(new long[]{100}, buffer.snapshot()[0]);
+    }
+}